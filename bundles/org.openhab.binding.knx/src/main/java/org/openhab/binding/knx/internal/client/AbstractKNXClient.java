@@ -15,12 +15,16 @@ package org.openhab.binding.knx.internal.client;
 import static org.openhab.binding.knx.internal.dpt.DPTUtil.NORMALIZED_DPT;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -31,6 +35,7 @@ import org.openhab.binding.knx.internal.handler.GroupAddressListener;
 import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler;
 import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler.CommandExtensionData;
 import org.openhab.binding.knx.internal.i18n.KNXTranslationProvider;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.ThingUID;
@@ -85,6 +90,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private ClientState state = ClientState.INIT;
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final long SLOW_READ_RESPONSE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long READ_PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
 
@@ -92,9 +99,10 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private final int responseTimeout;
     private final int readingPause;
     private final int autoReconnectPeriod;
-    private final int readRetriesLimit;
     private final StatusUpdateCallback statusUpdateCallback;
     private final ScheduledExecutorService knxScheduler;
+    // blocking reads wait up to the response timeout, so they don't run on the shared KNX pool
+    private final ExecutorService readExecutor;
     private final CommandExtensionData commandExtensionData;
     protected final Security openhabSecurity;
 
@@ -107,8 +115,13 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    // the group addresses each listener was indexed with, used to update the index when it registers again
+    private final Map<GroupAddressListener, Set<GroupAddress>> groupAddressListeners = new ConcurrentHashMap<>();
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByGroupAddress = new ConcurrentHashMap<>();
+    private final ReadScheduler readScheduler;
+    // only accessed by the bus job
+    private long nextReadProgressReport;
+    private boolean readProgressReported;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -143,17 +156,25 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     };
 
     public AbstractKNXClient(int autoReconnectPeriod, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, CommandExtensionData commandExtensionData,
-            Security openhabSecurity, StatusUpdateCallback statusUpdateCallback) {
+            int readRetriesLimit, int maxConcurrentReads, ScheduledExecutorService knxScheduler,
+            CommandExtensionData commandExtensionData, Security openhabSecurity,
+            StatusUpdateCallback statusUpdateCallback) {
         this.autoReconnectPeriod = autoReconnectPeriod;
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
-        this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
         this.commandExtensionData = commandExtensionData;
         this.openhabSecurity = openhabSecurity;
+        // one thread per read the scheduler lets await its response at the same time
+        int readThreads = Math.max(1, maxConcurrentReads);
+        ThreadPoolExecutor readExecutor = new ThreadPoolExecutor(readThreads, readThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("knx-read-" + thingUID.getId(), true));
+        readExecutor.allowCoreThreadTimeOut(true);
+        this.readExecutor = readExecutor;
+        this.readScheduler = new ReadScheduler(maxConcurrentReads, readRetriesLimit, SLOW_READ_RESPONSE_NANOS,
+                readExecutor, this::readGroup);
     }
 
     public void initialize() {
@@ -312,7 +333,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (tmpLink != null) {
             tmpLink.removeLinkListener(this);
         }
-        readDatapoints.clear();
+        readScheduler.clear();
+        nextReadProgressReport = 0;
+        readProgressReported = false;
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, ManagementProcedures::detach);
@@ -341,16 +364,13 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        boolean isHandled = false;
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                isHandled = true;
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
-        }
-        // Store information about unhandled GAs, can be shown on console using knx:list-unknown-ga.
-        // The idea is to store GA, message type, and size as key. The value counts the number of packets.
-        if (!isHandled) {
+        Set<GroupAddressListener> listeners = listenersByGroupAddress.get(destination);
+        if (listeners != null) {
+            // notify all listeners of this group address in a single task
+            knxScheduler.execute(() -> notifyListeners(task, listeners, source, destination, asdu, action));
+        } else {
+            // Store information about unhandled GAs, can be shown on console using knx:list-unknown-ga.
+            // The idea is to store GA, message type, and size as key. The value counts the number of packets.
             logger.trace("Address '{}' is not configured in openHAB", destination);
             final String type = switch (event.getServiceCode()) {
                 case 0x80 -> "GROUP_WRITE";
@@ -364,49 +384,64 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
-    // datapoint is null at end of the list, warning is misleading
-    @SuppressWarnings("null")
+    private void notifyListeners(String task, Set<GroupAddressListener> listeners, IndividualAddress source,
+            GroupAddress destination, byte[] asdu, ListenerNotification action) {
+        for (GroupAddressListener listener : listeners) {
+            // the listener might have been disposed since the telegram was received
+            if (listener.listensTo(destination)) {
+                try {
+                    action.apply(listener, source, destination, asdu);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to process a {} telegram to '{}': {}", task, destination, e.getMessage());
+                }
+            }
+        }
+    }
+
     private void readNextQueuedDatapoint() {
         if (!connectIfNotAutomatic()) {
             return;
         }
+        if (processCommunicator == null) {
+            return;
+        }
+        readScheduler.dispatch();
+        reportReadProgress();
+    }
+
+    private void readGroup(Datapoint datapoint) throws KNXException, InterruptedException {
         ProcessCommunicator processCommunicator = this.processCommunicator;
         if (processCommunicator == null) {
             return;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
-        if (datapoint != null) {
-            // TODO #8872: allow write access, currently only listening mode
-            if (openhabSecurity.groupKeys().containsKey(datapoint.getDatapoint().getMainAddress())) {
-                logger.debug("outgoing secure communication not implemented, explicit read from GA '{}' skipped",
-                        datapoint.getDatapoint().getMainAddress());
-                return;
-            }
+        // TODO #8872: allow write access, currently only listening mode
+        if (openhabSecurity.groupKeys().containsKey(datapoint.getMainAddress())) {
+            logger.debug("outgoing secure communication not implemented, explicit read from GA '{}' skipped",
+                    datapoint.getMainAddress());
+            return;
+        }
+        processCommunicator.read(datapoint);
+    }
 
-            datapoint.incrementRetries();
-            try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
-            } catch (KNXException e) {
-                // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
-                // KnxIllegalArgumentException
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException | CancellationException e) {
-                logger.debug("Interrupted sending KNX read request");
-            } catch (Exception e) {
-                // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
-                // Not catching this would end the scheduled read for all DPs in case of an error.
-                // Severity is warning as this is likely caused by a configuration error.
-                logger.warn("Error reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(),
-                        e.getMessage());
+    private void reportReadProgress() {
+        // the progress is shown as description of the bridge status while the reads take longer than an interval
+        if (readScheduler.getPending() == 0) {
+            nextReadProgressReport = 0;
+            if (readProgressReported) {
+                readProgressReported = false;
+                statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             }
+            return;
+        }
+        long now = System.nanoTime();
+        if (nextReadProgressReport == 0) {
+            nextReadProgressReport = now + READ_PROGRESS_INTERVAL_NANOS;
+        } else if (now - nextReadProgressReport >= 0) {
+            nextReadProgressReport = now + READ_PROGRESS_INTERVAL_NANOS;
+            readProgressReported = true;
+            statusUpdateCallback.updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE,
+                    "@text/status.knx-reading-group-addresses [\"" + readScheduler.getCompleted() + "\", \""
+                            + readScheduler.getRequested() + "\"]");
         }
     }
 
@@ -415,6 +450,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         cancelReconnectJob();
         disconnect(null);
+        readExecutor.shutdownNow();
     }
 
     @Override
@@ -510,22 +546,47 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+        readDatapoint(datapoint, false);
+    }
+
+    @Override
+    public void readDatapoint(Datapoint datapoint, boolean priority) {
+        readScheduler.add(datapoint, priority);
     }
 
     @Override
     public final void registerGroupAddressListener(GroupAddressListener listener) {
-        groupAddressListeners.add(listener);
+        Set<GroupAddress> groupAddresses = Set.copyOf(listener.getGroupAddresses());
+        synchronized (listenersByGroupAddress) {
+            Set<GroupAddress> indexedGroupAddresses = groupAddressListeners.put(listener, groupAddresses);
+            if (indexedGroupAddresses != null) {
+                removeFromIndex(listener, indexedGroupAddresses);
+            }
+            for (GroupAddress groupAddress : groupAddresses) {
+                Objects.requireNonNull(
+                        listenersByGroupAddress.computeIfAbsent(groupAddress, k -> new CopyOnWriteArraySet<>()))
+                        .add(listener);
+            }
+        }
     }
 
     @Override
     public final void unregisterGroupAddressListener(GroupAddressListener listener) {
-        groupAddressListeners.remove(listener);
+        synchronized (listenersByGroupAddress) {
+            Set<GroupAddress> indexedGroupAddresses = groupAddressListeners.remove(listener);
+            if (indexedGroupAddresses != null) {
+                removeFromIndex(listener, indexedGroupAddresses);
+            }
+        }
+    }
+
+    private void removeFromIndex(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+        for (GroupAddress groupAddress : groupAddresses) {
+            listenersByGroupAddress.computeIfPresent(groupAddress, (k, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
     }
 
     @Override
@@ -88,10 +88,11 @@ public class IPClient extends AbstractKNXClient {
             @Nullable InetSocketAddress localEndPoint, boolean useNAT, int autoReconnectPeriod,
             byte[] secureRoutingBackboneGroupKey, long secureRoutingLatencyToleranceMs, byte[] secureTunnelDevKey,
             int secureTunnelUser, byte[] secureTunnelUserKey, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, CommandExtensionData commandExtensionData,
-            Security openhabSecurity, StatusUpdateCallback statusUpdateCallback) {
-        super(autoReconnectPeriod, thingUID, responseTimeout, readingPause, readRetriesLimit, knxScheduler,
-                commandExtensionData, openhabSecurity, statusUpdateCallback);
+            int readRetriesLimit, int maxConcurrentReads, ScheduledExecutorService knxScheduler,
+            CommandExtensionData commandExtensionData, Security openhabSecurity,
+            StatusUpdateCallback statusUpdateCallback) {
+        super(autoReconnectPeriod, thingUID, responseTimeout, readingPause, readRetriesLimit, maxConcurrentReads,
+                knxScheduler, commandExtensionData, openhabSecurity, statusUpdateCallback);
         this.ipConnectionType = ipConnectionType;
         this.ip = ip;
         this.localSource = localSource;
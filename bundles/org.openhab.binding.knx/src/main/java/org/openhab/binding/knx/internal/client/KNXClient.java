@@ -81,6 +81,14 @@ public interface KNXClient {
      */
     void readDatapoint(Datapoint datapoint);
 
+    /**
+     * Schedule the given data point for asynchronous reading.
+     *
+     * @param datapoint the datapoint
+     * @param priority whether the data point is read before the data points scheduled without priority
+     */
+    void readDatapoint(Datapoint datapoint, boolean priority);
+
     /**
      * Write a command to the KNX bus.
      *
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXAckTimeoutException;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Schedules the Group Read requests of a client.
+ *
+ * Every call of {@link #dispatch()} starts at most one read, so the caller determines the pause between two read
+ * requests on the bus. Up to a window of reads are awaiting their response at the same time. The window starts at one
+ * read, grows while the responses arrive quickly and shrinks when they are slow or fail. A missing tunnel
+ * acknowledgement halves the window and suspends the following dispatches, doubling the suspension for every further
+ * one.
+ *
+ * Each group address is queued at most once. Priority reads are started before all other reads.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ReadScheduler {
+    private static final int MAX_HOLD_OFF_DISPATCHES = 64;
+
+    @FunctionalInterface
+    interface GroupReader {
+        /**
+         * Reads the datapoint from the bus, returning when the response is received.
+         */
+        void read(Datapoint datapoint) throws KNXException, InterruptedException;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ReadScheduler.class);
+
+    private final int maxWindow;
+    private final int readRetriesLimit;
+    private final long slowResponseNanos;
+    private final Executor executor;
+    private final GroupReader reader;
+
+    private final Map<GroupAddress, ReadDatapoint> priorityQueue = new LinkedHashMap<>();
+    private final Map<GroupAddress, ReadDatapoint> queue = new LinkedHashMap<>();
+    private final Set<GroupAddress> outstanding = new HashSet<>();
+    private int window = 1;
+    private int windowSuccesses;
+    private int holdOff;
+    private int holdOffRemaining;
+    private int requested;
+    private int completed;
+
+    /**
+     * @param maxWindow the maximum number of reads awaiting their response
+     * @param readRetriesLimit the number of attempts to read a datapoint
+     * @param slowResponseNanos the response time from which on the window shrinks
+     * @param executor the executor performing the reads
+     * @param reader the reader sending the Group Read requests
+     */
+    ReadScheduler(int maxWindow, int readRetriesLimit, long slowResponseNanos, Executor executor,
+            GroupReader reader) {
+        this.maxWindow = Math.max(1, maxWindow);
+        this.readRetriesLimit = readRetriesLimit;
+        this.slowResponseNanos = slowResponseNanos;
+        this.executor = executor;
+        this.reader = reader;
+    }
+
+    /**
+     * Queues a read of the datapoint, unless its group address is already queued or being read.
+     *
+     * @param datapoint the datapoint
+     * @param priority whether the read is started before the reads without priority
+     */
+    synchronized void add(Datapoint datapoint, boolean priority) {
+        GroupAddress groupAddress = datapoint.getMainAddress();
+        if (outstanding.contains(groupAddress) || priorityQueue.containsKey(groupAddress)) {
+            return;
+        }
+        ReadDatapoint queued = queue.get(groupAddress);
+        if (queued != null) {
+            if (priority) {
+                queue.remove(groupAddress);
+                priorityQueue.put(groupAddress, queued);
+            }
+            return;
+        }
+        (priority ? priorityQueue : queue).put(groupAddress, new ReadDatapoint(datapoint, readRetriesLimit));
+        requested++;
+    }
+
+    /**
+     * Starts the next queued read, if the window allows it.
+     */
+    void dispatch() {
+        ReadDatapoint datapoint;
+        synchronized (this) {
+            if (holdOffRemaining > 0) {
+                holdOffRemaining--;
+                return;
+            }
+            if (outstanding.size() >= window) {
+                return;
+            }
+            datapoint = poll(priorityQueue);
+            if (datapoint == null) {
+                datapoint = poll(queue);
+            }
+            if (datapoint == null) {
+                return;
+            }
+            outstanding.add(datapoint.getDatapoint().getMainAddress());
+        }
+        final ReadDatapoint next = datapoint;
+        executor.execute(() -> read(next));
+    }
+
+    /**
+     * Removes all queued reads, e.g. after the connection was lost.
+     */
+    synchronized void clear() {
+        priorityQueue.clear();
+        queue.clear();
+        outstanding.clear();
+        window = 1;
+        windowSuccesses = 0;
+        holdOff = 0;
+        holdOffRemaining = 0;
+        requested = 0;
+        completed = 0;
+    }
+
+    /**
+     * @return the number of reads queued or awaiting their response
+     */
+    synchronized int getPending() {
+        return priorityQueue.size() + queue.size() + outstanding.size();
+    }
+
+    /**
+     * @return the number of reads requested since the queue was empty the last time
+     */
+    synchronized int getRequested() {
+        return requested;
+    }
+
+    /**
+     * @return the number of reads finished since the queue was empty the last time
+     */
+    synchronized int getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return the current number of reads which may await their response at the same time
+     */
+    synchronized int getWindow() {
+        return window;
+    }
+
+    private @Nullable ReadDatapoint poll(Map<GroupAddress, ReadDatapoint> queue) {
+        Iterator<ReadDatapoint> iterator = queue.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        ReadDatapoint datapoint = iterator.next();
+        iterator.remove();
+        return datapoint;
+    }
+
+    private void read(ReadDatapoint datapoint) {
+        GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+        datapoint.incrementRetries();
+        long start = System.nanoTime();
+        try {
+            logger.trace("Sending a Group Read Request telegram for {}", groupAddress);
+            reader.read(datapoint.getDatapoint());
+            finished(groupAddress, System.nanoTime() - start);
+        } catch (KNXAckTimeoutException e) {
+            congested();
+            retry(datapoint, e);
+        } catch (KNXException e) {
+            // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
+            // KnxIllegalArgumentException
+            adapt(System.nanoTime() - start);
+            retry(datapoint, e);
+        } catch (InterruptedException | CancellationException e) {
+            logger.debug("Interrupted sending KNX read request");
+            failed(groupAddress);
+        } catch (Exception e) {
+            // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
+            // Severity is warning as this is likely caused by a configuration error.
+            logger.warn("Error reading datapoint {}: {}", groupAddress, e.getMessage());
+            failed(groupAddress);
+        }
+    }
+
+    private synchronized void retry(ReadDatapoint datapoint, KNXException e) {
+        GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+        if (!outstanding.remove(groupAddress)) {
+            // cleared in the meantime
+            return;
+        }
+        if (datapoint.getRetries() < datapoint.getLimit()) {
+            // retried after the reads queued in the meantime
+            queue.putIfAbsent(groupAddress, datapoint);
+            logger.debug("Could not read value for datapoint {}: {}. Going to retry.", groupAddress, e.getMessage());
+        } else {
+            completed();
+            logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                    groupAddress, datapoint.getLimit());
+        }
+    }
+
+    private synchronized void finished(GroupAddress groupAddress, long responseNanos) {
+        if (!outstanding.remove(groupAddress)) {
+            // cleared in the meantime
+            return;
+        }
+        holdOff = 0;
+        adapt(responseNanos);
+        completed();
+    }
+
+    /**
+     * Finishes a read which is not retried and shrinks the window like for a slow response.
+     */
+    private synchronized void failed(GroupAddress groupAddress) {
+        if (!outstanding.remove(groupAddress)) {
+            // cleared in the meantime
+            return;
+        }
+        shrink();
+        completed();
+    }
+
+    private synchronized void adapt(long responseNanos) {
+        if (responseNanos >= slowResponseNanos) {
+            shrink();
+        } else if (++windowSuccesses >= window) {
+            window = Math.min(maxWindow, window + 1);
+            windowSuccesses = 0;
+        }
+    }
+
+    private synchronized void shrink() {
+        window = Math.max(1, window - 1);
+        windowSuccesses = 0;
+    }
+
+    private synchronized void congested() {
+        window = Math.max(1, window / 2);
+        windowSuccesses = 0;
+        holdOff = Math.min(MAX_HOLD_OFF_DISPATCHES, Math.max(1, holdOff * 2));
+        holdOffRemaining = holdOff;
+        logger.debug("Tunnel acknowledgement missing, reducing the read window to {} and pausing {} reads", window,
+                holdOff);
+    }
+
+    private void completed() {
+        completed++;
+        if (getPending() == 0) {
+            requested = 0;
+            completed = 0;
+        }
+    }
+}
@@ -53,11 +53,11 @@ public class SerialClient extends AbstractKNXClient {
     private final boolean useCemi;
 
     public SerialClient(int autoReconnectPeriod, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, String serialPort, boolean useCemi,
-            SerialPortManager serialPortManager, CommandExtensionData commandExtensionData, Security openhabSecurity,
-            StatusUpdateCallback statusUpdateCallback) {
-        super(autoReconnectPeriod, thingUID, responseTimeout, readingPause, readRetriesLimit, knxScheduler,
-                commandExtensionData, openhabSecurity, statusUpdateCallback);
+            int readRetriesLimit, int maxConcurrentReads, ScheduledExecutorService knxScheduler, String serialPort,
+            boolean useCemi, SerialPortManager serialPortManager, CommandExtensionData commandExtensionData,
+            Security openhabSecurity, StatusUpdateCallback statusUpdateCallback) {
+        super(autoReconnectPeriod, thingUID, responseTimeout, readingPause, readRetriesLimit, maxConcurrentReads,
+                knxScheduler, commandExtensionData, openhabSecurity, statusUpdateCallback);
         this.serialPortManager = serialPortManager;
         this.serialPort = serialPort;
         this.useCemi = useCemi;
@@ -20,7 +20,11 @@ import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -82,6 +86,52 @@ public class ValueDecoder {
             .compile("(?:\\((?<x>\\d+(?:[,.]\\d+)?) (?<y>\\d+(?:[,.]\\d+)?)\\))?\\s*(?:(?<Y>\\d+(?:[,.]\\d+)?)\\s%)?");
     public static final Pattern TSD_SEPARATOR = Pattern.compile("^[0-9]+(?<sep>[,\\.])[0-9][0-9][0-9].*");
 
+    // DPTs without scaling, their value is decoded from the raw data without a Calimero translator
+    private static final Map<String, RawLayout> RAW_NUMERIC_DPTS = Map.ofEntries( //
+            Map.entry("5.004", RawLayout.UNSIGNED_8), Map.entry("5.005", RawLayout.UNSIGNED_8), //
+            Map.entry("5.006", RawLayout.UNSIGNED_8), Map.entry("5.010", RawLayout.UNSIGNED_8), //
+            Map.entry("7.001", RawLayout.UNSIGNED_16), Map.entry("7.002", RawLayout.UNSIGNED_16), //
+            Map.entry("7.005", RawLayout.UNSIGNED_16), Map.entry("7.006", RawLayout.UNSIGNED_16), //
+            Map.entry("7.007", RawLayout.UNSIGNED_16), Map.entry("7.010", RawLayout.UNSIGNED_16), //
+            Map.entry("7.011", RawLayout.UNSIGNED_16), Map.entry("7.012", RawLayout.UNSIGNED_16), //
+            Map.entry("7.013", RawLayout.UNSIGNED_16), Map.entry("7.600", RawLayout.UNSIGNED_16), //
+            Map.entry("12.001", RawLayout.UNSIGNED_32), Map.entry("12.100", RawLayout.UNSIGNED_32), //
+            Map.entry("12.101", RawLayout.UNSIGNED_32), Map.entry("12.102", RawLayout.UNSIGNED_32), //
+            Map.entry("12.1200", RawLayout.UNSIGNED_32), Map.entry("12.1201", RawLayout.UNSIGNED_32), //
+            Map.entry("13.001", RawLayout.SIGNED_32), Map.entry("13.010", RawLayout.SIGNED_32), //
+            Map.entry("13.011", RawLayout.SIGNED_32), Map.entry("13.012", RawLayout.SIGNED_32), //
+            Map.entry("13.013", RawLayout.SIGNED_32), Map.entry("13.014", RawLayout.SIGNED_32), //
+            Map.entry("13.015", RawLayout.SIGNED_32), Map.entry("13.016", RawLayout.SIGNED_32), //
+            Map.entry("13.100", RawLayout.SIGNED_32), Map.entry("13.1200", RawLayout.SIGNED_32), //
+            Map.entry("13.1201", RawLayout.SIGNED_32));
+    // the direct decoding of each DPT used so far, empty if the DPT is decoded by a Calimero translator
+    private static final Map<String, Optional<DirectDecoding>> DIRECT_DECODINGS = new ConcurrentHashMap<>();
+
+    private enum RawLayout {
+        BOOLEAN(1),
+        UNSIGNED_8(1),
+        UNSIGNED_16(2),
+        UNSIGNED_32(4),
+        SIGNED_32(4),
+        RGB(3);
+
+        private final int size;
+
+        RawLayout(int size) {
+            this.size = size;
+        }
+
+        /**
+         * @return whether the data has this layout, otherwise it is left to the translator to report the error
+         */
+        boolean accepts(byte[] data) {
+            return data.length >= size && (this != BOOLEAN || (data[0] & 0xfe) == 0);
+        }
+    }
+
+    private record DirectDecoding(RawLayout layout, String subType) {
+    }
+
     private static boolean check235001(byte[] data) throws KNXException {
         if (data.length != 6) {
             throw new KNXFormatException("DPT235 broken frame");
@@ -113,14 +163,82 @@ public class ValueDecoder {
      * @return the data converted to an openHAB Type (or null if conversion failed)
      */
     public static @Nullable Type decode(String dptId, byte[] data, Class<? extends Type> preferredType) {
+        DirectDecoding directDecoding = Objects.requireNonNull( // for compiler
+                DIRECT_DECODINGS.computeIfAbsent(dptId, ValueDecoder::getDirectDecoding)).orElse(null);
+        if (directDecoding != null && directDecoding.layout().accepts(data)) {
+            try {
+                return decodeDirect(directDecoding, dptId, data, preferredType);
+            } catch (NumberFormatException e) {
+                LOGGER.info("Translator couldn't parse data '{}' for datapoint type '{}' ({}).", data, dptId,
+                        e.getClass());
+                return null;
+            }
+        }
+        return decodeWithTranslator(dptId, data, preferredType);
+    }
+
+    /**
+     * Determines whether the DPT can be decoded from the raw data, without the string value of a Calimero translator.
+     * This is the case for DPTs with a fixed layout and without scaling. DPTs unknown to Calimero are left to the
+     * translator, so they are reported as before.
+     */
+    private static Optional<DirectDecoding> getDirectDecoding(String dptId) {
+        Matcher m = DPTUtil.DPT_PATTERN.matcher(dptId);
+        if (!m.matches() || m.group("sub") == null) {
+            return Optional.empty();
+        }
+        String mainType = m.group("main");
+        String normalizedDptId = DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId);
+        @Nullable
+        RawLayout layout = switch (mainType) {
+            case "1" -> RawLayout.BOOLEAN;
+            case "232" -> RawLayout.RGB;
+            default -> RAW_NUMERIC_DPTS.get(normalizedDptId);
+        };
+        if (layout == null) {
+            return Optional.empty();
+        }
+        try {
+            TranslatorTypes.createTranslator(0, normalizedDptId);
+        } catch (KNXException e) {
+            return Optional.empty();
+        }
+        return Optional.of(new DirectDecoding(layout, m.group("sub")));
+    }
+
+    private static @Nullable Type decodeDirect(DirectDecoding decoding, String dptId, byte[] data,
+            Class<? extends Type> preferredType) {
+        LOGGER.trace("Decoding datapoint DPT = {} from raw data", dptId);
+        return switch (decoding.layout()) {
+            case BOOLEAN -> handleDpt1(decoding.subType(), (data[0] & 0x01) != 0, preferredType);
+            case UNSIGNED_8 -> handleNumericValue(dptId, data[0] & 0xff, null, preferredType);
+            case UNSIGNED_16 -> handleNumericValue(dptId, ((data[0] & 0xff) << 8) | (data[1] & 0xff), null,
+                    preferredType);
+            case UNSIGNED_32 -> handleNumericValue(dptId, ((long) (data[0] & 0xff) << 24) | ((data[1] & 0xff) << 16)
+                    | ((data[2] & 0xff) << 8) | (data[3] & 0xff), null, preferredType);
+            case SIGNED_32 -> handleNumericValue(dptId,
+                    (data[0] << 24) | ((data[1] & 0xff) << 16) | ((data[2] & 0xff) << 8) | (data[3] & 0xff), null,
+                    preferredType);
+            case RGB -> handleDpt232(decoding.subType(), data[0] & 0xff, data[1] & 0xff, data[2] & 0xff);
+        };
+    }
+
+    /**
+     * convert the raw value received to the corresponding openHAB value, using the string value of a Calimero
+     * translator where required
+     *
+     * @param dptId the DPT of the given data
+     * @param data a byte array containing the value
+     * @param preferredType the preferred datatype for this conversion
+     * @return the data converted to an openHAB Type (or null if conversion failed)
+     */
+    static @Nullable Type decodeWithTranslator(String dptId, byte[] data, Class<? extends Type> preferredType) {
         try {
-            String value = "";
             String translatorDptId = dptId;
             DPTXlator translator;
             try {
                 translator = TranslatorTypes.createTranslator(0, DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
                 translator.setData(data);
-                value = translator.getValue();
                 translatorDptId = translator.getType().getID();
             } catch (KNXException e) {
                 // special handling for decoding DPTs not yet supported by Calimero
@@ -130,7 +248,6 @@ public class ValueDecoder {
                     }
                     translator = TranslatorTypes.createTranslator(0, "13.010");
                     translator.setData(data);
-                    value = translator.getValue();
                     dptId = "13.010";
                     translatorDptId = dptId;
                 } else if ("235.61001".equals(dptId)) {
@@ -139,7 +256,6 @@ public class ValueDecoder {
                     }
                     translator = TranslatorTypes.createTranslator(0, "5.006");
                     translator.setData(new byte[] { data[4] });
-                    value = translator.getValue();
                     dptId = "5.006";
                     translatorDptId = dptId;
                 } else {
@@ -167,7 +283,7 @@ public class ValueDecoder {
 
             switch (mainType) {
                 case "1":
-                    return handleDpt1(subType, translator, preferredType);
+                    return handleDpt1(subType, ((DPTXlatorBoolean) translator).getValueBoolean(), preferredType);
                 case "2":
                     DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
                     int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
@@ -177,19 +293,19 @@ public class ValueDecoder {
                     return handleDpt3(subType, translator);
                 case "6":
                     if ("020".equals(subType)) {
-                        return handleStringOrDecimal(data, value, preferredType, 8);
+                        return handleStringOrDecimal(data, translator, preferredType, 8);
                     } else {
                         return handleNumericDpt(id, translator, preferredType);
                     }
                 case "10":
-                    return handleDpt10(value);
+                    return handleDpt10(translator.getValue());
                 case "11":
                     return DateTimeType.valueOf(new SimpleDateFormat(DateTimeType.DATE_PATTERN)
-                            .format(new SimpleDateFormat(DATE_FORMAT).parse(value)));
+                            .format(new SimpleDateFormat(DATE_FORMAT).parse(translator.getValue())));
                 case "18":
                     DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
                     int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
+                    if (translator.getValue().startsWith("learn")) {
                         decimalValue += 0x80;
                     }
                     return new DecimalType(decimalValue);
@@ -197,20 +313,21 @@ public class ValueDecoder {
                     return handleDpt19(translator, data);
                 case "20":
                 case "21":
-                    return handleStringOrDecimal(data, value, preferredType, 8);
+                    return handleStringOrDecimal(data, translator, preferredType, 8);
                 case "22":
-                    return handleStringOrDecimal(data, value, preferredType, 16);
+                    return handleStringOrDecimal(data, translator, preferredType, 16);
                 case "16":
                 case "28":
                 case "250": // Map all combined color transitions to String,
                 case "252": // as no native support is planned.
                 case "253": // Currently only one subtype 2xx.600
                 case "254": // is defined for those DPTs.
-                    return StringType.valueOf(value);
+                    return StringType.valueOf(translator.getValue());
                 case "243": // color translation, fix regional
                 case "249": // settings
                     // workaround for different number formats, this is to fix time>=1000s:
                     // time is last block and may contain . and ,
+                    String value = translator.getValue();
                     int sep = java.lang.Math.max(value.indexOf(" % "), value.indexOf(" K "));
                     String time = value.substring(sep + 3);
                     Matcher mt = TSD_SEPARATOR.matcher(time);
@@ -221,11 +338,11 @@ public class ValueDecoder {
                     value = value.substring(0, sep + 3) + time;
                     return StringType.valueOf(value.replace(',', '.').replace(". ", ", "));
                 case "232":
-                    return handleDpt232(value, subType);
+                    return handleDpt232(translator.getValue(), subType);
                 case "242":
-                    return handleDpt242(value);
+                    return handleDpt242(translator.getValue());
                 case "251":
-                    return handleDpt251(value, subType, preferredType);
+                    return handleDpt251(translator.getValue(), subType, preferredType);
                 default:
                     return handleNumericDpt(id, translator, preferredType);
             }
@@ -239,34 +356,33 @@ public class ValueDecoder {
         return null;
     }
 
-    private static Type handleDpt1(String subType, DPTXlator translator, Class<? extends Type> preferredType) {
-        DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
+    private static Type handleDpt1(String subType, boolean value, Class<? extends Type> preferredType) {
         return switch (subType) {
-            case "008" -> translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
+            case "008" -> value ? UpDownType.DOWN : UpDownType.UP;
             case "009", "019" -> {
                 // default is OpenClosedType (Contact), but it may be mapped to OnOffType as well
                 if (OnOffType.class.equals(preferredType)) {
-                    yield OnOffType.from(translatorBoolean.getValueBoolean());
+                    yield OnOffType.from(value);
                 }
 
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
-                yield translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                yield value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
 
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
             }
-            case "010" -> translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
-            case "022" -> DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
+            case "010" -> value ? StopMoveType.MOVE : StopMoveType.STOP;
+            case "022" -> DecimalType.valueOf(value ? "1" : "0");
             default -> {
                 // default is OnOffType (Switch), but it may be mapped to OpenClosedType as well
                 if (OpenClosedType.class.equals(preferredType)) {
-                    yield translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    yield value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
                 }
 
-                yield OnOffType.from(translatorBoolean.getValueBoolean());
+                yield OnOffType.from(value);
             }
         };
     }
@@ -368,8 +484,8 @@ public class ValueDecoder {
         }
     }
 
-    private static @Nullable Type handleStringOrDecimal(byte[] data, String value, Class<? extends Type> preferredType,
-            int bits) {
+    private static @Nullable Type handleStringOrDecimal(byte[] data, DPTXlator stringTranslator,
+            Class<? extends Type> preferredType, int bits) {
         if (DecimalType.class.equals(preferredType)) {
             try {
                 // need a new translator for 8 bit unsigned, as Calimero handles only the string type
@@ -388,7 +504,7 @@ public class ValueDecoder {
                 return null;
             }
         } else {
-            return StringType.valueOf(value);
+            return StringType.valueOf(stringTranslator.getValue());
         }
     }
 
@@ -398,25 +514,28 @@ public class ValueDecoder {
             int r = Integer.parseInt(rgb.group("r"));
             int g = Integer.parseInt(rgb.group("g"));
             int b = Integer.parseInt(rgb.group("b"));
-
-            switch (subType) {
-                case "600":
-                    return HSBType.fromRGB(r, g, b);
-                case "60000":
-                    // MDT specific: mis-use 232.600 for hsv instead of rgb
-                    DecimalType hue = new DecimalType(coerceToRange(r * 360.0 / 255.0, 0.0, 359.9999));
-                    PercentType sat = new PercentType(BigDecimal.valueOf(coerceToRange(g / 2.55, 0.0, 100.0)));
-                    PercentType bright = new PercentType(BigDecimal.valueOf(coerceToRange(b / 2.55, 0.0, 100.0)));
-                    return new HSBType(hue, sat, bright);
-                default:
-                    LOGGER.warn("Unknown subtype '232.{}', no conversion possible.", subType);
-                    return null;
-            }
+            return handleDpt232(subType, r, g, b);
         }
         LOGGER.warn("Failed to convert '{}' (DPT 232): Pattern does not match", value);
         return null;
     }
 
+    private static @Nullable Type handleDpt232(String subType, int r, int g, int b) {
+        switch (subType) {
+            case "600":
+                return HSBType.fromRGB(r, g, b);
+            case "60000":
+                // MDT specific: mis-use 232.600 for hsv instead of rgb
+                DecimalType hue = new DecimalType(coerceToRange(r * 360.0 / 255.0, 0.0, 359.9999));
+                PercentType sat = new PercentType(BigDecimal.valueOf(coerceToRange(g / 2.55, 0.0, 100.0)));
+                PercentType bright = new PercentType(BigDecimal.valueOf(coerceToRange(b / 2.55, 0.0, 100.0)));
+                return new HSBType(hue, sat, bright);
+            default:
+                LOGGER.warn("Unknown subtype '232.{}', no conversion possible.", subType);
+                return null;
+        }
+    }
+
     private static @Nullable Type handleDpt242(String value) {
         Matcher xyY = XYY_PATTERN.matcher(value);
         if (xyY.matches()) {
@@ -487,9 +606,19 @@ public class ValueDecoder {
 
     private static @Nullable Type handleNumericDpt(String id, DPTXlator translator, Class<? extends Type> preferredType)
             throws KNXFormatException {
+        double value = translator.getNumericValue();
+        // prevent loss of precision, do not represent 64bit decimal using double
+        @Nullable
+        Long exactValue = translator instanceof DPTXlator64BitSigned translatorSigned
+                ? translatorSigned.getValueSigned()
+                : null;
+        return handleNumericValue(id, value, exactValue, preferredType);
+    }
+
+    private static @Nullable Type handleNumericValue(String id, double value, @Nullable Long exactValue,
+            Class<? extends Type> preferredType) {
         Set<Class<? extends Type>> allowedTypes = DPTUtil.getAllowedTypes(id);
 
-        double value = translator.getNumericValue();
         if (allowedTypes.contains(PercentType.class)
                 && (HSBType.class.equals(preferredType) || PercentType.class.equals(preferredType))) {
             return new PercentType(BigDecimal.valueOf(Math.round(value)));
@@ -498,9 +627,8 @@ public class ValueDecoder {
         if (allowedTypes.contains(QuantityType.class) && !disableUoM) {
             String unit = DPTUnits.getUnitForDpt(id);
             if (unit != null) {
-                if (translator instanceof DPTXlator64BitSigned translatorSigned) {
-                    // prevent loss of precision, do not represent 64bit decimal using double
-                    return new QuantityType<>(translatorSigned.getValueSigned() + " " + unit);
+                if (exactValue != null) {
+                    return new QuantityType<>(exactValue + " " + unit);
                 }
                 return new QuantityType<>(value + " " + unit);
             } else {
@@ -509,9 +637,8 @@ public class ValueDecoder {
         }
 
         if (allowedTypes.contains(DecimalType.class)) {
-            if (translator instanceof DPTXlator64BitSigned translatorSigned) {
-                // prevent loss of precision, do not represent 64bit decimal using double
-                return new DecimalType(translatorSigned.getValueSigned());
+            if (exactValue != null) {
+                return new DecimalType(exactValue);
             }
             return new DecimalType(value);
         }
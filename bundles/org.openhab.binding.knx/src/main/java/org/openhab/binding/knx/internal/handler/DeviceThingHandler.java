@@ -223,23 +223,28 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
         if (readInterval > 0) {
             ScheduledFuture<?> future = readFutures.get(groupAddress);
             if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
-                        TimeUnit.SECONDS);
+                getScheduler().submit(() -> readDatapoint(groupAddress, dpt, true));
+                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt, false),
+                        readInterval, readInterval, TimeUnit.SECONDS);
                 readFutures.put(groupAddress, future);
             }
         } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
+            getScheduler().submit(() -> readDatapoint(groupAddress, dpt, true));
         }
     }
 
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    /**
+     * Schedules a read of the group address. Initial reads fetch a yet unknown state and have priority over the
+     * periodic refreshes of states which are already known.
+     */
+    private void readDatapoint(GroupAddress groupAddress, String dpt, boolean initial) {
         if (getClient().isConnected()) {
             if (DPTUtil.getAllowedTypes(dpt).isEmpty()) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            getClient().readDatapoint(datapoint, initial);
         }
     }
 
@@ -248,6 +253,11 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
         return groupAddresses.contains(destination);
     }
 
+    @Override
+    public Set<GroupAddress> getGroupAddresses() {
+        return groupAddresses;
+    }
+
     /** Handling commands triggered from openHAB */
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
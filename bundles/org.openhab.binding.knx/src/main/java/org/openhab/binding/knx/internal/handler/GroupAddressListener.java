@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -33,4 +35,12 @@ public interface GroupAddressListener extends BusMessageListener {
      * @param destination
      */
     boolean listensTo(GroupAddress destination);
+
+    /**
+     * Returns all GroupAddresses the GroupAddressListener has an interest in. The client indexes the listener by
+     * these when it registers, so a listener needs to register again when they change.
+     *
+     * @return the GroupAddresses
+     */
+    Set<GroupAddress> getGroupAddresses();
 }
@@ -196,8 +196,8 @@ public class IPBridgeThingHandler extends KNXBridgeBaseThingHandler {
         client = new IPClient(ipConnectionType, ip, localSource, port, localEndPoint, useNAT, autoReconnectPeriod,
                 secureRouting.backboneGroupKey, secureRouting.latencyToleranceMs, secureTunnel.devKey,
                 secureTunnel.user, secureTunnel.userKey, thing.getUID(), config.getResponseTimeout(),
-                config.getReadingPause(), config.getReadRetriesLimit(), getScheduler(), getCommandExtensionData(),
-                openhabSecurity, this);
+                config.getReadingPause(), config.getReadRetriesLimit(), config.getMaxConcurrentReads(), getScheduler(),
+                getCommandExtensionData(), openhabSecurity, this);
 
         IPClient tmpClient = client;
         if (tmpClient != null) {
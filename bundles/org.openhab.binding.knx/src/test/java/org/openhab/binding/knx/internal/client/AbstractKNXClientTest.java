@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler.CommandExtensionData;
+import org.openhab.core.test.java.JavaTest;
+import org.openhab.core.thing.ThingStatus;
+import org.openhab.core.thing.ThingStatusDetail;
+import org.openhab.core.thing.ThingUID;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.process.ProcessCommunicator;
+import tuwien.auto.calimero.process.ProcessCommunicatorImpl;
+import tuwien.auto.calimero.secure.Security;
+
+/**
+ * Replays a bus trace through a {@link DummyKNXNetworkLink} and checks the telegrams are dispatched to the
+ * listeners of their group address only.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class AbstractKNXClientTest extends JavaTest {
+    private static final int DEVICES = 300;
+    private static final int TELEGRAMS = 3000;
+    private static final int UNKNOWN_TELEGRAMS = 10;
+    private static final int FIRST_ADDRESS = 0x0800;
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final DummyKNXNetworkLink link = new DummyKNXNetworkLink();
+    private final CommandExtensionData commandExtensionData = new CommandExtensionData(new TreeMap<>());
+    private @NonNullByDefault({}) TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new TestClient(link, scheduler, commandExtensionData);
+        client.initialize();
+        assertTrue(client.isConnected());
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.dispose();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void replayedTraceIsDispatchedByGroupAddress() throws Exception {
+        // every device listens to its own two group addresses
+        List<CountingListener> listeners = new ArrayList<>();
+        for (int i = 0; i < DEVICES; i++) {
+            CountingListener listener = new CountingListener(Set.of(new GroupAddress(FIRST_ADDRESS + 2 * i),
+                    new GroupAddress(FIRST_ADDRESS + 2 * i + 1)));
+            listeners.add(listener);
+            client.registerGroupAddressListener(listener);
+        }
+
+        CountDownLatch latch = new CountDownLatch(TELEGRAMS);
+        listeners.forEach(listener -> listener.latch = latch);
+        int[] expected = new int[DEVICES];
+        List<GroupAddress> trace = new ArrayList<>();
+        for (int t = 0; t < TELEGRAMS; t++) {
+            int offset = (t * 7) % (2 * DEVICES);
+            expected[offset / 2]++;
+            trace.add(new GroupAddress(FIRST_ADDRESS + offset));
+        }
+        for (int t = 0; t < UNKNOWN_TELEGRAMS; t++) {
+            trace.add(new GroupAddress(FIRST_ADDRESS + 2 * DEVICES + t));
+        }
+
+        ProcessCommunicator writer = new ProcessCommunicatorImpl(link);
+        for (int t = 0; t < trace.size(); t++) {
+            writer.write(trace.get(t), t % 2 == 0);
+        }
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        for (int i = 0; i < DEVICES; i++) {
+            assertEquals(expected[i], listeners.get(i).writes.get());
+        }
+        waitForAssert(() -> assertEquals(UNKNOWN_TELEGRAMS, unknownTelegrams()));
+        writer.detach();
+    }
+
+    @Test
+    void indexFollowsRegistrations() throws Exception {
+        GroupAddress first = new GroupAddress(1, 2, 3);
+        GroupAddress second = new GroupAddress(1, 2, 4);
+        Set<GroupAddress> groupAddresses = ConcurrentHashMap.newKeySet();
+        groupAddresses.add(first);
+        CountingListener listener = new CountingListener(groupAddresses);
+        client.registerGroupAddressListener(listener);
+
+        // the group addresses changed, e.g. after the thing was reconfigured
+        groupAddresses.remove(first);
+        groupAddresses.add(second);
+        client.registerGroupAddressListener(listener);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        listener.latch = latch;
+        ProcessCommunicator writer = new ProcessCommunicatorImpl(link);
+        writer.write(first, true);
+        writer.write(second, true);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(1, listener.writes.get());
+
+        client.unregisterGroupAddressListener(listener);
+        writer.write(second, false);
+        writer.detach();
+        waitForAssert(() -> assertEquals(2, unknownTelegrams()));
+        assertEquals(1, listener.writes.get());
+    }
+
+    private long unknownTelegrams() {
+        return commandExtensionData.unknownGA().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static class TestClient extends AbstractKNXClient {
+        private final DummyKNXNetworkLink link;
+
+        TestClient(DummyKNXNetworkLink link, ScheduledExecutorService scheduler,
+                CommandExtensionData commandExtensionData) {
+            super(0, new ThingUID("knx:ip:test"), 1, 50, 0, 1, scheduler, commandExtensionData, Security.newSecurity(),
+                    new StatusUpdateCallback() {
+                        @Override
+                        public void updateStatus(ThingStatus status) {
+                        }
+
+                        @Override
+                        public void updateStatus(ThingStatus status, ThingStatusDetail statusDetail,
+                                String description) {
+                        }
+                    });
+            this.link = link;
+        }
+
+        @Override
+        protected DummyKNXNetworkLink establishConnection() {
+            return link;
+        }
+    }
+
+    private static class CountingListener implements GroupAddressListener {
+        private final Set<GroupAddress> groupAddresses;
+        private final AtomicInteger writes = new AtomicInteger();
+        private volatile @Nullable CountDownLatch latch;
+
+        CountingListener(Set<GroupAddress> groupAddresses) {
+            this.groupAddresses = groupAddresses;
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return groupAddresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+            writes.incrementAndGet();
+            CountDownLatch latch = this.latch;
+            if (latch != null) {
+                latch.countDown();
+            }
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+    }
+}
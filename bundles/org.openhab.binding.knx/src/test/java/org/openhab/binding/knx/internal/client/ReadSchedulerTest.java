@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXAckTimeoutException;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Tests the queueing and pacing of the {@link ReadScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ReadSchedulerTest {
+    private static final int MAX_WINDOW = 3;
+
+    // reads are only performed when the test runs them, so they stay outstanding until then
+    private final List<Runnable> startedReads = new ArrayList<>();
+    private final List<GroupAddress> readAddresses = new ArrayList<>();
+    private @Nullable KNXException failure;
+    private @Nullable RuntimeException error;
+    private final ReadScheduler scheduler = new ReadScheduler(MAX_WINDOW, 2, TimeUnit.SECONDS.toNanos(1),
+            startedReads::add, this::read);
+
+    private void read(Datapoint datapoint) throws KNXException {
+        readAddresses.add(datapoint.getMainAddress());
+        KNXException failure = this.failure;
+        if (failure != null) {
+            throw failure;
+        }
+        RuntimeException error = this.error;
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private static Datapoint datapoint(int address) {
+        return new CommandDP(new GroupAddress(address), "test", 0, "1.001");
+    }
+
+    private void runStartedReads() {
+        List<Runnable> reads = new ArrayList<>(startedReads);
+        startedReads.clear();
+        reads.forEach(Runnable::run);
+    }
+
+    @Test
+    void groupAddressIsQueuedOnce() {
+        scheduler.add(datapoint(1), false);
+        scheduler.add(datapoint(1), false);
+        scheduler.add(datapoint(1), true);
+        assertEquals(1, scheduler.getPending());
+        assertEquals(1, scheduler.getRequested());
+
+        scheduler.dispatch();
+        // a read of an address which is being read is dropped, its response is still to come
+        scheduler.add(datapoint(1), true);
+        assertEquals(1, scheduler.getPending());
+        runStartedReads();
+        assertEquals(List.of(new GroupAddress(1)), readAddresses);
+        assertEquals(0, scheduler.getPending());
+    }
+
+    @Test
+    void priorityReadsAreStartedFirst() {
+        scheduler.add(datapoint(1), false);
+        scheduler.add(datapoint(2), false);
+        scheduler.add(datapoint(3), true);
+        // a queued read is promoted
+        scheduler.add(datapoint(2), true);
+
+        for (int i = 0; i < 3; i++) {
+            scheduler.dispatch();
+            runStartedReads();
+        }
+        assertEquals(List.of(new GroupAddress(3), new GroupAddress(2), new GroupAddress(1)), readAddresses);
+    }
+
+    @Test
+    void windowGrowsWithFastResponses() {
+        for (int i = 1; i <= 20; i++) {
+            scheduler.add(datapoint(i), false);
+        }
+        assertEquals(1, scheduler.getWindow());
+
+        scheduler.dispatch();
+        scheduler.dispatch();
+        // the window allows a single outstanding read
+        assertEquals(1, startedReads.size());
+        runStartedReads();
+        assertEquals(2, scheduler.getWindow());
+
+        int maxOutstanding = 0;
+        for (int i = 0; i < 10; i++) {
+            int outstanding = startedReads.size();
+            scheduler.dispatch();
+            if (startedReads.size() == outstanding) {
+                // the window is full
+                runStartedReads();
+            }
+            maxOutstanding = Math.max(maxOutstanding, startedReads.size());
+        }
+        assertEquals(MAX_WINDOW, maxOutstanding);
+        assertEquals(MAX_WINDOW, scheduler.getWindow());
+    }
+
+    @Test
+    void missingAcknowledgementPausesReads() {
+        scheduler.add(datapoint(1), false);
+        scheduler.add(datapoint(2), false);
+
+        failure = new KNXAckTimeoutException("no ACK");
+        scheduler.dispatch();
+        runStartedReads();
+        // the failed read is queued again
+        assertEquals(2, scheduler.getPending());
+
+        failure = null;
+        scheduler.dispatch();
+        assertTrue(startedReads.isEmpty());
+        scheduler.dispatch();
+        runStartedReads();
+        scheduler.dispatch();
+        runStartedReads();
+        assertEquals(List.of(new GroupAddress(1), new GroupAddress(2), new GroupAddress(1)), readAddresses);
+        assertEquals(0, scheduler.getPending());
+    }
+
+    @Test
+    void readIsGivenUpAfterRetriesLimit() {
+        scheduler.add(datapoint(1), false);
+        failure = new KNXException("no response");
+        for (int i = 0; i < 5; i++) {
+            scheduler.dispatch();
+            runStartedReads();
+        }
+        assertEquals(2, readAddresses.size());
+        assertEquals(0, scheduler.getPending());
+    }
+
+    @Test
+    void failedReadShrinksWindow() {
+        for (int i = 1; i <= 4; i++) {
+            scheduler.add(datapoint(i), false);
+        }
+        scheduler.dispatch();
+        runStartedReads();
+        assertEquals(2, scheduler.getWindow());
+
+        error = new IllegalStateException("not connected");
+        scheduler.dispatch();
+        runStartedReads();
+        // the read is not retried
+        assertEquals(1, scheduler.getWindow());
+        assertEquals(2, scheduler.getPending());
+        assertEquals(2, scheduler.getCompleted());
+    }
+}
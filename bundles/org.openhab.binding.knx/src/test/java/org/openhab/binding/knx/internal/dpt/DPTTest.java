@@ -15,6 +15,9 @@ package org.openhab.binding.knx.internal.dpt;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -30,10 +33,14 @@ import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.Type;
 import org.openhab.core.util.ColorUtil;
 
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
@@ -589,6 +596,35 @@ class DPTTest {
                 result);
     }
 
+    private static Stream<String> directlyDecodedDptProvider() {
+        return Stream.of("1.001", "1.008", "1.009", "1.010", "1.019", "1.022", "1.091", "5.004", "5.005", "5.006",
+                "5.010", "7.001", "7.002", "7.005", "7.006", "7.007", "7.010", "7.011", "7.012", "7.013", "7.600",
+                "12.001", "12.100", "12.101", "12.102", "12.1200", "12.1201", "13.001", "13.010", "13.011", "13.012",
+                "13.013", "13.014", "13.015", "13.016", "13.100", "13.1200", "13.1201", "232.600", "232.60000");
+    }
+
+    @ParameterizedTest
+    @MethodSource("directlyDecodedDptProvider")
+    public void directDecodingMatchesTranslator(String dpt) {
+        int size = switch (dpt.substring(0, dpt.indexOf('.'))) {
+            case "7" -> 2;
+            case "12", "13" -> 4;
+            case "232" -> 3;
+            default -> 1;
+        };
+        List<Class<? extends Type>> preferredTypes = List.of(DecimalType.class, QuantityType.class,
+                PercentType.class, HSBType.class, OnOffType.class, OpenClosedType.class);
+        for (int i = 0; i < 256; i++) {
+            // vary all bytes, including the sign bit of the first one
+            byte[] data = Arrays.copyOf(new byte[] { (byte) i, (byte) (i * 7), (byte) (i * 13), (byte) (i * 31) },
+                    size);
+            for (Class<? extends Type> preferredType : preferredTypes) {
+                assertEquals(ValueDecoder.decodeWithTranslator(dpt, data.clone(), preferredType),
+                        ValueDecoder.decode(dpt, data, preferredType), dpt + ": " + HexFormat.of().formatHex(data));
+            }
+        }
+    }
+
     private static Stream<byte[]> xyYValueProvider() {
         // Returning all combinations is too much. Implementation tries to catch rounding errors
         // but is still deterministic to get reproducible test results.
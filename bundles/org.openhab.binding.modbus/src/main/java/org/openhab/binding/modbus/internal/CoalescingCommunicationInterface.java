@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.core.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.openhab.core.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.core.io.transport.modbus.exception.ModbusSlaveErrorResponseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ModbusCommunicationInterface} merging the regular polls of an endpoint into as few reads as possible.
+ *
+ * Regular polls of the same slave, function code and poll period are merged when the gap between them is at most
+ * the configured gap and the merged read does not exceed the maximum read length. Each merged read is registered as a
+ * single regular poll, and its result is sliced back to the requests and callbacks of the original polls.
+ *
+ * In case the slave rejects a merged read with an illegal data address or value exception response, e.g. since it
+ * spans an unmapped address, its polls are registered separately from then on and read without delay.
+ *
+ * All other requests are passed to the wrapped communication interface as is.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescingCommunicationInterface implements ModbusCommunicationInterface {
+
+    private static final Comparator<CoalescedPollTask> REFERENCE_ORDER = Comparator
+            .<CoalescedPollTask> comparingInt(task -> task.getRequest().getReference())
+            .thenComparingInt(task -> task.getRequest().getDataLength());
+
+    /**
+     * Regular polls with equal keys can be merged
+     */
+    private record PollKey(int unitId, ModbusReadFunctionCode functionCode, long pollPeriodMillis) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescingCommunicationInterface.class);
+
+    private final ModbusCommunicationInterface delegate;
+    private final int maxGap;
+    private final int maxRegisters;
+    private final Map<PollKey, List<CoalescedPollTask>> polls = new HashMap<>();
+    private final Map<PollKey, List<MergedPoll>> mergedPolls = new HashMap<>();
+
+    /**
+     * @param delegate communication interface performing the requests
+     * @param maxGap maximum number of unpolled registers or bits between two merged polls
+     * @param maxRegisters maximum number of registers read at once
+     */
+    public CoalescingCommunicationInterface(ModbusCommunicationInterface delegate, int maxGap, int maxRegisters) {
+        this.delegate = delegate;
+        this.maxGap = Math.max(0, maxGap);
+        this.maxRegisters = Math.max(1, Math.min(ModbusConstants.MAX_REGISTERS_READ_COUNT, maxRegisters));
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return delegate.getEndpoint();
+    }
+
+    @Override
+    public Future<?> submitOneTimePoll(ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        return delegate.submitOneTimePoll(request, resultCallback, failureCallback);
+    }
+
+    @Override
+    public synchronized PollTask registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            long initialDelayMillis, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        CoalescedPollTask task = new CoalescedPollTask(request, resultCallback, failureCallback);
+        PollKey key = new PollKey(request.getUnitID(), request.getFunctionCode(), pollPeriodMillis);
+        polls.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        regroup(key, task, initialDelayMillis);
+        return task;
+    }
+
+    @Override
+    public synchronized boolean unregisterRegularPoll(PollTask task) {
+        for (Map.Entry<PollKey, List<CoalescedPollTask>> entry : polls.entrySet()) {
+            if (entry.getValue().remove(task)) {
+                PollKey key = entry.getKey();
+                regroup(key, null, key.pollPeriodMillis());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Future<?> submitOneTimeWrite(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
+            ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+        return delegate.submitOneTimeWrite(request, resultCallback, failureCallback);
+    }
+
+    @Override
+    public void close() throws Exception {
+        synchronized (this) {
+            mergedPolls.values().forEach(merged -> merged.forEach(MergedPoll::unregister));
+            mergedPolls.clear();
+            polls.clear();
+        }
+        delegate.close();
+    }
+
+    /**
+     * Update the merged reads of the polls with the given key, keeping the merged reads which did not change
+     *
+     * @param key key of the polls
+     * @param added poll which was just registered, or <code>null</code>
+     * @param initialDelayMillis initial delay of the merged reads which changed, if a poll was added only of the
+     *            merged read containing it
+     */
+    private void regroup(PollKey key, @Nullable CoalescedPollTask added, long initialDelayMillis) {
+        List<CoalescedPollTask> tasks = polls.getOrDefault(key, List.of());
+        List<MergedPoll> stale = new ArrayList<>(mergedPolls.getOrDefault(key, List.of()));
+        List<MergedPoll> current = new ArrayList<>();
+        List<MergedPoll> changed = new ArrayList<>();
+        for (List<CoalescedPollTask> members : merge(tasks, key.functionCode())) {
+            @Nullable
+            MergedPoll existing = stale.stream().filter(merged -> merged.members.equals(members)).findFirst()
+                    .orElse(null);
+            if (existing != null) {
+                stale.remove(existing);
+                current.add(existing);
+            } else {
+                MergedPoll merged = new MergedPoll(key, members);
+                current.add(merged);
+                changed.add(merged);
+            }
+        }
+        // stop the previous reads first to avoid polling the same data twice
+        stale.forEach(MergedPoll::unregister);
+        changed.forEach(merged -> merged.register(key.pollPeriodMillis(),
+                added == null || merged.members.contains(added) ? initialDelayMillis : key.pollPeriodMillis()));
+
+        if (tasks.isEmpty()) {
+            polls.remove(key);
+            mergedPolls.remove(key);
+        } else {
+            mergedPolls.put(key, current);
+            logger.debug("Polling {} regular polls of {} with {} reads", tasks.size(), key, current.size());
+        }
+    }
+
+    /**
+     * Split the polls to groups which are read at once
+     *
+     * @param tasks the polls
+     * @param functionCode function code of the polls
+     * @return groups of polls, in the order of their addresses
+     */
+    private List<List<CoalescedPollTask>> merge(List<CoalescedPollTask> tasks, ModbusReadFunctionCode functionCode) {
+        int maxLength = switch (functionCode) {
+            case READ_COILS, READ_INPUT_DISCRETES -> ModbusConstants.MAX_BITS_READ_COUNT;
+            default -> maxRegisters;
+        };
+        List<CoalescedPollTask> sorted = new ArrayList<>(tasks);
+        sorted.sort(REFERENCE_ORDER);
+
+        List<List<CoalescedPollTask>> groups = new ArrayList<>();
+        @Nullable
+        List<CoalescedPollTask> group = null;
+        int start = 0;
+        int end = 0;
+        for (CoalescedPollTask task : sorted) {
+            int taskStart = task.getRequest().getReference();
+            int taskEnd = taskStart + task.getRequest().getDataLength();
+            if (task.standalone) {
+                groups.add(List.of(task));
+            } else if (group != null && taskStart <= end + maxGap && Math.max(end, taskEnd) - start <= maxLength) {
+                group.add(task);
+                end = Math.max(end, taskEnd);
+            } else {
+                group = new ArrayList<>();
+                group.add(task);
+                groups.add(group);
+                start = taskStart;
+                end = taskEnd;
+            }
+        }
+        return groups;
+    }
+
+    private synchronized void split(MergedPoll merged) {
+        if (!mergedPolls.getOrDefault(merged.key, List.of()).contains(merged)) {
+            // already replaced
+            return;
+        }
+        merged.members.forEach(task -> task.standalone = true);
+        regroup(merged.key, null, 0);
+    }
+
+    /**
+     * Regular poll as registered by the caller
+     */
+    private class CoalescedPollTask implements PollTask {
+
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        private volatile boolean standalone;
+
+        CoalescedPollTask(ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        @Override
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        @Override
+        public ModbusSlaveEndpoint getEndpoint() {
+            return delegate.getEndpoint();
+        }
+
+        @Override
+        public ModbusReadCallback getResultCallback() {
+            return resultCallback;
+        }
+
+        @Override
+        public ModbusFailureCallback<ModbusReadRequestBlueprint> getFailureCallback() {
+            return failureCallback;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CoalescedPollTask(request=%s)", request);
+        }
+    }
+
+    /**
+     * Read registered with the wrapped communication interface, delegating its results to the merged polls
+     */
+    private class MergedPoll implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+
+        private final PollKey key;
+        private final List<CoalescedPollTask> members;
+        private final ModbusReadRequestBlueprint request;
+        private @Nullable PollTask task;
+
+        MergedPoll(PollKey key, List<CoalescedPollTask> members) {
+            this.key = key;
+            this.members = List.copyOf(members);
+            if (members.size() == 1) {
+                request = members.get(0).getRequest();
+            } else {
+                int start = members.get(0).getRequest().getReference();
+                int end = members.stream()
+                        .mapToInt(member -> member.getRequest().getReference() + member.getRequest().getDataLength())
+                        .max().orElse(start);
+                int maxTries = members.stream().mapToInt(member -> member.getRequest().getMaxTries()).max().orElse(1);
+                request = new ModbusReadRequestBlueprint(key.unitId(), key.functionCode(), start, end - start,
+                        maxTries);
+            }
+        }
+
+        void register(long pollPeriodMillis, long initialDelayMillis) {
+            if (members.size() == 1) {
+                // nothing to merge, the results are passed directly
+                CoalescedPollTask member = members.get(0);
+                task = delegate.registerRegularPoll(request, pollPeriodMillis, initialDelayMillis,
+                        member.getResultCallback(), member.getFailureCallback());
+            } else {
+                logger.debug("Merging {} regular polls to {}", members.size(), request);
+                task = delegate.registerRegularPoll(request, pollPeriodMillis, initialDelayMillis, this, this);
+            }
+        }
+
+        void unregister() {
+            PollTask localTask = task;
+            if (localTask != null) {
+                delegate.unregisterRegularPoll(localTask);
+            }
+            task = null;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            int start = request.getReference();
+            result.getRegisters().ifPresent(registers -> {
+                byte[] bytes = registers.getBytes();
+                for (CoalescedPollTask member : members) {
+                    ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                    int offset = memberRequest.getReference() - start;
+                    ModbusRegisterArray slice = new ModbusRegisterArray(Arrays.copyOfRange(bytes, offset * 2,
+                            (offset + memberRequest.getDataLength()) * 2));
+                    notifyResult(member, new AsyncModbusReadResult(memberRequest, slice));
+                }
+            });
+            result.getBits().ifPresent(bits -> {
+                for (CoalescedPollTask member : members) {
+                    ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                    int offset = memberRequest.getReference() - start;
+                    boolean[] slice = new boolean[memberRequest.getDataLength()];
+                    for (int i = 0; i < slice.length; i++) {
+                        slice[i] = bits.getBit(offset + i);
+                    }
+                    notifyResult(member, new AsyncModbusReadResult(memberRequest, new BitArray(slice)));
+                }
+            });
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            Exception cause = failure.getCause();
+            if (cause instanceof ModbusSlaveErrorResponseException errorResponse
+                    && isRejectedRange(errorResponse.getExceptionCode())) {
+                logger.debug("Slave rejected merged read {} ({}), reading its {} polls separately", request,
+                        cause.getMessage(), members.size());
+                split(this);
+                return;
+            }
+            for (CoalescedPollTask member : members) {
+                try {
+                    member.getFailureCallback().handle(new AsyncModbusFailure<>(member.getRequest(), cause));
+                } catch (RuntimeException e) {
+                    logger.warn("Error handling failure of {}", member.getRequest(), e);
+                }
+            }
+        }
+
+        /**
+         * Only addresses or lengths the slave does not support are caused by the merging, all other errors would
+         * have occurred for separate reads as well.
+         */
+        private boolean isRejectedRange(int exceptionCode) {
+            return exceptionCode == ModbusSlaveErrorResponseException.ILLEGAL_DATA_ACCESS
+                    || exceptionCode == ModbusSlaveErrorResponseException.ILLEGAL_DATA_VALUE;
+        }
+
+        private void notifyResult(CoalescedPollTask member, AsyncModbusReadResult result) {
+            try {
+                member.getResultCallback().handle(result);
+            } catch (RuntimeException e) {
+                logger.warn("Error handling result of {}", member.getRequest(), e);
+            }
+        }
+    }
+}
@@ -33,6 +33,9 @@ public class ModbusTcpConfiguration {
     private int afterConnectionDelayMillis;
     private int connectTimeoutMillis = 10_000;
     private boolean enableDiscovery;
+    private boolean coalescePolls;
+    private int coalesceMaxGap;
+    private int maxRegistersPerRead = 125;
     private boolean rtuEncoded;
 
     public boolean getRtuEncoded() {
@@ -118,4 +121,28 @@ public class ModbusTcpConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isCoalescePolls() {
+        return coalescePolls;
+    }
+
+    public void setCoalescePolls(boolean coalescePolls) {
+        this.coalescePolls = coalescePolls;
+    }
+
+    public int getCoalesceMaxGap() {
+        return coalesceMaxGap;
+    }
+
+    public void setCoalesceMaxGap(int coalesceMaxGap) {
+        this.coalesceMaxGap = coalesceMaxGap;
+    }
+
+    public int getMaxRegistersPerRead() {
+        return maxRegistersPerRead;
+    }
+
+    public void setMaxRegistersPerRead(int maxRegistersPerRead) {
+        this.maxRegistersPerRead = maxRegistersPerRead;
+    }
 }
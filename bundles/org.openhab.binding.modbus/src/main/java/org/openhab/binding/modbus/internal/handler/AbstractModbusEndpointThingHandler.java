@@ -16,8 +16,10 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
+import org.openhab.binding.modbus.internal.CoalescingCommunicationInterface;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.core.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
@@ -46,6 +48,9 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile @Nullable E endpoint;
     protected ModbusManager modbusManager;
     protected volatile @NonNullByDefault({}) EndpointPoolConfiguration poolConfiguration;
+    protected volatile boolean coalescePolls;
+    protected volatile int coalesceMaxGap;
+    protected volatile int maxRegistersPerRead = ModbusConstants.MAX_REGISTERS_READ_COUNT;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
 
@@ -75,7 +80,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                     throw new IllegalStateException("endpoint null after configuration!");
                 }
                 try {
-                    comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    ModbusCommunicationInterface localComms = modbusManager.newModbusCommunicationInterface(endpoint,
+                            poolConfiguration);
+                    comms = coalescePolls
+                            ? new CoalescingCommunicationInterface(localComms, coalesceMaxGap, maxRegistersPerRead)
+                            : localComms;
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -119,7 +128,8 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     public abstract int getSlaveId() throws EndpointNotInitializedException;
 
     /**
-     * Must be overriden by subclasses to initialize config, endpoint, and poolConfiguration
+     * Must be overriden by subclasses to initialize config, endpoint, and poolConfiguration. Subclasses may also
+     * configure the coalescing of regular polls.
      */
     protected abstract void configure() throws ModbusConfigurationException;
 
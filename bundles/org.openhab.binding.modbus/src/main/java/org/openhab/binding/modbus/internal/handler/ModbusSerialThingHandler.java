@@ -72,6 +72,10 @@ public class ModbusSerialThingHandler
 
         endpoint = new ModbusSerialSlaveEndpoint(port, baud, flowControlIn, flowControlOut, config.getDataBits(),
                 stopBits, parity, encoding, config.isEcho(), config.getReceiveTimeoutMillis());
+
+        coalescePolls = config.isCoalescePolls();
+        coalesceMaxGap = config.getCoalesceMaxGap();
+        maxRegistersPerRead = config.getMaxRegistersPerRead();
     }
 
     /**
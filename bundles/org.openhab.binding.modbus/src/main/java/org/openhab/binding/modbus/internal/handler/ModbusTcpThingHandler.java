@@ -61,6 +61,10 @@ public class ModbusTcpThingHandler
         poolConfiguration.setInterConnectDelayMillis(config.getTimeBetweenReconnectMillis());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
         poolConfiguration.setReconnectAfterMillis(config.getReconnectAfterMillis());
+
+        coalescePolls = config.isCoalescePolls();
+        coalesceMaxGap = config.getCoalesceMaxGap();
+        maxRegistersPerRead = config.getMaxRegistersPerRead();
     }
 
     @SuppressWarnings("null") // since Optional.map is always called with NonNull argument
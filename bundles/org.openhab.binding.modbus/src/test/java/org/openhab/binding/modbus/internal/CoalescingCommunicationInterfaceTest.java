@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.openhab.core.io.transport.modbus.exception.ModbusSlaveErrorResponseException;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescingCommunicationInterfaceTest {
+
+    private static final long POLL_PERIOD = 1000;
+
+    private record Registration(ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+    }
+
+    private final ModbusCommunicationInterface delegate = mock(ModbusCommunicationInterface.class);
+    // the regular polls currently registered with the delegate
+    private final Map<PollTask, Registration> registered = new LinkedHashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        when(delegate.registerRegularPoll(any(), anyLong(), anyLong(), any(), any())).thenAnswer(invocation -> {
+            PollTask task = mock(PollTask.class);
+            registered.put(task, new Registration(invocation.getArgument(0), invocation.getArgument(3),
+                    invocation.getArgument(4)));
+            return task;
+        });
+        when(delegate.unregisterRegularPoll(any()))
+                .thenAnswer(invocation -> registered.remove(invocation.getArgument(0)) != null);
+    }
+
+    private static ModbusReadRequestBlueprint request(ModbusReadFunctionCode functionCode, int start, int length) {
+        return new ModbusReadRequestBlueprint(1, functionCode, start, length, 3);
+    }
+
+    private static ModbusReadRequestBlueprint registers(int start, int length) {
+        return request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback() {
+        return mock(ModbusFailureCallback.class);
+    }
+
+    private List<ModbusReadRequestBlueprint> registeredRequests() {
+        return registered.values().stream().map(Registration::request).toList();
+    }
+
+    private Registration registration(int start) {
+        return registered.values().stream().filter(r -> r.request().getReference() == start).findFirst()
+                .orElseThrow();
+    }
+
+    private static AsyncModbusReadResult lastResult(ModbusReadCallback callback) {
+        ArgumentCaptor<AsyncModbusReadResult> captor = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(callback).handle(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testPollsCloseToEachOtherAreMerged() {
+        CoalescingCommunicationInterface comms = new CoalescingCommunicationInterface(delegate, 2, 125);
+        ModbusReadCallback first = mock(ModbusReadCallback.class);
+        ModbusReadCallback second = mock(ModbusReadCallback.class);
+        ModbusReadCallback third = mock(ModbusReadCallback.class);
+        comms.registerRegularPoll(registers(0, 10), POLL_PERIOD, 0, first, failureCallback());
+        comms.registerRegularPoll(registers(17, 3), POLL_PERIOD, 0, third, failureCallback());
+        comms.registerRegularPoll(registers(10, 5), POLL_PERIOD, 0, second, failureCallback());
+        // too far away
+        comms.registerRegularPoll(registers(30, 1), POLL_PERIOD, 0, mock(ModbusReadCallback.class),
+                failureCallback());
+        // different poll period
+        comms.registerRegularPoll(registers(20, 1), 2 * POLL_PERIOD, 0, mock(ModbusReadCallback.class),
+                failureCallback());
+
+        assertEquals(List.of(registers(0, 20), registers(30, 1), registers(20, 1)), registeredRequests());
+
+        byte[] bytes = new byte[40];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        registration(0).resultCallback().handle(new AsyncModbusReadResult(registers(0, 20),
+                new ModbusRegisterArray(bytes)));
+
+        AsyncModbusReadResult secondResult = lastResult(second);
+        assertEquals(registers(10, 5), secondResult.getRequest());
+        ModbusRegisterArray secondRegisters = secondResult.getRegisters().orElseThrow();
+        assertEquals(5, secondRegisters.size());
+        assertEquals(20, secondRegisters.getBytes()[0]);
+        assertEquals(3, lastResult(third).getRegisters().orElseThrow().size());
+        assertEquals(34, lastResult(third).getRegisters().orElseThrow().getBytes()[0]);
+        assertEquals(registers(0, 10), lastResult(first).getRequest());
+    }
+
+    @Test
+    public void testMergedReadDoesNotExceedMaximumLength() {
+        CoalescingCommunicationInterface comms = new CoalescingCommunicationInterface(delegate, 0, 10);
+        comms.registerRegularPoll(registers(0, 6), POLL_PERIOD, 0, mock(ModbusReadCallback.class), failureCallback());
+        comms.registerRegularPoll(registers(6, 4), POLL_PERIOD, 0, mock(ModbusReadCallback.class), failureCallback());
+        comms.registerRegularPoll(registers(10, 4), POLL_PERIOD, 0, mock(ModbusReadCallback.class),
+                failureCallback());
+
+        assertEquals(List.of(registers(0, 10), registers(10, 4)), registeredRequests());
+    }
+
+    @Test
+    public void testBitsAreSliced() {
+        CoalescingCommunicationInterface comms = new CoalescingCommunicationInterface(delegate, 0, 125);
+        ModbusReadCallback first = mock(ModbusReadCallback.class);
+        ModbusReadCallback second = mock(ModbusReadCallback.class);
+        comms.registerRegularPoll(request(ModbusReadFunctionCode.READ_COILS, 0, 2), POLL_PERIOD, 0, first,
+                failureCallback());
+        comms.registerRegularPoll(request(ModbusReadFunctionCode.READ_COILS, 2, 3), POLL_PERIOD, 0, second,
+                failureCallback());
+        assertEquals(List.of(request(ModbusReadFunctionCode.READ_COILS, 0, 5)), registeredRequests());
+
+        registration(0).resultCallback().handle(new AsyncModbusReadResult(
+                request(ModbusReadFunctionCode.READ_COILS, 0, 5), new BitArray(true, false, false, true, true)));
+
+        BitArray bits = lastResult(second).getBits().orElseThrow();
+        assertEquals(3, bits.size());
+        assertFalse(bits.getBit(0));
+        assertTrue(bits.getBit(1));
+        assertTrue(bits.getBit(2));
+        assertEquals(2, lastResult(first).getBits().orElseThrow().size());
+    }
+
+    @Test
+    public void testUnregisteredPollIsNoLongerRead() {
+        CoalescingCommunicationInterface comms = new CoalescingCommunicationInterface(delegate, 0, 125);
+        PollTask first = comms.registerRegularPoll(registers(0, 2), POLL_PERIOD, 0, mock(ModbusReadCallback.class),
+                failureCallback());
+        PollTask second = comms.registerRegularPoll(registers(2, 2), POLL_PERIOD, 0, mock(ModbusReadCallback.class),
+                failureCallback());
+        assertEquals(List.of(registers(0, 4)), registeredRequests());
+
+        assertTrue(comms.unregisterRegularPoll(first));
+        assertEquals(List.of(registers(2, 2)), registeredRequests());
+        assertFalse(comms.unregisterRegularPoll(first));
+        assertTrue(comms.unregisterRegularPoll(second));
+        assertTrue(registered.isEmpty());
+    }
+
+    private static ModbusSlaveErrorResponseException errorResponse(int exceptionCode) {
+        ModbusSlaveErrorResponseException exception = mock(ModbusSlaveErrorResponseException.class);
+        when(exception.getExceptionCode()).thenReturn(exceptionCode);
+        return exception;
+    }
+
+    @Test
+    public void testRejectedMergedReadIsSplit() {
+        CoalescingCommunicationInterface comms = new CoalescingCommunicationInterface(delegate, 5, 125);
+        ModbusReadCallback first = mock(ModbusReadCallback.class);
+        ModbusFailureCallback<ModbusReadRequestBlueprint> firstFailure = failureCallback();
+        comms.registerRegularPoll(registers(0, 2), POLL_PERIOD, 500, first, firstFailure);
+        comms.registerRegularPoll(registers(4, 2), POLL_PERIOD, 500, mock(ModbusReadCallback.class),
+                failureCallback());
+        assertEquals(List.of(registers(0, 6)), registeredRequests());
+
+        registration(0).failureCallback().handle(new AsyncModbusFailure<>(registers(0, 6),
+                errorResponse(ModbusSlaveErrorResponseException.ILLEGAL_DATA_ACCESS)));
+
+        assertEquals(List.of(registers(0, 2), registers(4, 2)), registeredRequests());
+        // the polls are passed as registered and read right away
+        assertSame(first, registration(0).resultCallback());
+        assertSame(firstFailure, registration(0).failureCallback());
+        verify(delegate).registerRegularPoll(eq(registers(4, 2)), eq(POLL_PERIOD), eq(0L), any(), any());
+        verifyNoInteractions(firstFailure);
+    }
+
+    @Test
+    public void testOtherFailuresArePassedToThePolls() {
+        CoalescingCommunicationInterface comms = new CoalescingCommunicationInterface(delegate, 5, 125);
+        ModbusFailureCallback<ModbusReadRequestBlueprint> firstFailure = failureCallback();
+        ModbusFailureCallback<ModbusReadRequestBlueprint> secondFailure = failureCallback();
+        comms.registerRegularPoll(registers(0, 2), POLL_PERIOD, 0, mock(ModbusReadCallback.class), firstFailure);
+        comms.registerRegularPoll(registers(4, 2), POLL_PERIOD, 0, mock(ModbusReadCallback.class), secondFailure);
+
+        // slave device busy
+        ModbusSlaveErrorResponseException busy = errorResponse(0x06);
+        registration(0).failureCallback().handle(new AsyncModbusFailure<>(registers(0, 6), busy));
+
+        // still merged
+        assertEquals(List.of(registers(0, 6)), registeredRequests());
+        ArgumentCaptor<AsyncModbusFailure<ModbusReadRequestBlueprint>> captor = failureCaptor();
+        verify(firstFailure).handle(captor.capture());
+        assertEquals(registers(0, 2), captor.getValue().getRequest());
+        assertSame(busy, captor.getValue().getCause());
+        verify(secondFailure).handle(captor.capture());
+        assertEquals(registers(4, 2), captor.getValue().getRequest());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ArgumentCaptor<AsyncModbusFailure<ModbusReadRequestBlueprint>> failureCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(AsyncModbusFailure.class);
+    }
+}
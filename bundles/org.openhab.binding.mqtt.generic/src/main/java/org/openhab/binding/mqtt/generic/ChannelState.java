@@ -12,7 +12,6 @@
  */
 package org.openhab.binding.mqtt.generic;
 
-import java.nio.charset.StandardCharsets;
 import java.util.IllegalFormatException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -22,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.PayloadDecoder;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
@@ -47,6 +47,9 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class ChannelState implements MqttMessageSubscriber {
+    // shared by all channels, so channels subscribed to the same topic decode a message only once
+    private static final PayloadDecoder PAYLOAD_DECODER = new PayloadDecoder();
+
     private final Logger logger = LoggerFactory.getLogger(ChannelState.class);
 
     // Immutable channel configuration
@@ -109,6 +112,14 @@ public class ChannelState implements MqttMessageSubscriber {
                 : outgoingTransformation;
     }
 
+    /**
+     * Returns the decoder shared by all channels. Incoming transformations can keep a conversion of the payload with
+     * it, so channels sharing a topic convert a message only once.
+     */
+    public static PayloadDecoder getPayloadDecoder() {
+        return PAYLOAD_DECODER;
+    }
+
     public boolean isReadOnly() {
         return this.readOnly;
     }
@@ -159,7 +170,7 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
+        String strValue = PAYLOAD_DECODER.decode(topic, payload);
         if (incomingTransformation.isPresent()) {
             Optional<String> transformedValue = incomingTransformation.apply(strValue);
             if (transformedValue.isEmpty()) {
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Decodes MQTT payloads to strings, remembering the last decoded message.
+ *
+ * The broker connection hands a received message to all subscribers of its topic one after the other. All channels
+ * sharing a state topic therefore get the same decoded string instance, which also lets the transformation services
+ * recognize an already parsed document by a cheap identity comparison. A conversion of the decoded message, e.g. the
+ * parsed JSON for the templates of these channels, is kept together with it by {@link #convert(String, Function)}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PayloadDecoder {
+
+    private record Decoded(String topic, byte[] payload, String value, @Nullable Converted converted) {
+    }
+
+    private record Converted(Function<String, ?> converter, @Nullable Object value) {
+    }
+
+    private final AtomicReference<@Nullable Decoded> last = new AtomicReference<>();
+
+    /**
+     * Decodes a UTF-8 payload.
+     *
+     * @param topic The topic the payload was received on
+     * @param payload The payload
+     * @return The decoded payload, the same instance as for the previous call if topic and payload are equal
+     */
+    public String decode(String topic, byte[] payload) {
+        Decoded decoded = last.get();
+        if (decoded != null && decoded.topic.equals(topic)
+                && (decoded.payload == payload || Arrays.equals(decoded.payload, payload))) {
+            return decoded.value;
+        }
+        decoded = new Decoded(topic, payload, new String(payload, StandardCharsets.UTF_8), null);
+        last.set(decoded);
+        return decoded.value;
+    }
+
+    /**
+     * Converts a decoded payload. If the value is the last decoded message, the result is kept with it and returned
+     * to later calls with the same converter instead of converting again. It is therefore shared by all channels of
+     * the topic and must not be modified.
+     *
+     * @param value The decoded payload
+     * @param converter The conversion, it has to be the same instance for every call to reuse its result
+     * @return The converted payload
+     */
+    public @Nullable Object convert(String value, Function<String, @Nullable Object> converter) {
+        Decoded decoded = last.get();
+        if (decoded == null || decoded.value != value) {
+            return converter.apply(value);
+        }
+        Converted converted = decoded.converted;
+        if (converted != null && converted.converter == converter) {
+            return converted.value;
+        }
+        Object result = converter.apply(value);
+        // not kept if another message has been decoded in the meantime
+        last.compareAndSet(decoded,
+                new Decoded(decoded.topic, decoded.payload, decoded.value, new Converted(converter, result)));
+        return result;
+    }
+}
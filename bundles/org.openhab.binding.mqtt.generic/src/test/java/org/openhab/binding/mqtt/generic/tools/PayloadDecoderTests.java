@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link PayloadDecoder}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PayloadDecoderTests {
+
+    @Test
+    public void sameMessageIsDecodedOnce() {
+        PayloadDecoder decoder = new PayloadDecoder();
+        byte[] payload = "{\"temperature\":21.5}".getBytes(StandardCharsets.UTF_8);
+
+        String first = decoder.decode("zigbee2mqtt/device", payload);
+        assertEquals("{\"temperature\":21.5}", first);
+        assertSame(first, decoder.decode("zigbee2mqtt/device", payload));
+        assertSame(first, decoder.decode("zigbee2mqtt/device", payload.clone()));
+    }
+
+    @Test
+    public void otherMessagesAreDecoded() {
+        PayloadDecoder decoder = new PayloadDecoder();
+        byte[] payload = "ON".getBytes(StandardCharsets.UTF_8);
+
+        decoder.decode("light/state", payload);
+        assertEquals("ON", decoder.decode("switch/state", payload));
+        assertEquals("OFF", decoder.decode("switch/state", "OFF".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("ÄÖÜ", decoder.decode("switch/state", "ÄÖÜ".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void conversionOfTheLastMessageIsShared() {
+        PayloadDecoder decoder = new PayloadDecoder();
+        AtomicInteger conversions = new AtomicInteger();
+        Function<String, @Nullable Object> converter = value -> value + conversions.incrementAndGet();
+        byte[] payload = "{\"temperature\":21.5}".getBytes(StandardCharsets.UTF_8);
+
+        String value = decoder.decode("zigbee2mqtt/device", payload);
+        assertEquals(value + "1", decoder.convert(value, converter));
+        assertEquals(value + "1", decoder.convert(decoder.decode("zigbee2mqtt/device", payload), converter));
+
+        // another conversion replaces the kept one
+        assertEquals(value + "2", decoder.convert(value, v -> v + conversions.incrementAndGet()));
+        assertEquals(value + "3", decoder.convert(value, converter));
+        assertEquals(value + "3", decoder.convert(value, converter));
+
+        // values which are not the last decoded message are converted on every call
+        String other = new String(value);
+        assertEquals(value + "4", decoder.convert(other, converter));
+        assertEquals(value + "5", decoder.convert(other, converter));
+
+        String next = decoder.decode("zigbee2mqtt/device", "{}".getBytes(StandardCharsets.UTF_8));
+        assertEquals("{}6", decoder.convert(next, converter));
+    }
+}
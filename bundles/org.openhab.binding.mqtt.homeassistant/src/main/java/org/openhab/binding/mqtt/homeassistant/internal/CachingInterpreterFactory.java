@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.InterpreterFactory;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.tree.Node;
+
+/**
+ * The {@link CachingInterpreterFactory} creates interpreters which keep the parsed node tree of every template, so a
+ * template is only parsed on its first rendering. Templates with parse errors are not cached, so their errors are
+ * reported on every rendering. The hits and misses of the cache are logged at debug level whenever a template is
+ * parsed, so the rendering of cached templates is not slowed down by logging.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachingInterpreterFactory implements InterpreterFactory {
+
+    private static final int TEMPLATE_CACHE_SIZE = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(CachingInterpreterFactory.class);
+
+    private final Map<String, Node> templateCache = Collections.synchronizedMap(new LRUMap<>(TEMPLATE_CACHE_SIZE));
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Override
+    public JinjavaInterpreter newInstance(JinjavaInterpreter orig) {
+        return new CachingInterpreter(orig);
+    }
+
+    @Override
+    public JinjavaInterpreter newInstance(Jinjava application, Context context, JinjavaConfig renderConfig) {
+        return new CachingInterpreter(application, context, renderConfig);
+    }
+
+    /**
+     * @return the number of renderings which used a cached template
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of renderings which had to parse their template
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private class CachingInterpreter extends JinjavaInterpreter {
+
+        CachingInterpreter(JinjavaInterpreter orig) {
+            super(orig);
+        }
+
+        CachingInterpreter(Jinjava application, Context context, JinjavaConfig renderConfig) {
+            super(application, context, renderConfig);
+        }
+
+        @Override
+        public Node parse(String template) {
+            Node root = templateCache.get(template);
+            if (root != null) {
+                hits.increment();
+                return root;
+            }
+            misses.increment();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Parsing uncached template, template cache hits={} misses={} size={}", hits.sum(),
+                        misses.sum(), templateCache.size());
+            }
+            int errorCount = getErrorsCopy().size();
+            root = super.parse(template);
+            if (getErrorsCopy().size() == errorCount) {
+                templateCache.put(template, root);
+            }
+            return root;
+        }
+    }
+
+    private static class LRUMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        public LRUMap(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<K, V> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
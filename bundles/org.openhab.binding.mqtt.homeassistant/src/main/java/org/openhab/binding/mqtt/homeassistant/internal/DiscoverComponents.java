@@ -73,6 +73,18 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         void componentDiscovered(HaID homeAssistantTopicID, AbstractComponent<?> component);
 
         void componentRemoved(HaID homeAssistantTopicID);
+
+        /**
+         * Tells whether a component with the given configuration is already known, so that it does not need to be
+         * parsed and created again.
+         *
+         * @param homeAssistantTopicID The component
+         * @param configHash The hash code of the configuration string
+         * @return <code>true</code> if the component is known with this configuration
+         */
+        default boolean isComponentConfigKnown(HaID homeAssistantTopicID, int configHash) {
+            return false;
+        }
     }
 
     /**
@@ -106,6 +118,12 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         AbstractComponent<?> component = null;
 
         if (config.length() > 0) {
+            ComponentDiscovered discoveredListener = this.discoveredListener;
+            if (discoveredListener != null && discoveredListener.isComponentConfigKnown(haID, config.hashCode())) {
+                // retained configurations are received again on every reconnect
+                logger.trace("Skipping unchanged HomeAssistant component {}", haID);
+                return;
+            }
             try {
                 component = ComponentFactory.createComponent(thingUID, haID, config, updateListener, linkageChecker,
                         tracker, scheduler, gson, jinjava, unitProvider);
@@ -14,15 +14,18 @@ package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.ChannelState;
 import org.openhab.binding.mqtt.homeassistant.internal.component.AbstractComponent;
 import org.openhab.core.thing.binding.generic.ChannelTransformation;
 import org.slf4j.Logger;
@@ -50,12 +53,17 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         }
     }
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // returned by the JSON conversion for payloads which are no JSON
+    private static final Object NO_JSON = new Object();
+    // the same instance for all channels, so the converted payload is shared by the channels of a state topic
+    private static final Function<String, @Nullable Object> JSON_CONVERTER = HomeAssistantChannelTransformation::toJson;
+
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantChannelTransformation.class);
 
     private final Jinjava jinjava;
     private final AbstractComponent<?> component;
     private final String template;
-    private final ObjectMapper objectMapper = new ObjectMapper();
 
     public HomeAssistantChannelTransformation(Jinjava jinjava, AbstractComponent<?> component, String template) {
         super((String) null);
@@ -81,11 +89,12 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
 
         bindings.put("value", value);
 
-        try {
-            JsonNode tree = objectMapper.readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        // converting the JSON is only needed if the template refers to it
+        if (template.contains("value_json")) {
+            Object json = ChannelState.getPayloadDecoder().convert(value, JSON_CONVERTER);
+            if (json != NO_JSON) {
+                bindings.put("value_json", json);
+            }
         }
 
         return apply(template, bindings);
@@ -116,6 +125,15 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         return Optional.of(transformationResult);
     }
 
+    private static @Nullable Object toJson(String value) {
+        try {
+            return toObject(OBJECT_MAPPER.readTree(value));
+        } catch (IOException e) {
+            // ok, then value_json is null...
+            return NO_JSON;
+        }
+    }
+
     private static @Nullable Object toObject(JsonNode node) {
         switch (node.getNodeType()) {
             case ARRAY: {
@@ -123,7 +141,7 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
                 for (JsonNode el : node) {
                     result.add(toObject(el));
                 }
-                return result;
+                return Collections.unmodifiableList(result);
             }
             case NUMBER:
                 return node.decimalValue();
@@ -134,7 +152,7 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
                     Entry<String, JsonNode> field = it.next();
                     result.put(field.getKey(), toObject(field.getValue()));
                 }
-                return result;
+                return Collections.unmodifiableMap(result);
             }
             case STRING:
                 return node.asText();
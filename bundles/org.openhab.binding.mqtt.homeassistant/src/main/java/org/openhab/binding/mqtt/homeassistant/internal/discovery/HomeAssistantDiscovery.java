@@ -25,6 +25,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -74,9 +75,15 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     private HomeAssistantConfiguration configuration;
     protected final Map<String, Set<HaID>> componentsPerThingID = new HashMap<>();
     protected final Map<String, ThingUID> thingIDPerTopic = new HashMap<>();
-    protected final Map<String, DiscoveryResult> results = new HashMap<>();
+    protected final Map<String, Integer> configHashPerTopic = new HashMap<>();
+    // things with new or changed components, their results are built once per thing when publishing
+    protected final Map<String, PendingResult> results = new HashMap<>();
     protected final Map<String, DiscoveryResult> allResults = new HashMap<>();
 
+    private final LongAdder parsedConfigs = new LongAdder();
+    private final LongAdder unchangedConfigs = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+
     private @Nullable ScheduledFuture<?> future;
     private final Gson gson;
 
@@ -84,6 +91,10 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     static final String BIRTH_TOPIC = "homeassistant/status";
     static final String ONLINE_STATUS = "online";
 
+    protected record PendingResult(String thingID, ThingUID thingUID, String thingName, String baseTopic,
+            Map<String, Object> properties, ThingUID bridgeUID) {
+    }
+
     @NonNullByDefault({})
     protected MqttChannelTypeProvider typeProvider;
 
@@ -149,22 +160,43 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
         // easily recognize object capabilities.
         HaID haID = new HaID(topic);
+        String configJSON = new String(payload, StandardCharsets.UTF_8);
+        int configHash = configJSON.hashCode();
+
+        synchronized (results) {
+            // retained configurations are received again on every subscription, only parse changed ones
+            ThingUID knownThingUID = thingIDPerTopic.get(topic);
+            DiscoveryResult known = knownThingUID == null ? null : allResults.get(knownThingUID.toString());
+            Integer knownHash = configHashPerTopic.get(topic);
+            if (knownThingUID != null && known != null && knownHash != null && knownHash == configHash) {
+                unchangedConfigs.increment();
+                results.computeIfAbsent(knownThingUID.toString(),
+                        key -> new PendingResult(knownThingUID.getId(), knownThingUID, known.getLabel(),
+                                haID.baseTopic, new HashMap<>(known.getProperties()), bridgeUID));
+                return;
+            }
+        }
 
         try {
-            AbstractChannelConfiguration config = AbstractChannelConfiguration
-                    .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+            long start = System.nanoTime();
+            AbstractChannelConfiguration config = AbstractChannelConfiguration.fromString(configJSON, gson);
+            parseNanos.add(System.nanoTime() - start);
+            parsedConfigs.increment();
 
             final String thingID = config.getThingId(haID.objectID);
             final ThingUID thingUID = new ThingUID(MqttBindingConstants.HOMEASSISTANT_MQTT_THING, bridgeUID, thingID);
 
+            Map<String, Object> properties = new HashMap<>();
+            properties = config.appendToProperties(properties);
+            properties.put("deviceId", thingID);
+
             synchronized (results) {
                 thingIDPerTopic.put(topic, thingUID);
-
-                Map<String, Object> properties = new HashMap<>();
-                properties = config.appendToProperties(properties);
-                properties.put("deviceId", thingID);
-
-                buildResult(thingID, thingUID, config.getThingName(), haID, properties, bridgeUID);
+                configHashPerTopic.put(topic, configHash);
+                // Invariant. For compiler, computeIfAbsent always returns non-null
+                Objects.requireNonNull(componentsPerThingID.computeIfAbsent(thingID, key -> new HashSet<>())).add(haID);
+                results.put(thingUID.toString(), new PendingResult(thingID, thingUID, config.getThingName(),
+                        haID.baseTopic, properties, bridgeUID));
             }
         } catch (ConfigurationException e) {
             logger.warn("HomeAssistant discover error: invalid configuration of thing {} component {}: {}",
@@ -204,46 +236,63 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
     }
 
-    private void buildResult(String thingID, ThingUID thingUID, String thingName, HaID haID,
-            Map<String, Object> properties, ThingUID bridgeUID) {
-        // We need to keep track of already found component topics for a specific thing
-        final List<HaID> components;
-        {
-            Set<HaID> componentsUnordered = componentsPerThingID.computeIfAbsent(thingID, key -> new HashSet<>());
-
-            // Invariant. For compiler, computeIfAbsent above returns always
-            // non-null
-            Objects.requireNonNull(componentsUnordered);
-            componentsUnordered.add(haID);
-
-            components = componentsUnordered.stream().collect(Collectors.toList());
-            // We sort the components for consistent jsondb serialization order of 'topics' thing property
-            // Sorting key is HaID::toString, i.e. using the full topic string
-            components.sort(Comparator.comparing(HaID::toString));
-        }
+    private DiscoveryResult buildResult(PendingResult pending) {
+        // We sort the components for consistent jsondb serialization order of 'topics' thing property
+        // Sorting key is HaID::toString, i.e. using the full topic string
+        final List<String> topics = componentsPerThingID.getOrDefault(pending.thingID(), Collections.emptySet())
+                .stream().sorted(Comparator.comparing(HaID::toString)).map(HaID::toShortTopic)
+                .collect(Collectors.toList());
 
-        final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
+        HandlerConfiguration handlerConfig = new HandlerConfiguration(pending.baseTopic(), topics);
+        Map<String, Object> properties = handlerConfig.appendToProperties(pending.properties());
 
-        HandlerConfiguration handlerConfig = new HandlerConfiguration(haID.baseTopic, topics);
-        properties = handlerConfig.appendToProperties(properties);
-
-        DiscoveryResult result = DiscoveryResultBuilder.create(thingUID).withProperties(properties)
-                .withRepresentationProperty("deviceId").withBridge(bridgeUID).withLabel(thingName).build();
+        DiscoveryResult result = DiscoveryResultBuilder.create(pending.thingUID()).withProperties(properties)
+                .withRepresentationProperty("deviceId").withBridge(pending.bridgeUID()).withLabel(pending.thingName())
+                .build();
         // Because we need the new properties map with the updated "components" list
-        results.put(thingUID.toString(), result);
-        allResults.put(thingUID.toString(), result);
+        allResults.put(pending.thingUID().toString(), result);
+        return result;
     }
 
     protected void publishResults() {
-        Collection<DiscoveryResult> localResults;
+        Collection<DiscoveryResult> localResults = new ArrayList<>();
 
+        long start = System.nanoTime();
         synchronized (results) {
-            localResults = new ArrayList<>(results.values());
+            for (PendingResult pending : results.values()) {
+                localResults.add(buildResult(pending));
+            }
             results.clear();
         }
         for (DiscoveryResult result : localResults) {
             thingDiscovered(result);
         }
+        logger.debug("Published {} discovery results in {} ms; configurations parsed: {} ({} ms), unchanged: {}",
+                localResults.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), getParsedConfigs(),
+                TimeUnit.NANOSECONDS.toMillis(parseNanos.sum()), getUnchangedConfigs());
+    }
+
+    /**
+     * @return The number of discovery configurations parsed so far
+     */
+    public long getParsedConfigs() {
+        return parsedConfigs.sum();
+    }
+
+    /**
+     * @return The number of received discovery configurations skipped, because they did not change
+     */
+    public long getUnchangedConfigs() {
+        return unchangedConfigs.sum();
+    }
+
+    /**
+     * @return The number of things waiting for their discovery result to be published
+     */
+    public int getPendingResults() {
+        synchronized (results) {
+            return results.size();
+        }
     }
 
     @Override
@@ -253,6 +302,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
         synchronized (results) {
             ThingUID thingUID = thingIDPerTopic.remove(topic);
+            configHashPerTopic.remove(topic);
             if (thingUID != null) {
                 final String thingID = thingUID.getId();
 
@@ -266,6 +316,10 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
                     thingRemoved(thingUID);
                 } else {
                     resetPublishTimer();
+                    if (results.containsKey(thingUID.toString())) {
+                        // not published yet, the pending result picks up the remaining components
+                        return;
+                    }
 
                     DiscoveryResult existingThing = allResults.get(thingUID.toString());
                     if (existingThing == null) {
@@ -274,7 +328,8 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
                         return;
                     }
                     Map<String, Object> properties = new HashMap<>(existingThing.getProperties());
-                    buildResult(thingID, thingUID, existingThing.getLabel(), haID, properties, bridgeUID);
+                    results.put(thingUID.toString(), new PendingResult(thingID, thingUID, existingThing.getLabel(),
+                            haID.baseTopic, properties, bridgeUID));
                 }
             }
         }
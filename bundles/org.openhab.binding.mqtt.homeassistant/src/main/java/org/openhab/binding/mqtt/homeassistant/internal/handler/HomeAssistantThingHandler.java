@@ -24,6 +24,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -104,7 +105,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
     private final Gson gson;
     protected final Map<@Nullable String, AbstractComponent<?>> haComponents = new HashMap<>();
     protected final Map<@Nullable String, AbstractComponent<?>> haComponentsByUniqueId = new HashMap<>();
-    protected final Map<HaID, AbstractComponent<?>> haComponentsByHaId = new HashMap<>();
+    // concurrent, as it is also read by the discovery thread without holding the haComponents lock
+    protected final Map<HaID, AbstractComponent<?>> haComponentsByHaId = new ConcurrentHashMap<>();
     protected final Map<ChannelUID, ChannelState> channelStates = new HashMap<>();
 
     protected HandlerConfiguration config = new HandlerConfiguration();
@@ -272,6 +274,12 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         delayedProcessing.accept(haID);
     }
 
+    @Override
+    public boolean isComponentConfigKnown(HaID haID, int configHash) {
+        AbstractComponent<?> known = haComponentsByHaId.get(haID);
+        return known != null && known.getConfigHash() == configHash;
+    }
+
     /**
      * Callback of {@link DelayedBatchProcessing}.
      * Add all newly discovered and removed components to the Thing and start the components.
@@ -181,6 +181,36 @@ public class HomeAssistantDiscoveryTests extends AbstractHomeAssistantTests {
                 hasItems("climate/0x847127fffe11dd6a_climate_zigbee2mqtt"));
     }
 
+    @Test
+    public void testUnchangedConfigIsNotParsedAgain() throws Exception {
+        var discoveryListener = new LatchDiscoveryListener();
+        var latch = discoveryListener.createWaitForThingsDiscoveredLatch(1);
+
+        discovery.addDiscoveryListener(discoveryListener);
+        discovery.receivedMessage(HA_UID, bridgeConnection,
+                "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config",
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        assert latch.await(3, TimeUnit.SECONDS);
+        assertThat(discoveryListener.getDiscoveryResults().size(), is(1));
+
+        // When the retained configuration is received again, e.g. after a reconnect
+        latch = discoveryListener.createWaitForThingsDiscoveredLatch(1);
+        discovery.receivedMessage(HA_UID, bridgeConnection,
+                "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config",
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+
+        // Then the thing is discovered again without parsing the configuration
+        assert latch.await(3, TimeUnit.SECONDS);
+        var discoveryResults = discoveryListener.getDiscoveryResults();
+        assertThat(discoveryResults.size(), is(1));
+        assertThat(discoveryResults.get(0).getLabel(), is("th1"));
+        assertThat((List<String>) discoveryResults.get(0).getProperties().get(HandlerConfiguration.PROPERTY_TOPICS),
+                hasItems("climate/0x847127fffe11dd6a_climate_zigbee2mqtt"));
+        assertThat(discovery.getParsedConfigs(), is(1L));
+        assertThat(discovery.getUnchangedConfigs(), is(1L));
+        assertThat(discovery.getPendingResults(), is(0));
+    }
+
     private static class TestHomeAssistantDiscovery extends HomeAssistantDiscovery {
         public TestHomeAssistantDiscovery(MqttChannelTypeProvider typeProvider) {
             super(null);
@@ -293,6 +293,26 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
         verify(channelTypeProvider, times(2)).removeChannelGroupType(any());
     }
 
+    @Test
+    public void testUnchangedComponentIsNotRecreated() {
+        thingHandler.initialize();
+        verify(thingHandler, timeout(SUBSCRIBE_TIMEOUT)).start(any());
+
+        var configTopic = "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config";
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        thingHandler.delayedProcessing.forceProcessNow();
+        assertThat(nonSpyThingHandler.getThing().getChannels().size(), is(7));
+
+        // The retained configuration is received again, e.g. after a reconnect
+        thingHandler.discoverComponents.processMessage(configTopic,
+                getResourceAsByteArray("component/configTS0601ClimateThermostat.json"));
+        thingHandler.delayedProcessing.forceProcessNow();
+
+        verify(thingHandler, times(1)).componentDiscovered(eq(new HaID(configTopic)), any(Climate.class));
+        assertThat(nonSpyThingHandler.getThing().getChannels().size(), is(7));
+    }
+
     @Test
     public void testProcessMessageFromUnsupportedComponent() {
         thingHandler.initialize();
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Requests a query result downsampled by InfluxDB: the points are grouped into consecutive windows of the given
+ * length and each window is reduced to one value by the function. Windows without points are omitted, the value of a
+ * window is returned with the start time of the window.
+ *
+ * @param window the length of a window, at least one millisecond
+ * @param function the function computing the value of a window
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public record InfluxDBAggregation(Duration window, Function function) {
+
+    /**
+     * The aggregate and selector functions supported by both Flux and InfluxQL. All but {@link #COUNT},
+     * {@link #FIRST} and {@link #LAST} require numeric values.
+     */
+    public enum Function {
+        MEAN,
+        MEDIAN,
+        MIN,
+        MAX,
+        SUM,
+        COUNT,
+        FIRST,
+        LAST;
+
+        /**
+         * @return the name of the function in Flux and InfluxQL
+         */
+        public String getFunctionName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public InfluxDBAggregation {
+        if (window.toMillis() < 1) {
+            throw new IllegalArgumentException("The window must be at least one millisecond, but is " + window);
+        }
+    }
+
+    /**
+     * @return the window length in milliseconds
+     */
+    public long getWindowMillis() {
+        return window.toMillis();
+    }
+}
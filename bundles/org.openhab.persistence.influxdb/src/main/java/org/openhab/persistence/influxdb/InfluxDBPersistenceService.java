@@ -14,6 +14,7 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -24,21 +25,20 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemFactory;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.ItemUtil;
+import org.openhab.core.library.types.StringType;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -49,11 +49,13 @@ import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
+import org.openhab.persistence.influxdb.internal.InfluxDBBatchWriter;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBSpillLog;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
@@ -97,7 +99,6 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
-    private static final int COMMIT_INTERVAL = 3; // in s
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -109,8 +110,7 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private boolean serviceActivated;
 
     // storage
-    private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final InfluxDBBatchWriter batchWriter;
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -125,8 +125,14 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         if (configuration.isValid()) {
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
-            this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
-                    .scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.SECONDS);
+            InfluxDBSpillLog spillLog = configuration.getSpillMaxSize() > 0
+                    ? new InfluxDBSpillLog(Path.of(OpenHAB.getUserDataFolder(), "persistence", SERVICE_NAME),
+                            configuration.getSpillMaxSize() * 1024L * 1024L)
+                    : null;
+            this.batchWriter = new InfluxDBBatchWriter(influxDBRepository, this::checkConnection,
+                    ThreadPoolManager.getScheduledPool("org.openhab.influxdb"), configuration.getBatchMaxPoints(),
+                    configuration.getBatchMaxBytes(), configuration.getBatchMaxAge(),
+                    configuration.getBufferMaxPoints(), spillLog);
             serviceActivated = true;
         } else {
             throw new IllegalArgumentException("Configuration invalid.");
@@ -151,12 +157,7 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     public void deactivate() {
         serviceActivated = false;
 
-        storeJob.cancel(false);
-        commit(); // ensure we at least tried to store the data;
-
-        if (!pointsQueue.isEmpty()) {
-            logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
-        }
+        batchWriter.shutdown(); // ensure we at least tried to store the data
 
         influxDBRepository.disconnect();
         logger.info("InfluxDB persistence service stopped.");
@@ -209,11 +210,14 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 logger.trace("Ignoring item {}, conversion to an InfluxDB point failed.", item.getName());
                 return;
             }
-            if (pointsQueue.offer(point)) {
-                logger.trace("Queued {} for item {}", point, item);
-            } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
+            // encoded once, a batch which has to be retried is sent as is
+            String record = influxDBRepository.toLineProtocol(point);
+            if (record == null) {
+                logger.trace("Ignoring item {}, {} cannot be written to InfluxDB.", item.getName(), point);
+                return;
             }
+            batchWriter.add(record);
+            logger.trace("Queued {} for item {}", record, item);
         });
     }
 
@@ -238,28 +242,65 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter, @Nullable String alias) {
+        return query(filter, alias, null);
+    }
+
+    /**
+     * Queries the persisted values of an item, optionally downsampled by InfluxDB.
+     *
+     * @param filter the filter criteria, the page size limits the number of windows if an aggregation is given
+     * @param alias an (optional) alias for the item
+     * @param aggregation the (optional) windows and function InfluxDB reduces the values with
+     * @return the historic items
+     */
+    public Iterable<HistoricItem> query(FilterCriteria filter, @Nullable String alias,
+            @Nullable InfluxDBAggregation aggregation) {
+        List<HistoricItem> historicItems = new ArrayList<>();
+        query(filter, alias, aggregation, historicItems::add);
+        return historicItems;
+    }
+
+    /**
+     * Queries the persisted values of an item and passes them on while the response of InfluxDB is read, so large
+     * results don't need to be held in memory.
+     *
+     * @param filter the filter criteria, the page size limits the number of windows if an aggregation is given
+     * @param alias an (optional) alias for the item
+     * @param aggregation the (optional) windows and function InfluxDB reduces the values with
+     * @param consumer receives the historic items in the requested order, called from a thread of the client library
+     * @return <code>true</code> if the query was completed, <code>false</code> otherwise
+     */
+    public boolean query(FilterCriteria filter, @Nullable String alias, @Nullable InfluxDBAggregation aggregation,
+            Consumer<HistoricItem> consumer) {
         String itemName = filter.getItemName();
         if (itemName == null) {
             logger.warn("Item name is missing in filter {} when querying data.", filter);
-            return List.of();
+            return false;
         }
         if (serviceActivated && checkConnection()) {
             logger.trace(
-                    "Query-Filter: itemname: {}, ordering: {}, state: {},  operator: {}, getBeginDate: {}, getEndDate: {}, getPageSize: {}, getPageNumber: {}",
+                    "Query-Filter: itemname: {}, ordering: {}, state: {},  operator: {}, getBeginDate: {}, getEndDate: {}, getPageSize: {}, getPageNumber: {}, aggregation: {}",
                     itemName, filter.getOrdering().toString(), filter.getState(), filter.getOperator(),
-                    filter.getBeginDate(), filter.getEndDate(), filter.getPageSize(), filter.getPageNumber());
-
-            List<InfluxDBRepository.InfluxRow> results = influxDBRepository.query(filter,
-                    configuration.getRetentionPolicy(), alias);
-            return results.stream().map(r -> mapRowToHistoricItem(r, itemName)).collect(Collectors.toList());
+                    filter.getBeginDate(), filter.getEndDate(), filter.getPageSize(), filter.getPageNumber(),
+                    aggregation);
+
+            // resolve the item once instead of for every row
+            @Nullable
+            Item item = itemRegistry.get(itemName);
+            if (item == null) {
+                logger.info("Could not find item '{}' in registry", itemName);
+            }
+            return influxDBRepository.query(filter, configuration.getRetentionPolicy(), alias, aggregation,
+                    row -> consumer.accept(mapRowToHistoricItem(row, item)));
         } else {
             logger.debug("Query for persisted data ignored, InfluxDB is not connected");
-            return List.of();
+            return false;
         }
     }
 
-    private HistoricItem mapRowToHistoricItem(InfluxDBRepository.InfluxRow row, String itemName) {
-        State state = InfluxDBStateConvertUtils.objectToState(row.value(), itemName, itemRegistry);
+    private HistoricItem mapRowToHistoricItem(InfluxDBRepository.InfluxRow row, @Nullable Item item) {
+        State state = item != null ? InfluxDBStateConvertUtils.objectToState(row.value(), item)
+                : new StringType(String.valueOf(row.value()));
         return new InfluxDBHistoricItem(row.itemName(), state, row.time());
     }
 
@@ -283,20 +324,6 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
-                influxDBRepository.disconnect();
-            } else {
-                logger.trace("Wrote {} elements to database", points.size());
-            }
-        }
-    }
-
     /**
      * Convert incoming data to an {@link InfluxPoint} for further processing. This is needed because storage is
      * asynchronous and the item data may have changed.
@@ -15,6 +15,7 @@ package org.openhab.persistence.influxdb.internal;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.InfluxDBAggregation;
 
 /**
  * Creates InfluxDB query sentence given an OpenHab persistence {@link FilterCriteria}
@@ -31,7 +32,21 @@ public interface FilterCriteriaQueryCreator {
      * @param alias
      * @return Created query as a String
      */
-    String createQuery(FilterCriteria criteria, String retentionPolicy, @Nullable String alias);
+    default String createQuery(FilterCriteria criteria, String retentionPolicy, @Nullable String alias) {
+        return createQuery(criteria, retentionPolicy, alias, null);
+    }
+
+    /**
+     * Create query from {@link FilterCriteria}, optionally downsampled by the server
+     *
+     * @param criteria Criteria to create query from
+     * @param retentionPolicy Name of the retentionPolicy/bucket to use in query
+     * @param alias
+     * @param aggregation the windows and function to aggregate the values with, <code>null</code> for raw values
+     * @return Created query as a String
+     */
+    String createQuery(FilterCriteria criteria, String retentionPolicy, @Nullable String alias,
+            @Nullable InfluxDBAggregation aggregation);
 
     default String getOperationSymbol(FilterCriteria.Operator operator, InfluxDBVersion version) {
         return switch (operator) {
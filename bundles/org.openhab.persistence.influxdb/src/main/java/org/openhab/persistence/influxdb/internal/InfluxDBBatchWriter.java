@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.WriteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects line protocol records and writes them in batches. A batch is written as soon as the buffered records reach
+ * <code>batchMaxPoints</code> points or <code>batchMaxBytes</code> bytes, or the oldest record has been buffered for
+ * <code>batchMaxAge</code> milliseconds, whichever comes first.
+ *
+ * If a write fails, the batch is kept and the next attempt is delayed, doubling the delay for every further failure.
+ * If InfluxDB rejects a batch, its points are written one by one and only the rejected ones are dropped.
+ * Records exceeding <code>bufferMaxPoints</code> while InfluxDB is not available are moved to the
+ * {@link InfluxDBSpillLog} in batches, or dropped if there is none. Spilled records are written again, oldest first,
+ * once InfluxDB accepts writes.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBBatchWriter {
+    private static final long MIN_TICK_MILLIS = 100;
+    private static final long MAX_TICK_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int REPLAY_SEGMENTS_PER_FLUSH = 10;
+
+    private record PendingRecord(String line, long queued) {
+        long size() {
+            // the length in UTF-16 chars is close enough to the UTF-8 size for the mostly ASCII records
+            return line.length() + 1;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBBatchWriter.class);
+
+    private final InfluxDBRepository repository;
+    private final BooleanSupplier connectionCheck;
+    private final ScheduledExecutorService scheduler;
+    private final int batchMaxPoints;
+    private final long batchMaxBytes;
+    private final long batchMaxAgeNanos;
+    private final int bufferMaxPoints;
+    private final @Nullable InfluxDBSpillLog spillLog;
+    private final ScheduledFuture<?> flushJob;
+
+    // guarded by itself
+    private final Deque<PendingRecord> buffer = new ArrayDeque<>();
+    private long bufferedBytes;
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong droppedPoints = new AtomicLong();
+    private final AtomicLong rejectedPoints = new AtomicLong();
+    private final LongAdder writtenPoints = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private volatile long lastFlushNanos;
+    private volatile long retryAfter = System.nanoTime();
+    private volatile boolean running = true;
+    // guarded by this
+    private long retryDelayNanos;
+
+    /**
+     * Creates a writer and starts checking the buffered records periodically.
+     *
+     * @param repository the repository used to write the records
+     * @param connectionCheck checks the connection and reconnects if needed, returns <code>true</code> if connected
+     * @param scheduler the scheduler used for writing
+     * @param batchMaxPoints the maximum number of points written at once
+     * @param batchMaxBytes the maximum size of the records written at once
+     * @param batchMaxAgeMillis the maximum time a record is buffered before it is written
+     * @param bufferMaxPoints the maximum number of points kept in memory while writing fails
+     * @param spillLog the log receiving the points exceeding <code>bufferMaxPoints</code>, <code>null</code> to drop
+     *            them
+     */
+    public InfluxDBBatchWriter(InfluxDBRepository repository, BooleanSupplier connectionCheck,
+            ScheduledExecutorService scheduler, int batchMaxPoints, long batchMaxBytes, long batchMaxAgeMillis,
+            int bufferMaxPoints, @Nullable InfluxDBSpillLog spillLog) {
+        this.repository = repository;
+        this.connectionCheck = connectionCheck;
+        this.scheduler = scheduler;
+        this.batchMaxPoints = Math.max(1, batchMaxPoints);
+        this.batchMaxBytes = Math.max(1, batchMaxBytes);
+        this.batchMaxAgeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, batchMaxAgeMillis));
+        this.bufferMaxPoints = Math.max(this.batchMaxPoints, bufferMaxPoints);
+        this.spillLog = spillLog;
+        long tickMillis = Math.min(MAX_TICK_MILLIS, Math.max(MIN_TICK_MILLIS, batchMaxAgeMillis / 4));
+        this.flushJob = scheduler.scheduleWithFixedDelay(() -> flush(false), tickMillis, tickMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Buffers a record for writing.
+     *
+     * @param record the line protocol record
+     */
+    public void add(String record) {
+        if (!running) {
+            logger.debug("Writer is stopped, ignoring {}", record);
+            return;
+        }
+        long now = System.nanoTime();
+        boolean flushDue;
+        synchronized (buffer) {
+            PendingRecord pending = new PendingRecord(record, now);
+            buffer.addLast(pending);
+            bufferedBytes += pending.size();
+            flushDue = buffer.size() > bufferMaxPoints || (now - retryAfter >= 0
+                    && (buffer.size() >= batchMaxPoints || bufferedBytes >= batchMaxBytes));
+        }
+        if (flushDue && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(() -> flush(false));
+        }
+    }
+
+    /**
+     * Stops the writer, tries to write all buffered records and spills the remaining ones.
+     */
+    public void shutdown() {
+        running = false;
+        flushJob.cancel(false);
+        flush(true);
+        List<PendingRecord> remaining;
+        synchronized (buffer) {
+            remaining = new ArrayList<>(buffer);
+            buffer.clear();
+            bufferedBytes = 0;
+        }
+        if (remaining.isEmpty()) {
+            return;
+        }
+        InfluxDBSpillLog localSpillLog = spillLog;
+        if (localSpillLog != null && localSpillLog.append(records(remaining))) {
+            logger.info("Spilled {} points, they are written once InfluxDB is available again", remaining.size());
+        } else {
+            logger.warn("InfluxDB failed to finally store {} points.", remaining.size());
+        }
+    }
+
+    /**
+     * @return the number of points buffered in memory
+     */
+    public int getQueuedPoints() {
+        synchronized (buffer) {
+            return buffer.size();
+        }
+    }
+
+    /**
+     * @return the approximate size of the records buffered in memory
+     */
+    public long getQueuedBytes() {
+        synchronized (buffer) {
+            return bufferedBytes;
+        }
+    }
+
+    /**
+     * @return the number of points waiting in the spill log
+     */
+    public long getSpilledPoints() {
+        InfluxDBSpillLog localSpillLog = spillLog;
+        return localSpillLog != null ? localSpillLog.getPoints() : 0;
+    }
+
+    /**
+     * @return the number of points dropped because the buffer was full
+     */
+    public long getDroppedPoints() {
+        return droppedPoints.get();
+    }
+
+    /**
+     * @return the number of points dropped because InfluxDB rejected them
+     */
+    public long getRejectedPoints() {
+        return rejectedPoints.get();
+    }
+
+    /**
+     * @return the number of points written
+     */
+    public long getWrittenPoints() {
+        return writtenPoints.sum();
+    }
+
+    /**
+     * @return the duration of the last write in milliseconds
+     */
+    public double getLastFlushLatencyMillis() {
+        return lastFlushNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return the average duration of all writes in milliseconds
+     */
+    public double getAverageFlushLatencyMillis() {
+        long count = flushes.sum();
+        return count > 0 ? flushNanos.sum() / 1_000_000.0 / count : 0;
+    }
+
+    private synchronized void flush(boolean all) {
+        flushRequested.set(false);
+        if (!running && !all) {
+            return;
+        }
+        try {
+            if (all || System.nanoTime() - retryAfter >= 0) {
+                writeBuffered(all);
+            }
+            spillOverflow();
+        } catch (RuntimeException e) {
+            logger.warn("Writing to InfluxDB failed unexpectedly", e);
+        }
+    }
+
+    private void writeBuffered(boolean all) {
+        InfluxDBSpillLog localSpillLog = spillLog;
+        boolean spilled = localSpillLog != null && !localSpillLog.isEmpty();
+        if (!spilled && !isFlushDue(all)) {
+            return;
+        }
+        if (!connectionCheck.getAsBoolean()) {
+            failed(false);
+            return;
+        }
+        if (localSpillLog != null && spilled && !replay(localSpillLog)) {
+            return;
+        }
+        while (isFlushDue(all)) {
+            List<PendingRecord> batch = pollBatch();
+            int handled = writeOrReject(records(batch));
+            if (handled < batch.size()) {
+                requeue(batch.subList(handled, batch.size()));
+                failed(true);
+                return;
+            }
+        }
+        if (retryDelayNanos > 0) {
+            logger.info("Writing to InfluxDB succeeded again, {} points are buffered", getQueuedPoints());
+            retryDelayNanos = 0;
+        }
+    }
+
+    private boolean replay(InfluxDBSpillLog localSpillLog) {
+        for (int i = 0; i < REPLAY_SEGMENTS_PER_FLUSH; i++) {
+            @Nullable
+            InfluxDBSpillLog.Segment segment = localSpillLog.peek();
+            if (segment == null) {
+                return true;
+            }
+            // a partly written segment is written again as a whole, InfluxDB overwrites the points written before
+            if (writeOrReject(segment.records()) < segment.records().size()) {
+                failed(true);
+                return false;
+            }
+            localSpillLog.remove(segment);
+            logger.debug("Wrote {} spilled points, {} points are left", segment.records().size(),
+                    localSpillLog.getPoints());
+        }
+        return true;
+    }
+
+    /**
+     * Writes the records, one by one if InfluxDB rejects them together, so only the rejected records are dropped.
+     *
+     * @return the number of records which have been written or dropped, the remaining ones could not be written
+     *         because InfluxDB is not available
+     */
+    private int writeOrReject(List<String> records) {
+        WriteResult result = write(records);
+        if (result == WriteResult.WRITTEN) {
+            return records.size();
+        } else if (result == WriteResult.RETRY) {
+            return 0;
+        }
+        for (int i = 0; i < records.size(); i++) {
+            String record = records.get(i);
+            // a single record has already been rejected with the batch
+            WriteResult recordResult = records.size() == 1 ? WriteResult.REJECTED : write(List.of(record));
+            if (recordResult == WriteResult.RETRY) {
+                return i;
+            } else if (recordResult == WriteResult.REJECTED) {
+                long rejected = rejectedPoints.incrementAndGet();
+                logger.warn("InfluxDB rejected '{}', the point is dropped ({} points so far)", record, rejected);
+            }
+        }
+        return records.size();
+    }
+
+    private WriteResult write(List<String> records) {
+        long start = System.nanoTime();
+        WriteResult result = repository.write(records);
+        long duration = System.nanoTime() - start;
+        lastFlushNanos = duration;
+        flushes.increment();
+        flushNanos.add(duration);
+        if (result == WriteResult.WRITTEN) {
+            writtenPoints.add(records.size());
+            logger.trace("Wrote {} points in {} ms", records.size(), TimeUnit.NANOSECONDS.toMillis(duration));
+        }
+        return result;
+    }
+
+    private void failed(boolean disconnect) {
+        boolean first = retryDelayNanos == 0;
+        retryDelayNanos = first ? Math.max(batchMaxAgeNanos, TimeUnit.MILLISECONDS.toNanos(MAX_TICK_MILLIS))
+                : Math.min(MAX_RETRY_DELAY_NANOS, retryDelayNanos * 2);
+        retryAfter = System.nanoTime() + retryDelayNanos;
+        if (disconnect) {
+            repository.disconnect();
+        }
+        if (first) {
+            logger.warn("Writing to InfluxDB failed, keeping {} points and retrying in {} ms", getQueuedPoints(),
+                    TimeUnit.NANOSECONDS.toMillis(retryDelayNanos));
+        } else {
+            logger.debug("Writing to InfluxDB failed, keeping {} points and retrying in {} ms", getQueuedPoints(),
+                    TimeUnit.NANOSECONDS.toMillis(retryDelayNanos));
+        }
+    }
+
+    private void spillOverflow() {
+        while (getQueuedPoints() > bufferMaxPoints) {
+            List<PendingRecord> batch = pollBatch();
+            InfluxDBSpillLog localSpillLog = spillLog;
+            if (localSpillLog != null && localSpillLog.append(records(batch))) {
+                logger.debug("Spilled {} points, {} points are spilled in total", batch.size(),
+                        localSpillLog.getPoints());
+            } else {
+                long dropped = droppedPoints.addAndGet(batch.size());
+                logger.warn("InfluxDB write buffer is full, {} points have been dropped so far", dropped);
+            }
+        }
+    }
+
+    private boolean isFlushDue(boolean all) {
+        synchronized (buffer) {
+            @Nullable
+            PendingRecord oldest = buffer.peekFirst();
+            if (oldest == null) {
+                return false;
+            }
+            return all || buffer.size() >= batchMaxPoints || bufferedBytes >= batchMaxBytes
+                    || System.nanoTime() - oldest.queued() >= batchMaxAgeNanos;
+        }
+    }
+
+    private List<PendingRecord> pollBatch() {
+        synchronized (buffer) {
+            List<PendingRecord> batch = new ArrayList<>(Math.min(buffer.size(), batchMaxPoints));
+            long batchBytes = 0;
+            while (batch.size() < batchMaxPoints) {
+                @Nullable
+                PendingRecord next = buffer.peekFirst();
+                if (next == null || (!batch.isEmpty() && batchBytes + next.size() > batchMaxBytes)) {
+                    break;
+                }
+                buffer.pollFirst();
+                batch.add(next);
+                batchBytes += next.size();
+            }
+            bufferedBytes -= batchBytes;
+            return batch;
+        }
+    }
+
+    private void requeue(List<PendingRecord> batch) {
+        synchronized (buffer) {
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                PendingRecord pending = batch.get(i);
+                buffer.addFirst(pending);
+                bufferedBytes += pending.size();
+            }
+        }
+    }
+
+    private static List<String> records(List<PendingRecord> batch) {
+        return batch.stream().map(PendingRecord::line).toList();
+    }
+}
@@ -39,6 +39,11 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String BATCH_MAX_POINTS_PARAM = "batchMaxPoints";
+    public static final String BATCH_MAX_BYTES_PARAM = "batchMaxBytes";
+    public static final String BATCH_MAX_AGE_PARAM = "batchMaxAge";
+    public static final String BUFFER_MAX_POINTS_PARAM = "bufferMaxPoints";
+    public static final String SPILL_MAX_SIZE_PARAM = "spillMaxSize";
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -51,6 +56,11 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int batchMaxPoints;
+    private final int batchMaxBytes;
+    private final int batchMaxAge;
+    private final int bufferMaxPoints;
+    private final int spillMaxSize;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -64,6 +74,11 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        batchMaxPoints = ConfigParser.valueAsOrElse(config.get(BATCH_MAX_POINTS_PARAM), Integer.class, 1000);
+        batchMaxBytes = ConfigParser.valueAsOrElse(config.get(BATCH_MAX_BYTES_PARAM), Integer.class, 1048576);
+        batchMaxAge = ConfigParser.valueAsOrElse(config.get(BATCH_MAX_AGE_PARAM), Integer.class, 3000);
+        bufferMaxPoints = ConfigParser.valueAsOrElse(config.get(BUFFER_MAX_POINTS_PARAM), Integer.class, 100000);
+        spillMaxSize = ConfigParser.valueAsOrElse(config.get(SPILL_MAX_SIZE_PARAM), Integer.class, 100);
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -142,6 +157,32 @@ public class InfluxDBConfiguration {
         return addLabelTag;
     }
 
+    public int getBatchMaxPoints() {
+        return batchMaxPoints;
+    }
+
+    public int getBatchMaxBytes() {
+        return batchMaxBytes;
+    }
+
+    /**
+     * @return the maximum time in milliseconds a point is buffered before it is written
+     */
+    public int getBatchMaxAge() {
+        return batchMaxAge;
+    }
+
+    public int getBufferMaxPoints() {
+        return bufferMaxPoints;
+    }
+
+    /**
+     * @return the maximum size of the points spilled to disk in MB, 0 if spilling is disabled
+     */
+    public int getSpillMaxSize() {
+        return spillMaxSize;
+    }
+
     public String getUser() {
         return user;
     }
@@ -160,6 +201,8 @@ public class InfluxDBConfiguration {
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", batchMaxPoints=" + batchMaxPoints + ", batchMaxBytes="
+                + batchMaxBytes + ", batchMaxAge=" + batchMaxAge + ", bufferMaxPoints=" + bufferMaxPoints
+                + ", spillMaxSize=" + spillMaxSize + '}';
     }
 }
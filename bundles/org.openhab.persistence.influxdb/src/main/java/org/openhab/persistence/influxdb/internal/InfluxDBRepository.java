@@ -13,12 +13,15 @@
 package org.openhab.persistence.influxdb.internal;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.InfluxDBAggregation;
 
 /**
  * Manages InfluxDB server interaction maintaining client connection
@@ -68,15 +71,44 @@ public interface InfluxDBRepository {
      * @return Query results
      *
      */
-    List<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable String alias);
+    default List<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable String alias) {
+        List<InfluxRow> rows = new ArrayList<>();
+        query(filter, retentionPolicy, alias, null, rows::add);
+        return rows;
+    }
+
+    /**
+     * Executes query and passes the rows to the consumer while they are received, so the complete result is never
+     * held in memory. The consumer is called from the client's threads, but this method returns only after the last
+     * row has been passed.
+     *
+     * @param filter the query filter
+     * @param retentionPolicy the retention policy / bucket
+     * @param alias
+     * @param aggregation the windows and function the server aggregates the values with, <code>null</code> for raw
+     *            values
+     * @param consumer the consumer receiving the rows in query order
+     * @return <code>true</code> if the query completed, <code>false</code> if it failed and the rows are incomplete
+     */
+    boolean query(FilterCriteria filter, String retentionPolicy, @Nullable String alias,
+            @Nullable InfluxDBAggregation aggregation, Consumer<InfluxRow> consumer);
 
     /**
-     * Write points to database
+     * Encode a point in line protocol
      *
-     * @param influxPoints {@link List<InfluxPoint>} to write
-     * @return <code>true</code> if points have been written, <code>false</code> otherwise
+     * @param influxPoint the {@link InfluxPoint} to encode
+     * @return the line protocol record or <code>null</code> if the point cannot be written
      */
-    boolean write(List<InfluxPoint> influxPoints);
+    @Nullable
+    String toLineProtocol(InfluxPoint influxPoint);
+
+    /**
+     * Write line protocol records to database
+     *
+     * @param records {@link List<String>} of records created by {@link #toLineProtocol(InfluxPoint)} to write
+     * @return whether the records have been written, can be written later or have been rejected
+     */
+    WriteResult write(List<String> records);
 
     /**
      * Execute delete query
@@ -86,6 +118,18 @@ public interface InfluxDBRepository {
      */
     boolean remove(FilterCriteria filter);
 
+    /**
+     * The outcome of writing records.
+     */
+    enum WriteResult {
+        /** the records have been written */
+        WRITTEN,
+        /** the database could not be reached, the records can be written later */
+        RETRY,
+        /** the database rejected at least one of the records, writing them again would fail again */
+        REJECTED
+    }
+
     record InfluxRow(Instant time, String itemName, Object value) {
     }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps line protocol records which could not be written to InfluxDB in a folder of segment files, so they survive
+ * an outage of the database and a restart of openHAB.
+ *
+ * Every segment holds one batch of records and is written completely before it becomes visible. Segments are read back
+ * oldest first. If the segments exceed the size limit, the oldest ones are discarded.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpillLog {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".bin";
+
+    /**
+     * A segment read back from disk.
+     *
+     * @param sequence the position of the segment in the log
+     * @param records the line protocol records of the segment
+     */
+    public record Segment(long sequence, List<String> records) {
+    }
+
+    private record SegmentInfo(Path file, int points, long bytes) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBSpillLog.class);
+
+    private final Path folder;
+    private final long maxBytes;
+    private final TreeMap<Long, SegmentInfo> segments = new TreeMap<>();
+    private long nextSequence;
+    private long bytes;
+    private long points;
+
+    /**
+     * Creates the log and picks up the segments left over from the last run.
+     *
+     * @param folder the folder containing the segment files, created when the first segment is written
+     * @param maxBytes the maximum size of all segments
+     */
+    public InfluxDBSpillLog(Path folder, long maxBytes) {
+        this.folder = folder;
+        this.maxBytes = maxBytes;
+        if (Files.isDirectory(folder)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(folder,
+                    SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                for (Path file : files) {
+                    load(file);
+                }
+            } catch (IOException e) {
+                logger.warn("Unable to read spilled points from '{}': {}", folder, e.getMessage());
+            }
+        }
+        nextSequence = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        if (points > 0) {
+            logger.info("Found {} spilled points in '{}', they are written once InfluxDB is available", points,
+                    folder);
+        }
+    }
+
+    /**
+     * Appends a batch of records as new segment. Discards the oldest segments if the log gets too large.
+     *
+     * @param records the line protocol records
+     * @return <code>true</code> if the records have been written, <code>false</code> otherwise
+     */
+    public synchronized boolean append(List<String> records) {
+        long sequence = nextSequence++;
+        Path file = folder.resolve(SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX);
+        Path tmpFile = folder.resolve(SEGMENT_PREFIX + sequence + ".tmp");
+        try {
+            Files.createDirectories(folder);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                out.writeInt(records.size());
+                for (String record : records) {
+                    byte[] encoded = record.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(encoded.length);
+                    out.write(encoded);
+                }
+            }
+            Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE);
+            add(sequence, new SegmentInfo(file, records.size(), Files.size(file)));
+        } catch (IOException e) {
+            logger.warn("Unable to spill {} points to '{}': {}", records.size(), file, e.getMessage());
+            try {
+                Files.deleteIfExists(tmpFile);
+            } catch (IOException ignored) {
+                // the next segment uses another file name
+            }
+            return false;
+        }
+        while (bytes > maxBytes && segments.size() > 1) {
+            Map.Entry<Long, SegmentInfo> oldest = segments.firstEntry();
+            delete(oldest.getKey());
+            logger.warn("Spilled points exceed {} bytes, discarded the oldest {} points", maxBytes,
+                    oldest.getValue().points());
+        }
+        return true;
+    }
+
+    /**
+     * Reads the oldest segment. Segments which cannot be read are discarded.
+     *
+     * @return the oldest segment or <code>null</code> if the log is empty
+     */
+    public synchronized @Nullable Segment peek() {
+        while (!segments.isEmpty()) {
+            Map.Entry<Long, SegmentInfo> oldest = segments.firstEntry();
+            Path file = oldest.getValue().file();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                int count = in.readInt();
+                List<String> records = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    byte[] encoded = new byte[in.readInt()];
+                    in.readFully(encoded);
+                    records.add(new String(encoded, StandardCharsets.UTF_8));
+                }
+                return new Segment(oldest.getKey(), records);
+            } catch (IOException e) {
+                logger.warn("Discarding unreadable spill file '{}': {}", file, e.getMessage());
+                delete(oldest.getKey());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes a segment after its records have been written.
+     *
+     * @param segment the segment returned by {@link #peek()}
+     */
+    public synchronized void remove(Segment segment) {
+        delete(segment.sequence());
+    }
+
+    /**
+     * @return the number of spilled points
+     */
+    public synchronized long getPoints() {
+        return points;
+    }
+
+    /**
+     * @return the size of all segments in bytes
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    private void load(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            long sequence = Long.parseLong(
+                    name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                add(sequence, new SegmentInfo(file, in.readInt(), Files.size(file)));
+            }
+        } catch (NumberFormatException | IOException e) {
+            logger.warn("Ignoring unreadable spill file '{}': {}", file, e.getMessage());
+        }
+    }
+
+    private void add(long sequence, SegmentInfo segment) {
+        segments.put(sequence, segment);
+        bytes += segment.bytes();
+        points += segment.points();
+    }
+
+    private void delete(long sequence) {
+        SegmentInfo segment = segments.remove(sequence);
+        if (segment == null) {
+            return;
+        }
+        bytes -= segment.bytes();
+        points -= segment.points();
+        try {
+            Files.deleteIfExists(segment.file());
+        } catch (IOException e) {
+            logger.warn("Unable to delete spill file '{}': {}", segment.file(), e.getMessage());
+        }
+    }
+}
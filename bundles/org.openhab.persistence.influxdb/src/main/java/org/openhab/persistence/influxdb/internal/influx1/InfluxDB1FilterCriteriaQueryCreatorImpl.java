@@ -16,6 +16,9 @@ import static org.influxdb.querybuilder.BuiltQuery.QueryBuilder.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils.stateToObject;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -27,6 +30,7 @@ import org.influxdb.querybuilder.Where;
 import org.influxdb.querybuilder.clauses.SimpleClause;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.types.State;
+import org.openhab.persistence.influxdb.InfluxDBAggregation;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
@@ -50,12 +54,17 @@ public class InfluxDB1FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
     }
 
     @Override
-    public String createQuery(FilterCriteria criteria, String retentionPolicy, @Nullable String alias) {
+    public String createQuery(FilterCriteria criteria, String retentionPolicy, @Nullable String alias,
+            @Nullable InfluxDBAggregation aggregation) {
         final String itemName = Objects.requireNonNull(criteria.getItemName()); // we checked non-null before
         final String localAlias = alias != null ? alias : itemName;
         final String tableName = getTableName(localAlias);
         final boolean hasCriteriaName = itemName != null;
 
+        if (aggregation != null) {
+            return createAggregatedQuery(criteria, retentionPolicy, localAlias, tableName, aggregation);
+        }
+
         Select select = select().column("\"" + COLUMN_VALUE_NAME_V1 + "\"::field")
                 .column("\"" + TAG_ITEM_NAME + "\"::tag")
                 .fromRaw(null, fullQualifiedTableName(retentionPolicy, tableName, hasCriteriaName));
@@ -95,6 +104,61 @@ public class InfluxDB1FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
         return ((Query) select).getCommand();
     }
 
+    /**
+     * The query builder cannot apply functions to fields, so the statement is assembled here. The points are grouped
+     * by the item tag as well, which returns the item name in the series tags.
+     */
+    private String createAggregatedQuery(FilterCriteria criteria, String retentionPolicy, String itemName,
+            String tableName, InfluxDBAggregation aggregation) {
+        List<String> conditions = new ArrayList<>();
+        if (!tableName.equals(itemName)) {
+            conditions.add(TAG_ITEM_NAME + " = " + toLiteral(itemName));
+        }
+        ZonedDateTime beginDate = criteria.getBeginDate();
+        if (beginDate != null) {
+            conditions.add(COLUMN_TIME_NAME_V1 + " >= " + toLiteral(beginDate.toInstant().toString()));
+        }
+        ZonedDateTime endDate = criteria.getEndDate();
+        if (endDate != null) {
+            conditions.add(COLUMN_TIME_NAME_V1 + " <= " + toLiteral(endDate.toInstant().toString()));
+        }
+        State filterState = criteria.getState();
+        if (filterState != null && criteria.getOperator() != null) {
+            conditions.add(COLUMN_VALUE_NAME_V1 + " " + getOperationSymbol(criteria.getOperator(), InfluxDBVersion.V1)
+                    + " " + toLiteral(stateToObject(filterState)));
+        }
+
+        StringBuilder query = new StringBuilder("SELECT ");
+        query.append(aggregation.function().getFunctionName()).append("(\"").append(COLUMN_VALUE_NAME_V1)
+                .append("\") AS \"").append(COLUMN_VALUE_NAME_V1).append("\" FROM ")
+                .append(fullQualifiedTableName(retentionPolicy, tableName, true));
+        if (!conditions.isEmpty()) {
+            query.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        query.append(" GROUP BY time(").append(aggregation.getWindowMillis()).append("ms),\"").append(TAG_ITEM_NAME)
+                .append("\" fill(none)");
+
+        if (criteria.getOrdering() == FilterCriteria.Ordering.DESCENDING) {
+            query.append(" ORDER BY time DESC");
+        } else if (criteria.getOrdering() == FilterCriteria.Ordering.ASCENDING) {
+            query.append(" ORDER BY time ASC");
+        }
+        if (criteria.getPageSize() != Integer.MAX_VALUE) {
+            query.append(" LIMIT ").append(criteria.getPageSize());
+            if (criteria.getPageNumber() != 0) {
+                query.append(" OFFSET ").append((long) criteria.getPageSize() * criteria.getPageNumber());
+            }
+        }
+        return query.append(';').toString();
+    }
+
+    private static String toLiteral(Object value) {
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return "'" + value.toString().replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
     private String getTableName(@Nullable String itemName) {
         if (itemName == null) {
             return "/.*/";
@@ -15,25 +15,27 @@ package org.openhab.persistence.influxdb.internal.influx1;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.influxdb.InfluxDB;
 import org.influxdb.InfluxDBException;
 import org.influxdb.InfluxDBFactory;
-import org.influxdb.dto.BatchPoints;
 import org.influxdb.dto.Point;
 import org.influxdb.dto.Pong;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.InfluxDBAggregation;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
@@ -54,6 +56,10 @@ import com.influxdb.exceptions.InfluxException;
  */
 @NonNullByDefault
 public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
+    private static final int QUERY_CHUNK_SIZE = 10000;
+    // the error of the chunk passed on after the last one of a response
+    private static final String CHUNK_END_OF_STREAM = "DONE";
+
     private final Logger logger = LoggerFactory.getLogger(InfluxDB1RepositoryImpl.class);
     private final InfluxDBConfiguration configuration;
     private final FilterCriteriaQueryCreator queryCreator;
@@ -120,22 +126,29 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public boolean write(List<InfluxPoint> influxPoints) {
+    public @Nullable String toLineProtocol(InfluxPoint influxPoint) {
+        return convertPointToClientFormat(influxPoint).map(point -> point.lineProtocol(TimeUnit.MILLISECONDS))
+                .orElse(null);
+    }
+
+    @Override
+    public WriteResult write(List<String> records) {
         final InfluxDB currentClient = this.client;
         if (currentClient == null) {
-            return false;
+            return WriteResult.RETRY;
         }
         try {
-            List<Point> points = influxPoints.stream().map(this::convertPointToClientFormat).filter(Optional::isPresent)
-                    .map(Optional::get).toList();
-            BatchPoints batchPoints = BatchPoints.database(configuration.getDatabaseName())
-                    .retentionPolicy(configuration.getRetentionPolicy()).points(points).build();
-            currentClient.write(batchPoints);
+            currentClient.write(configuration.getDatabaseName(), configuration.getRetentionPolicy(),
+                    InfluxDB.ConsistencyLevel.ONE, TimeUnit.MILLISECONDS, records);
+        } catch (InfluxDBException.FieldTypeConflictException | InfluxDBException.UnableToParseException
+                | InfluxDBException.PointsBeyondRetentionPolicyException e) {
+            logger.debug("Database rejected the records: {}", e.getMessage());
+            return WriteResult.REJECTED;
         } catch (InfluxException | InfluxDBException e) {
             logger.debug("Writing to database failed", e);
-            return false;
+            return WriteResult.RETRY;
         }
-        return true;
+        return WriteResult.WRITTEN;
     }
 
     @Override
@@ -165,38 +178,79 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable String alias) {
+    public boolean query(FilterCriteria filter, String retentionPolicy, @Nullable String alias,
+            @Nullable InfluxDBAggregation aggregation, Consumer<InfluxRow> consumer) {
         try {
             final InfluxDB currentClient = client;
             if (currentClient != null) {
-                String query = queryCreator.createQuery(filter, retentionPolicy, alias);
+                String query = queryCreator.createQuery(filter, retentionPolicy, alias, aggregation);
                 logger.trace("Query {}", query);
                 Query parsedQuery = new Query(query, configuration.getDatabaseName());
-                List<QueryResult.Result> results = currentClient.query(parsedQuery, TimeUnit.MILLISECONDS).getResults();
-                return convertClientResultToRepository(results);
+                // the response is received in chunks, each one is passed on before the next one is read
+                CompletableFuture<@Nullable Void> completion = new CompletableFuture<>();
+                currentClient.query(parsedQuery, QUERY_CHUNK_SIZE,
+                        (cancellable, queryResult) -> onChunk(queryResult, consumer, cancellable::cancel, completion),
+                        () -> completion.complete(null), completion::completeExceptionally);
+                completion.get();
+                return true;
             } else {
                 throw new InfluxException("API not present");
             }
         } catch (InfluxException | InfluxDBException e) {
             logger.warn("Failed to execute query '{}': {}", filter, e.getMessage());
-            return List.of();
+        } catch (ExecutionException e) {
+            logger.warn("Failed to execute query '{}': {}", filter,
+                    Objects.requireNonNullElse(e.getCause(), e).getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Passes the rows of a chunk of a query response to the consumer. A chunk with an error fails the query, except
+     * for the "DONE" chunk the client passes on at the end of every response.
+     *
+     * @param cancel stops reading the response
+     * @param completion is completed exceptionally if the chunk can't be read
+     */
+    void onChunk(QueryResult queryResult, Consumer<InfluxRow> consumer, Runnable cancel,
+            CompletableFuture<@Nullable Void> completion) {
+        try {
+            convertClientResultToRepository(queryResult, consumer);
+        } catch (RuntimeException e) {
+            cancel.run();
+            completion.completeExceptionally(e);
         }
     }
 
-    private List<InfluxRow> convertClientResultToRepository(List<QueryResult.Result> results) {
-        List<InfluxRow> rows = new ArrayList<>();
+    private void convertClientResultToRepository(QueryResult queryResult, Consumer<InfluxRow> consumer) {
+        String error = queryResult.getError();
+        if (CHUNK_END_OF_STREAM.equals(error)) {
+            return;
+        } else if (error != null) {
+            throw new InfluxDBException(error);
+        }
+        List<QueryResult.Result> results = queryResult.getResults();
+        if (results == null) {
+            logger.debug("query returned no results");
+            return;
+        }
         for (QueryResult.Result result : results) {
-            List<QueryResult.Series> allSeries = result.getSeries();
-            if (result.getError() != null) {
-                logger.warn("{}", result.getError());
-                continue;
+            String resultError = result.getError();
+            if (resultError != null) {
+                throw new InfluxDBException(resultError);
             }
+            List<QueryResult.Series> allSeries = result.getSeries();
             if (allSeries == null) {
                 logger.debug("query returned no series");
             } else {
                 for (QueryResult.Series series : allSeries) {
                     logger.trace("series {}", series);
-                    String defaultItemName = series.getName();
+                    // aggregated queries are grouped by the item tag
+                    Map<String, String> tags = series.getTags();
+                    String defaultItemName = tags == null ? series.getName()
+                            : Objects.requireNonNullElse(tags.get(TAG_ITEM_NAME), series.getName());
                     List<List<Object>> allValues = series.getValues();
                     if (allValues == null) {
                         logger.debug("query returned no values");
@@ -211,21 +265,27 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                                 throw new IllegalStateException("missing column");
                             }
                             for (List<Object> valueObject : allValues) {
-                                Double rawTime = (Double) valueObject.get(timestampColumn);
-                                Instant time = Instant.ofEpochMilli(rawTime.longValue());
+                                Instant time = toInstant(valueObject.get(timestampColumn));
                                 Object value = valueObject.get(valueColumn);
                                 String itemName = itemNameColumn == -1 ? defaultItemName
                                         : Objects.requireNonNullElse((String) valueObject.get(itemNameColumn),
                                                 defaultItemName);
                                 logger.trace("adding historic item {}: time {} value {}", itemName, time, value);
-                                rows.add(new InfluxRow(time, itemName, value));
+                                consumer.accept(new InfluxRow(time, itemName, value));
                             }
                         }
                     }
                 }
             }
         }
-        return rows;
+    }
+
+    private static Instant toInstant(Object rawTime) {
+        // chunked responses carry RFC3339 timestamps, the others the requested epoch milliseconds
+        if (rawTime instanceof Number number) {
+            return Instant.ofEpochMilli(number.longValue());
+        }
+        return Instant.parse(rawTime.toString());
     }
 
     @Override
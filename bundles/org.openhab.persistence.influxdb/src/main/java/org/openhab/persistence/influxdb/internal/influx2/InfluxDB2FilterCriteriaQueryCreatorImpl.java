@@ -23,6 +23,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.types.State;
+import org.openhab.persistence.influxdb.InfluxDBAggregation;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
@@ -49,7 +50,8 @@ public class InfluxDB2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
     }
 
     @Override
-    public String createQuery(FilterCriteria criteria, String retentionPolicy, @Nullable String alias) {
+    public String createQuery(FilterCriteria criteria, String retentionPolicy, @Nullable String alias,
+            @Nullable InfluxDBAggregation aggregation) {
         Flux flux = Flux.from(retentionPolicy);
 
         RangeFlux range = flux.range();
@@ -70,20 +72,32 @@ public class InfluxDB2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
         String name = influxDBMetadataService.getMeasurementNameOrDefault(localAlias);
         String measurementName = configuration.isReplaceUnderscore() ? name.replace('_', '.') : name;
         flux = flux.filter(measurement().equal(measurementName));
-        if (!measurementName.equals(itemName)) {
+        boolean filteredByItem = !measurementName.equals(itemName);
+        if (filteredByItem) {
             flux = flux.filter(tag(TAG_ITEM_NAME).equal(itemName));
+        }
+
+        State filterState = criteria.getState();
+        if (aggregation != null) {
+            // values are filtered before they are aggregated, windowing needs the range columns dropped by keep()
+            if (filterState != null && criteria.getOperator() != null) {
+                flux = flux.filter(valueRestrictions(filterState, criteria.getOperator()));
+            }
+            flux = flux
+                    .aggregateWindow(aggregation.getWindowMillis(), ChronoUnit.MILLIS,
+                            aggregation.function().getFunctionName())
+                    .withPropertyValueEscaped("timeSrc", "_start").withPropertyValue("createEmpty", false);
+        }
+
+        if (filteredByItem) {
             flux = flux.keep(
                     new String[] { FIELD_MEASUREMENT_NAME, COLUMN_TIME_NAME_V2, COLUMN_VALUE_NAME_V2, TAG_ITEM_NAME });
         } else {
             flux = flux.keep(new String[] { FIELD_MEASUREMENT_NAME, COLUMN_TIME_NAME_V2, COLUMN_VALUE_NAME_V2 });
         }
 
-        State filterState = criteria.getState();
-        if (filterState != null && criteria.getOperator() != null) {
-            Restrictions restrictions = Restrictions.and(Restrictions.field().equal(FIELD_VALUE_NAME),
-                    Restrictions.value().custom(stateToObject(filterState),
-                            getOperationSymbol(criteria.getOperator(), InfluxDBVersion.V2)));
-            flux = flux.filter(restrictions);
+        if (aggregation == null && filterState != null && criteria.getOperator() != null) {
+            flux = flux.filter(valueRestrictions(filterState, criteria.getOperator()));
         }
 
         flux = applyOrderingAndPageSize(criteria, flux);
@@ -91,6 +105,11 @@ public class InfluxDB2FilterCriteriaQueryCreatorImpl implements FilterCriteriaQu
         return flux.toString();
     }
 
+    private Restrictions valueRestrictions(State filterState, FilterCriteria.Operator operator) {
+        return Restrictions.and(Restrictions.field().equal(FIELD_VALUE_NAME), Restrictions.value()
+                .custom(stateToObject(filterState), getOperationSymbol(operator, InfluxDBVersion.V2)));
+    }
+
     private Flux applyOrderingAndPageSize(FilterCriteria criteria, Flux flux) {
         var lastOptimization = criteria.getOrdering() == FilterCriteria.Ordering.DESCENDING
                 && criteria.getPageSize() == 1;
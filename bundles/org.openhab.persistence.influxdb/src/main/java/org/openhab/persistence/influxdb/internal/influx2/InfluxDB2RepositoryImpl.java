@@ -23,12 +23,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.influxdb.InfluxDBIOException;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.InfluxDBAggregation;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBConstants;
@@ -43,11 +47,12 @@ import com.influxdb.client.InfluxDBClient;
 import com.influxdb.client.InfluxDBClientFactory;
 import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.QueryApi;
-import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteApiBlocking;
 import com.influxdb.client.domain.Ready;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
 import com.influxdb.exceptions.InfluxException;
+import com.influxdb.query.FluxRecord;
 import com.influxdb.query.FluxTable;
 
 /**
@@ -57,6 +62,9 @@ import com.influxdb.query.FluxTable;
  */
 @NonNullByDefault
 public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
+    // bad request, e.g. invalid line protocol, and unprocessable entity, e.g. a field type conflict
+    private static final Set<Integer> REJECTED_WRITE_STATUS = Set.of(400, 422);
+
     private final Logger logger = LoggerFactory.getLogger(InfluxDB2RepositoryImpl.class);
     private final InfluxDBConfiguration configuration;
     private final InfluxDBMetadataService influxDBMetadataService;
@@ -64,7 +72,7 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
 
     private @Nullable InfluxDBClient client;
     private @Nullable QueryApi queryAPI;
-    private @Nullable WriteApi writeAPI;
+    private @Nullable WriteApiBlocking writeAPI;
     private @Nullable DeleteApi deleteAPI;
 
     public InfluxDB2RepositoryImpl(InfluxDBConfiguration configuration,
@@ -96,7 +104,7 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         this.client = createdClient;
 
         queryAPI = createdClient.getQueryApi();
-        writeAPI = createdClient.makeWriteApi();
+        writeAPI = createdClient.getWriteApiBlocking();
         deleteAPI = createdClient.getDeleteApi();
 
         logger.debug("Successfully connected to InfluxDB. Instance pingable={}", createdClient.ping());
@@ -140,20 +148,33 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public boolean write(List<InfluxPoint> influxPoints) {
-        final WriteApi currentWriteAPI = writeAPI;
+    public @Nullable String toLineProtocol(InfluxPoint influxPoint) {
+        // a point without fields is encoded as an empty string
+        return convertPointToClientFormat(influxPoint).map(Point::toLineProtocol).filter(line -> !line.isBlank())
+                .orElse(null);
+    }
+
+    @Override
+    public WriteResult write(List<String> records) {
+        final WriteApiBlocking currentWriteAPI = writeAPI;
         if (currentWriteAPI == null) {
-            return false;
+            return WriteResult.RETRY;
         }
         try {
-            List<Point> clientPoints = influxPoints.stream().map(this::convertPointToClientFormat)
-                    .filter(Optional::isPresent).map(Optional::get).toList();
-            currentWriteAPI.writePoints(clientPoints);
-        } catch (InfluxException | InfluxDBIOException e) {
+            // the blocking API reports failures, so the batch can be kept for a retry
+            currentWriteAPI.writeRecords(WritePrecision.MS, records);
+        } catch (InfluxException e) {
+            if (REJECTED_WRITE_STATUS.contains(e.status())) {
+                logger.debug("Database rejected the records: {}", e.getMessage());
+                return WriteResult.REJECTED;
+            }
             logger.debug("Writing to database failed", e);
-            return false;
+            return WriteResult.RETRY;
+        } catch (InfluxDBIOException e) {
+            logger.debug("Writing to database failed", e);
+            return WriteResult.RETRY;
         }
-        return true;
+        return WriteResult.WRITTEN;
     }
 
     @Override
@@ -213,33 +234,41 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable String alias) {
+    public boolean query(FilterCriteria filter, String retentionPolicy, @Nullable String alias,
+            @Nullable InfluxDBAggregation aggregation, Consumer<InfluxRow> consumer) {
         try {
             final QueryApi currentQueryAPI = queryAPI;
             if (currentQueryAPI != null) {
-                String query = queryCreator.createQuery(filter, retentionPolicy, alias);
+                String query = queryCreator.createQuery(filter, retentionPolicy, alias, aggregation);
                 logger.trace("Query {}", query);
-                List<FluxTable> clientResult = currentQueryAPI.query(query);
-                return clientResult.stream().flatMap(this::mapRawResultToHistoric).toList();
+                // records are passed on while the response is parsed instead of collecting all tables first
+                CompletableFuture<@Nullable Void> completion = new CompletableFuture<>();
+                currentQueryAPI.query(query, (cancellable, record) -> consumer.accept(mapRecordToRow(record)),
+                        completion::completeExceptionally, () -> completion.complete(null));
+                completion.get();
+                return true;
             } else {
                 throw new InfluxException("API not present");
             }
         } catch (InfluxException | InfluxDBIOException e) {
             logger.warn("Failed to execute query '{}': {}", filter, e.getMessage());
-            return List.of();
+        } catch (ExecutionException e) {
+            logger.warn("Failed to execute query '{}': {}", filter,
+                    Objects.requireNonNullElse(e.getCause(), e).getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        return false;
     }
 
-    private Stream<InfluxRow> mapRawResultToHistoric(FluxTable rawRow) {
-        return rawRow.getRecords().stream().map(r -> {
-            String itemName = (String) r.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
-            if (itemName == null) {
-                itemName = r.getMeasurement();
-            }
-            Object value = r.getValueByKey(COLUMN_VALUE_NAME_V2);
-            Instant time = (Instant) r.getValueByKey(COLUMN_TIME_NAME_V2);
-            return new InfluxRow(time, itemName, value);
-        });
+    private InfluxRow mapRecordToRow(FluxRecord record) {
+        String itemName = (String) record.getValueByKey(InfluxDBConstants.TAG_ITEM_NAME);
+        if (itemName == null) {
+            itemName = record.getMeasurement();
+        }
+        Object value = record.getValueByKey(COLUMN_VALUE_NAME_V2);
+        Instant time = (Instant) record.getValueByKey(COLUMN_TIME_NAME_V2);
+        return new InfluxRow(time, itemName, value);
     }
 
     @Override
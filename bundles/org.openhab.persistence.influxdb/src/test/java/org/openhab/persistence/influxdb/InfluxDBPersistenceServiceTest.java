@@ -112,6 +112,7 @@ public class InfluxDBPersistenceServiceTest {
     public void storeItemWithConnectedRepository() throws UnexpectedConditionException {
         InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
         when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.toLineProtocol(any())).thenReturn("number value=5 0");
         instance.store(ItemTestHelper.createNumberItem("number", 5));
         verify(influxDBRepositoryMock, timeout(5000)).write(any());
     }
@@ -120,6 +121,7 @@ public class InfluxDBPersistenceServiceTest {
     public void storeItemWithDisconnectedRepositoryIsIgnored() throws UnexpectedConditionException {
         InfluxDBPersistenceService instance = getService(VALID_V2_CONFIGURATION);
         when(influxDBRepositoryMock.isConnected()).thenReturn(false);
+        when(influxDBRepositoryMock.toLineProtocol(any())).thenReturn("number value=5 0");
         instance.store(ItemTestHelper.createNumberItem("number", 5));
         verify(influxDBRepositoryMock, never()).write(any());
     }
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.WriteResult;
+
+/**
+ * Tests the batching and spilling of the {@link InfluxDBBatchWriter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBBatchWriterTest {
+    private static final long NEVER = 3_600_000;
+
+    private @TempDir @NonNullByDefault({}) Path spillFolder;
+
+    private final InfluxDBRepository repository = mock(InfluxDBRepository.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    // tasks are only run when the test runs them
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Runnable> ticks = new ArrayList<>();
+    private final List<List<String>> written = new ArrayList<>();
+    private boolean connected = true;
+    private boolean writable = true;
+    // records InfluxDB refuses to write, e.g. because of a field type conflict
+    private final Set<String> rejected = new HashSet<>();
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(scheduler).execute(any());
+        when(scheduler.scheduleWithFixedDelay(any(), anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            ticks.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        });
+        when(repository.write(anyList())).thenAnswer(invocation -> {
+            List<String> records = invocation.getArgument(0);
+            written.add(List.copyOf(records));
+            if (!writable) {
+                return WriteResult.RETRY;
+            }
+            return records.stream().anyMatch(rejected::contains) ? WriteResult.REJECTED : WriteResult.WRITTEN;
+        });
+    }
+
+    private InfluxDBBatchWriter createWriter(int batchMaxPoints, long batchMaxBytes, long batchMaxAge,
+            int bufferMaxPoints, @Nullable InfluxDBSpillLog spillLog) {
+        return new InfluxDBBatchWriter(repository, () -> connected, scheduler, batchMaxPoints, batchMaxBytes,
+                batchMaxAge, bufferMaxPoints, spillLog);
+    }
+
+    private void runTasks() {
+        List<Runnable> pending = new ArrayList<>(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private void tick() {
+        ticks.forEach(Runnable::run);
+    }
+
+    @Test
+    public void batchIsWrittenWhenPointLimitIsReached() {
+        InfluxDBBatchWriter writer = createWriter(3, 1_000_000, NEVER, 100, null);
+        writer.add("a value=1 1");
+        writer.add("a value=2 2");
+        tick();
+        assertTrue(tasks.isEmpty());
+        assertTrue(written.isEmpty());
+
+        writer.add("a value=3 3");
+        runTasks();
+        assertEquals(List.of(List.of("a value=1 1", "a value=2 2", "a value=3 3")), written);
+        assertEquals(0, writer.getQueuedPoints());
+        assertEquals(3, writer.getWrittenPoints());
+    }
+
+    @Test
+    public void batchIsWrittenWhenSizeLimitIsReached() {
+        InfluxDBBatchWriter writer = createWriter(100, 24, NEVER, 100, null);
+        writer.add("a value=1 1");
+        writer.add("a value=2 2");
+        runTasks();
+        assertEquals(List.of(List.of("a value=1 1", "a value=2 2")), written);
+    }
+
+    @Test
+    public void batchIsWrittenWhenOldestPointIsDue() {
+        InfluxDBBatchWriter writer = createWriter(100, 1_000_000, 0, 100, null);
+        writer.add("a value=1 1");
+        assertTrue(tasks.isEmpty());
+        tick();
+        assertEquals(List.of(List.of("a value=1 1")), written);
+    }
+
+    @Test
+    public void failedBatchIsKeptAndRetriedLater() {
+        InfluxDBBatchWriter writer = createWriter(100, 1_000_000, 0, 100, null);
+        writable = false;
+        writer.add("a value=1 1");
+        tick();
+        verify(repository).disconnect();
+        assertEquals(1, writer.getQueuedPoints());
+
+        // the next attempt is delayed
+        writable = true;
+        tick();
+        assertEquals(1, written.size());
+        assertEquals(1, writer.getQueuedPoints());
+
+        writer.shutdown();
+        assertEquals(2, written.size());
+        assertEquals(List.of("a value=1 1"), written.get(1));
+        assertEquals(0, writer.getQueuedPoints());
+    }
+
+    @Test
+    public void rejectedPointsAreDroppedAndTheOthersWritten() {
+        InfluxDBBatchWriter writer = createWriter(3, 1_000_000, NEVER, 100, null);
+        rejected.add("a value=\"text\" 2");
+        writer.add("a value=1 1");
+        writer.add("a value=\"text\" 2");
+        writer.add("a value=3 3");
+        runTasks();
+
+        // the batch is rejected as a whole and its points are written one by one
+        assertEquals(4, written.size());
+        assertEquals(List.of("a value=3 3"), written.get(3));
+        assertEquals(0, writer.getQueuedPoints());
+        assertEquals(2, writer.getWrittenPoints());
+        assertEquals(1, writer.getRejectedPoints());
+        verify(repository, never()).disconnect();
+
+        // the queue is not blocked
+        writer.add("a value=4 4");
+        writer.shutdown();
+        assertEquals(List.of("a value=4 4"), written.getLast());
+    }
+
+    @Test
+    public void rejectedSpilledPointsDoNotBlockTheReplay() {
+        InfluxDBSpillLog spillLog = new InfluxDBSpillLog(spillFolder, 1_000_000);
+        spillLog.append(List.of("a value=\"text\" 1", "a value=2 2"));
+        spillLog.append(List.of("a value=3 3"));
+        rejected.add("a value=\"text\" 1");
+        createWriter(100, 1_000_000, NEVER, 100, spillLog);
+        tick();
+
+        assertTrue(spillLog.isEmpty());
+        assertEquals(List.of(List.of("a value=\"text\" 1", "a value=2 2"), List.of("a value=\"text\" 1"),
+                List.of("a value=2 2"), List.of("a value=3 3")), written);
+        verify(repository, never()).disconnect();
+    }
+
+    @Test
+    public void overflowIsDroppedWithoutSpillLog() {
+        InfluxDBBatchWriter writer = createWriter(2, 1_000_000, NEVER, 2, null);
+        connected = false;
+        for (int i = 0; i < 5; i++) {
+            writer.add("a value=" + i + " " + i);
+        }
+        runTasks();
+        assertTrue(written.isEmpty());
+        assertEquals(1, writer.getQueuedPoints());
+        assertEquals(4, writer.getDroppedPoints());
+    }
+
+    @Test
+    public void overflowIsSpilledAndReplayedOldestFirst() {
+        InfluxDBBatchWriter writer = createWriter(2, 1_000_000, NEVER, 2,
+                new InfluxDBSpillLog(spillFolder, 1_000_000));
+        connected = false;
+        for (int i = 0; i < 5; i++) {
+            writer.add("a value=" + i + " " + i);
+        }
+        runTasks();
+        assertEquals(1, writer.getQueuedPoints());
+        assertEquals(4, writer.getSpilledPoints());
+
+        connected = true;
+        writer.shutdown();
+        assertEquals(List.of(List.of("a value=0 0", "a value=1 1"), List.of("a value=2 2", "a value=3 3"),
+                List.of("a value=4 4")), written);
+        assertEquals(0, writer.getSpilledPoints());
+    }
+
+    @Test
+    public void spilledPointsSurviveRestart() {
+        InfluxDBSpillLog spillLog = new InfluxDBSpillLog(spillFolder, 1_000_000);
+        InfluxDBBatchWriter writer = createWriter(100, 1_000_000, NEVER, 100, spillLog);
+        connected = false;
+        writer.add("a value=1 1");
+        writer.shutdown();
+        assertEquals(1, spillLog.getPoints());
+
+        InfluxDBSpillLog reopened = new InfluxDBSpillLog(spillFolder, 1_000_000);
+        assertEquals(1, reopened.getPoints());
+        connected = true;
+        createWriter(100, 1_000_000, NEVER, 100, reopened);
+        ticks.getLast().run();
+        assertEquals(List.of(List.of("a value=1 1")), written);
+        assertTrue(reopened.isEmpty());
+    }
+
+    @Test
+    public void oldestSegmentsAreDiscardedWhenSpillLogIsFull() {
+        InfluxDBSpillLog spillLog = new InfluxDBSpillLog(spillFolder, 40);
+        spillLog.append(List.of("a value=1 1"));
+        spillLog.append(List.of("a value=2 2"));
+        spillLog.append(List.of("a value=3 3"));
+
+        assertEquals(2, spillLog.getPoints());
+        InfluxDBSpillLog.Segment oldest = Objects.requireNonNull(spillLog.peek());
+        assertEquals(List.of("a value=2 2"), oldest.records());
+    }
+}
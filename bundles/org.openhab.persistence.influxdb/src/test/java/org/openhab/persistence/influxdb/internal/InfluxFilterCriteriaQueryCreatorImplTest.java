@@ -12,10 +12,12 @@
  */
 package org.openhab.persistence.influxdb.internal;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -35,6 +37,7 @@ import org.openhab.core.items.MetadataKey;
 import org.openhab.core.items.MetadataRegistry;
 import org.openhab.core.library.types.PercentType;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.InfluxDBAggregation;
 import org.openhab.persistence.influxdb.InfluxDBPersistenceService;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1FilterCriteriaQueryCreatorImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2FilterCriteriaQueryCreatorImpl;
@@ -186,6 +189,52 @@ public class InfluxFilterCriteriaQueryCreatorImplTest {
                 \t|> last()"""));
     }
 
+    @Test
+    public void testAggregatedQuery() {
+        FilterCriteria criteria = createBaseCriteria();
+        ZonedDateTime now = ZonedDateTime.now();
+        criteria.setBeginDate(now);
+        criteria.setOperator(FilterCriteria.Operator.LTE);
+        criteria.setState(new PercentType(90));
+        InfluxDBAggregation aggregation = new InfluxDBAggregation(Duration.ofHours(1),
+                InfluxDBAggregation.Function.MEAN);
+
+        String queryV1 = instanceV1.createQuery(criteria, RETENTION_POLICY, null, aggregation);
+        assertThat(queryV1, equalTo(String.format(
+                "SELECT mean(\"value\") AS \"value\" FROM \"origin\".\"sampleItem\" WHERE time >= '%s' AND value <= 90 GROUP BY time(3600000ms),\"item\" fill(none) ORDER BY time DESC;",
+                now.toInstant())));
+
+        String queryV2 = instanceV2.createQuery(criteria, RETENTION_POLICY, null, aggregation);
+        // the values are filtered before they are aggregated
+        assertThat(queryV2, containsString("""
+                \t|> filter(fn: (r) => r["_measurement"] == "sampleItem")
+                \t|> filter(fn: (r) => (r["_field"] == "value" and r["_value"] <= 90))
+                \t|> aggregateWindow("""));
+        assertThat(queryV2, containsString("every:3600000ms"));
+        assertThat(queryV2, containsString("fn:mean"));
+        assertThat(queryV2, containsString("""
+                createEmpty:false)
+                \t|> keep(columns:["_measurement", "_time", "_value"])
+                \t|> sort(desc:true, columns:["_time"])"""));
+    }
+
+    @Test
+    public void testAggregatedQueryWithAliasAndPagination() {
+        FilterCriteria criteria = createBaseCriteria();
+        criteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        criteria.setPageNumber(2);
+        criteria.setPageSize(10);
+        InfluxDBAggregation aggregation = new InfluxDBAggregation(Duration.ofMinutes(5),
+                InfluxDBAggregation.Function.MAX);
+        when(metadataRegistry.get(new MetadataKey(InfluxDBPersistenceService.SERVICE_NAME, "sampleAlias")))
+                .thenReturn(new Metadata(new MetadataKey(InfluxDBPersistenceService.SERVICE_NAME, "sampleAlias"),
+                        "measurementName", Map.of()));
+
+        String queryV1 = instanceV1.createQuery(criteria, RETENTION_POLICY, "sampleAlias", aggregation);
+        assertThat(queryV1, equalTo(
+                "SELECT max(\"value\") AS \"value\" FROM \"origin\".\"measurementName\" WHERE item = 'sampleAlias' GROUP BY time(300000ms),\"item\" fill(none) ORDER BY time ASC LIMIT 10 OFFSET 20;"));
+    }
+
     private FilterCriteria createBaseCriteria() {
         FilterCriteria criteria = new FilterCriteria();
         criteria.setItemName(ITEM_NAME);
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal.influx1;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.influxdb.dto.QueryResult;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.MetadataRegistry;
+import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
+import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+
+/**
+ * Tests the handling of the chunks of a query response by the {@link InfluxDB1RepositoryImpl}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDB1RepositoryImplTest {
+
+    private final InfluxDB1RepositoryImpl repository = new InfluxDB1RepositoryImpl(
+            mock(InfluxDBConfiguration.class), new InfluxDBMetadataService(mock(MetadataRegistry.class)));
+    private final List<InfluxRow> rows = new ArrayList<>();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final CompletableFuture<@Nullable Void> completion = new CompletableFuture<>();
+
+    private void onChunk(QueryResult queryResult) {
+        repository.onChunk(queryResult, rows::add, () -> cancelled.set(true), completion);
+    }
+
+    private static QueryResult rows(String itemName, Object... values) {
+        QueryResult.Series series = new QueryResult.Series();
+        series.setName(itemName);
+        series.setColumns(List.of("time", "value"));
+        List<List<Object>> seriesValues = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            seriesValues.add(List.of(Instant.ofEpochSecond(i).toString(), values[i]));
+        }
+        series.setValues(seriesValues);
+        QueryResult.Result result = new QueryResult.Result();
+        result.setSeries(List.of(series));
+        QueryResult queryResult = new QueryResult();
+        queryResult.setResults(List.of(result));
+        return queryResult;
+    }
+
+    private static QueryResult error(String error) {
+        QueryResult queryResult = new QueryResult();
+        queryResult.setError(error);
+        return queryResult;
+    }
+
+    @Test
+    public void doneChunkEndsTheResponse() {
+        onChunk(rows("item", 1.0, 2.0));
+        onChunk(rows("item", 3.0));
+        onChunk(error("DONE"));
+        completion.complete(null);
+
+        assertFalse(completion.isCompletedExceptionally());
+        assertFalse(cancelled.get());
+        assertEquals(List.of(1.0, 2.0, 3.0), rows.stream().map(InfluxRow::value).toList());
+        assertEquals(Instant.ofEpochSecond(1), rows.get(1).time());
+        assertEquals("item", rows.get(0).itemName());
+    }
+
+    @Test
+    public void errorChunkFailsTheQuery() {
+        onChunk(rows("item", 1.0));
+        onChunk(error("partial write: field type conflict"));
+
+        assertTrue(cancelled.get());
+        ExecutionException e = assertThrows(ExecutionException.class, completion::get);
+        assertTrue(e.getCause().getMessage().contains("field type conflict"));
+    }
+
+    @Test
+    public void errorOfAResultFailsTheQuery() {
+        QueryResult.Result result = new QueryResult.Result();
+        result.setError("database not found: openhab");
+        QueryResult queryResult = new QueryResult();
+        queryResult.setResults(List.of(result));
+        onChunk(queryResult);
+
+        assertTrue(cancelled.get());
+        assertTrue(completion.isCompletedExceptionally());
+        assertTrue(rows.isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link GenericItemStore} can hold values of any {@link State} type. Values are kept in a concurrent skip list,
+ * so readers never block writers.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class GenericItemStore extends ItemStore {
+    // tree node, entry record, timestamp and state
+    private static final int BYTES_PER_ENTRY = 128;
+
+    private final ConcurrentSkipListSet<PersistEntry> database = new ConcurrentSkipListSet<>(
+            Comparator.comparing(PersistEntry::timestamp));
+    // ConcurrentSkipListSet.size() is not a constant-time operation, writers are serialized so we can count ourselves
+    private volatile int size = 0;
+
+    @Override
+    boolean add(ZonedDateTime timestamp, State state, long limit) {
+        if (database.add(new PersistEntry(timestamp, state))) {
+            size++;
+        }
+        trim(limit);
+        return true;
+    }
+
+    @Override
+    List<HistoricItem> query(String itemName, FilterCriteria filter) {
+        NavigableSet<PersistEntry> entries = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING ? database
+                : database.descendingSet();
+        return entries.stream().filter(e -> applies(e, filter))
+                .map(e -> toHistoricItem(itemName, e.timestamp(), e.state())).toList();
+    }
+
+    @Override
+    void remove(FilterCriteria filter) {
+        int removed = 0;
+        for (PersistEntry entry : database) {
+            if (applies(entry, filter) && database.remove(entry)) {
+                removed++;
+            }
+        }
+        size -= removed;
+    }
+
+    @Override
+    void trim(long limit) {
+        while (size > limit && database.pollFirst() != null) {
+            size--;
+        }
+    }
+
+    @Override
+    void forEach(BiConsumer<ZonedDateTime, State> consumer) {
+        database.forEach(e -> consumer.accept(e.timestamp(), e.state()));
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    @Nullable
+    ZonedDateTime earliest() {
+        // iterators are weakly consistent and don't throw if the set is modified concurrently
+        Iterator<PersistEntry> iterator = database.iterator();
+        return iterator.hasNext() ? iterator.next().timestamp() : null;
+    }
+
+    @Override
+    @Nullable
+    ZonedDateTime latest() {
+        Iterator<PersistEntry> iterator = database.descendingIterator();
+        return iterator.hasNext() ? iterator.next().timestamp() : null;
+    }
+
+    @Override
+    int bytesPerEntry() {
+        return BYTES_PER_ENTRY;
+    }
+
+    private boolean applies(PersistEntry entry, FilterCriteria filter) {
+        return appliesTime(entry.timestamp(), filter) && appliesState(entry.state(), filter);
+    }
+
+    private record PersistEntry(ZonedDateTime timestamp, State state) {
+    }
+}
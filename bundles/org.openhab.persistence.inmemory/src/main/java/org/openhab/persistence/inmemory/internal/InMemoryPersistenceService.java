@@ -12,16 +12,13 @@
  */
 package org.openhab.persistence.inmemory.internal;
 
-import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -66,11 +63,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     protected static final String CONFIG_URI = "persistence:inmemory";
     private final String MAX_ENTRIES_CONFIG = "maxEntries";
     private final long MAX_ENTRIES_DEFAULT = 512;
+    private final String MAX_BYTES_CONFIG = "maxBytes";
+    private final long MAX_BYTES_DEFAULT = 0;
 
     private final Logger logger = LoggerFactory.getLogger(InMemoryPersistenceService.class);
 
     private final Map<String, PersistItem> persistMap = new ConcurrentHashMap<>();
     private long maxEntries = MAX_ENTRIES_DEFAULT;
+    private long maxBytes = MAX_BYTES_DEFAULT;
 
     @Activate
     public void activate(Map<String, Object> config) {
@@ -81,14 +81,13 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     @Modified
     public void modified(Map<String, Object> config) {
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
+        maxBytes = ConfigParser.valueAsOrElse(config.get(MAX_BYTES_CONFIG), Long.class, MAX_BYTES_DEFAULT);
 
         persistMap.values().forEach(persistItem -> {
-            Lock lock = persistItem.lock();
+            Lock lock = persistItem.lock;
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
+                persistItem.store.trim(getLimit(persistItem.store));
             } finally {
                 lock.unlock();
             }
@@ -148,11 +147,10 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return false;
         }
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            persistItem.store.remove(filter);
         } finally {
             lock.unlock();
         }
@@ -171,19 +169,8 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
-        Lock lock = persistItem.lock();
-        lock.lock();
-
-        Comparator<PersistEntry> comparator = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING
-                ? Comparator.comparing(PersistEntry::timestamp)
-                : Comparator.comparing(PersistEntry::timestamp).reversed();
-
-        try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
-                    .map(e -> toHistoricItem(itemName, e)).toList();
-        } finally {
-            lock.unlock();
-        }
+        // readers don't lock, the store always provides a consistent view
+        return persistItem.store.query(itemName, filter);
     }
 
     @Override
@@ -193,55 +180,31 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     }
 
     private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
-        Lock lock = itemEntry.getValue().lock();
-        lock.lock();
-        try {
-            String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
-            return new PersistenceItemInfo() {
-
-                @Override
-                public String getName() {
-                    return name;
-                }
-
-                @Override
-                public @Nullable Integer getCount() {
-                    return count;
-                }
-
-                @Override
-                public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
-                }
-
-                @Override
-                public @Nullable Date getLatest() {
-                    return Date.from(latest);
-                }
-            };
-        } finally {
-            lock.unlock();
-        }
-    }
+        ItemStore store = itemEntry.getValue().store;
+        String name = itemEntry.getKey();
+        Integer count = store.size();
+        ZonedDateTime earliest = store.earliest();
+        ZonedDateTime latest = store.latest();
+        return new PersistenceItemInfo() {
 
-    private HistoricItem toHistoricItem(String itemName, PersistEntry entry) {
-        return new HistoricItem() {
             @Override
-            public ZonedDateTime getTimestamp() {
-                return entry.timestamp();
+            public String getName() {
+                return name;
             }
 
             @Override
-            public State getState() {
-                return entry.state();
+            public @Nullable Integer getCount() {
+                return count;
             }
 
             @Override
-            public String getName() {
-                return itemName;
+            public @Nullable Date getEarliest() {
+                return earliest != null ? Date.from(earliest.toInstant()) : null;
+            }
+
+            @Override
+            public @Nullable Date getLatest() {
+                return latest != null ? Date.from(latest.toInstant()) : null;
             }
         };
     }
@@ -251,71 +214,53 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
+        PersistItem persistItem = Objects.requireNonNull(
+                persistMap.computeIfAbsent(itemName, k -> new PersistItem(createStore(timestamp, state))));
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
+            if (!persistItem.store.add(timestamp, state, getLimit(persistItem.store))) {
+                // the store can't hold this state (e.g. a non-numeric state for a numeric item), switch to generic
+                ItemStore genericStore = new GenericItemStore();
+                long limit = getLimit(genericStore);
+                persistItem.store.forEach((t, s) -> genericStore.add(t, s, limit));
+                genericStore.add(timestamp, state, limit);
+                persistItem.store = genericStore;
+                logger.debug("Switched to generic storage for item '{}' after storing state '{}'", itemName, state);
             }
         } finally {
             lock.unlock();
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private boolean applies(PersistEntry entry, FilterCriteria filter) {
-        ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null && beginDate.isAfter(entry.timestamp())) {
-            return false;
-        }
-        ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null && endDate.isBefore(entry.timestamp())) {
-            return false;
-        }
-
-        State refState = filter.getState();
-        FilterCriteria.Operator operator = filter.getOperator();
-        if (refState == null) {
-            // no state filter
-            return true;
-        }
-
-        if (operator == FilterCriteria.Operator.EQ) {
-            return entry.state().equals(refState);
-        }
-
-        if (operator == FilterCriteria.Operator.NEQ) {
-            return !entry.state().equals(refState);
-        }
+    private ItemStore createStore(ZonedDateTime timestamp, State state) {
+        ItemStore store = NumericItemStore.forState(timestamp, state);
+        return store != null ? store : new GenericItemStore();
+    }
 
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
-            if (operator == FilterCriteria.Operator.GT) {
-                return comparableState.compareTo(refState) > 0;
-            }
-            if (operator == FilterCriteria.Operator.GTE) {
-                return comparableState.compareTo(refState) >= 0;
-            }
-            if (operator == FilterCriteria.Operator.LT) {
-                return comparableState.compareTo(refState) < 0;
-            }
-            if (operator == FilterCriteria.Operator.LTE) {
-                return comparableState.compareTo(refState) <= 0;
-            }
-        } else {
-            logger.warn("Using operator {} but state {} is not comparable!", operator, refState);
+    /**
+     * Get the maximum number of values the given store may hold, considering both the configured number of entries
+     * and the memory budget
+     *
+     * @param store the store
+     * @return the maximum number of values
+     */
+    private long getLimit(ItemStore store) {
+        long limit = maxEntries > 0 ? maxEntries : Long.MAX_VALUE;
+        if (maxBytes > 0) {
+            limit = Math.min(limit, maxBytes / store.bytesPerEntry());
         }
-        return true;
+        return limit;
     }
 
-    private record PersistEntry(ZonedDateTime timestamp, State state) {
-    }
+    private static class PersistItem {
+        // only writers lock, the store is replaced when switching to generic storage
+        private final Lock lock = new ReentrantLock();
+        private volatile ItemStore store;
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
+        public PersistItem(ItemStore store) {
+            this.store = store;
+        }
     }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ItemStore} holds the persisted values of a single item, ordered by timestamp. Modifications have to be
+ * serialized by the caller, reading methods may be called concurrently to modifications without any locking.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+abstract class ItemStore {
+    private final Logger logger = LoggerFactory.getLogger(ItemStore.class);
+
+    /**
+     * Adds a value. If a value with the same timestamp already exists, the existing value is kept. If the number of
+     * values exceeds the given limit, the oldest values are removed.
+     *
+     * @param timestamp the timestamp of the value
+     * @param state the value
+     * @param limit the maximum number of values to keep
+     * @return <code>false</code> if this store cannot hold the given value, <code>true</code> otherwise
+     */
+    abstract boolean add(ZonedDateTime timestamp, State state, long limit);
+
+    /**
+     * Returns all values matching the filter, ordered as requested by the filter.
+     *
+     * @param itemName the name used for the returned {@link HistoricItem}s
+     * @param filter the filter
+     * @return the matching values
+     */
+    abstract List<HistoricItem> query(String itemName, FilterCriteria filter);
+
+    /**
+     * Removes all values matching the filter.
+     *
+     * @param filter the filter
+     */
+    abstract void remove(FilterCriteria filter);
+
+    /**
+     * Removes the oldest values until at most the given number of values is left.
+     *
+     * @param limit the maximum number of values to keep
+     */
+    abstract void trim(long limit);
+
+    /**
+     * Calls the given consumer for every value, in ascending time order.
+     *
+     * @param consumer the consumer
+     */
+    abstract void forEach(BiConsumer<ZonedDateTime, State> consumer);
+
+    abstract int size();
+
+    abstract @Nullable ZonedDateTime earliest();
+
+    abstract @Nullable ZonedDateTime latest();
+
+    /**
+     * Returns the (estimated) number of bytes used for a single value, used to convert a memory budget into a number
+     * of values.
+     *
+     * @return the number of bytes per value
+     */
+    abstract int bytesPerEntry();
+
+    protected boolean appliesTime(ZonedDateTime timestamp, FilterCriteria filter) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (beginDate != null && beginDate.isAfter(timestamp)) {
+            return false;
+        }
+        ZonedDateTime endDate = filter.getEndDate();
+        return endDate == null || !endDate.isBefore(timestamp);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected boolean appliesState(State state, FilterCriteria filter) {
+        State refState = filter.getState();
+        FilterCriteria.Operator operator = filter.getOperator();
+        if (refState == null) {
+            // no state filter
+            return true;
+        }
+
+        if (operator == FilterCriteria.Operator.EQ) {
+            return state.equals(refState);
+        }
+
+        if (operator == FilterCriteria.Operator.NEQ) {
+            return !state.equals(refState);
+        }
+
+        if (state instanceof Comparable comparableState && state.getClass().equals(refState.getClass())) {
+            if (operator == FilterCriteria.Operator.GT) {
+                return comparableState.compareTo(refState) > 0;
+            }
+            if (operator == FilterCriteria.Operator.GTE) {
+                return comparableState.compareTo(refState) >= 0;
+            }
+            if (operator == FilterCriteria.Operator.LT) {
+                return comparableState.compareTo(refState) < 0;
+            }
+            if (operator == FilterCriteria.Operator.LTE) {
+                return comparableState.compareTo(refState) <= 0;
+            }
+        } else {
+            logger.warn("Using operator {} but state {} is not comparable!", operator, refState);
+        }
+        return true;
+    }
+
+    protected static HistoricItem toHistoricItem(String itemName, ZonedDateTime timestamp, State state) {
+        return new HistoricItem() {
+            @Override
+            public ZonedDateTime getTimestamp() {
+                return timestamp;
+            }
+
+            @Override
+            public State getState() {
+                return state;
+            }
+
+            @Override
+            public String getName() {
+                return itemName;
+            }
+        };
+    }
+}
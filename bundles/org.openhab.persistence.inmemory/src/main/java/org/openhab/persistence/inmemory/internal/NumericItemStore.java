@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link NumericItemStore} holds {@link DecimalType} or {@link QuantityType} values as primitive timestamps and
+ * values in fixed-size segments. Appending in time order is O(1), range queries use binary search on the timestamps.
+ *
+ * Readers work on an immutable {@link View} and never take a lock. Appends only write slots that are not yet part of
+ * any published view and then publish a new view, evicting the oldest values only moves the start of the view. All
+ * other modifications (out-of-order inserts, removals) copy the values into new segments.
+ *
+ * All values share the unit of the first stored value, values are stored as double. Values that cannot be represented
+ * are rejected, the caller is expected to migrate to a {@link GenericItemStore} in that case.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class NumericItemStore extends ItemStore {
+    // one long timestamp and one double value
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int SEGMENT_SIZE = 256;
+
+    // limits of the epoch nanos representation
+    private static final long MIN_EPOCH_SECOND = Long.MIN_VALUE / 1_000_000_000L + 1;
+    private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / 1_000_000_000L - 1;
+
+    private static final View EMPTY_VIEW = new View(new Segment[0], 0, 0);
+
+    private final @Nullable Unit<?> unit;
+    private final ZoneId zone;
+
+    private volatile View view = EMPTY_VIEW;
+
+    private NumericItemStore(@Nullable Unit<?> unit, ZoneId zone) {
+        this.unit = unit;
+        this.zone = zone;
+    }
+
+    /**
+     * Creates a store that is able to hold the given value.
+     *
+     * @param timestamp the timestamp of the first value
+     * @param state the first value
+     * @return a new store or <code>null</code> if the value cannot be held by a {@link NumericItemStore}
+     */
+    static @Nullable NumericItemStore forState(ZonedDateTime timestamp, State state) {
+        if (state instanceof QuantityType<?> quantityType) {
+            return new NumericItemStore(quantityType.getUnit(), timestamp.getZone());
+        } else if (state.getClass() == DecimalType.class) {
+            // only plain DecimalType, subclasses like PercentType can't be restored from a double
+            return new NumericItemStore(null, timestamp.getZone());
+        }
+        return null;
+    }
+
+    @Override
+    boolean add(ZonedDateTime timestamp, State state, long limit) {
+        long epochSecond = timestamp.toEpochSecond();
+        if (epochSecond < MIN_EPOCH_SECOND || epochSecond > MAX_EPOCH_SECOND) {
+            return false;
+        }
+        Double value = toValue(state);
+        if (value == null) {
+            return false;
+        }
+        if (limit > 0) {
+            insert(toNanos(timestamp.toInstant()), value, limit);
+        }
+        return true;
+    }
+
+    @Override
+    List<HistoricItem> query(String itemName, FilterCriteria filter) {
+        View current = view;
+        int from = lowerBound(current, filter.getBeginDate());
+        int to = upperBound(current, filter.getEndDate());
+        if (from >= to) {
+            return List.of();
+        }
+
+        List<HistoricItem> items = new ArrayList<>(to - from);
+        boolean ascending = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING;
+        for (int i = 0; i < to - from; i++) {
+            int index = ascending ? from + i : to - 1 - i;
+            State state = toState(current.value(index), unit);
+            if (appliesState(state, filter)) {
+                items.add(toHistoricItem(itemName, toZonedDateTime(current.timestamp(index)), state));
+            }
+        }
+        return items;
+    }
+
+    @Override
+    void remove(FilterCriteria filter) {
+        View current = view;
+        int from = lowerBound(current, filter.getBeginDate());
+        int to = upperBound(current, filter.getEndDate());
+        if (from >= to) {
+            return;
+        }
+
+        // keep all values outside the range or not matching the state filter
+        long[] timestamps = new long[current.size];
+        double[] values = new double[current.size];
+        int count = 0;
+        for (int i = 0; i < current.size; i++) {
+            if (i < from || i >= to || !appliesState(toState(current.value(i), unit), filter)) {
+                timestamps[count] = current.timestamp(i);
+                values[count] = current.value(i);
+                count++;
+            }
+        }
+        if (count < current.size) {
+            view = View.of(timestamps, values, count);
+        }
+    }
+
+    @Override
+    void trim(long limit) {
+        View current = view;
+        if (current.size > limit) {
+            view = current.dropOldest((int) (current.size - limit));
+        }
+    }
+
+    @Override
+    void forEach(BiConsumer<ZonedDateTime, State> consumer) {
+        View current = view;
+        for (int i = 0; i < current.size; i++) {
+            consumer.accept(toZonedDateTime(current.timestamp(i)), toState(current.value(i), unit));
+        }
+    }
+
+    @Override
+    int size() {
+        return view.size;
+    }
+
+    @Override
+    @Nullable
+    ZonedDateTime earliest() {
+        View current = view;
+        return current.size == 0 ? null : toZonedDateTime(current.timestamp(0));
+    }
+
+    @Override
+    @Nullable
+    ZonedDateTime latest() {
+        View current = view;
+        return current.size == 0 ? null : toZonedDateTime(current.timestamp(current.size - 1));
+    }
+
+    @Override
+    int bytesPerEntry() {
+        return BYTES_PER_ENTRY;
+    }
+
+    private void insert(long timestamp, double value, long limit) {
+        View current = view;
+        if (current.size == 0 || timestamp > current.timestamp(current.size - 1)) {
+            // common case: values arrive in time order
+            current = current.append(timestamp, value);
+        } else {
+            int index = lowerBound(current, timestamp);
+            if (index < current.size && current.timestamp(index) == timestamp) {
+                // keep the existing value
+                return;
+            }
+            if (index == 0 && current.size >= limit) {
+                // older than everything we keep
+                return;
+            }
+            current = current.insert(index, timestamp, value);
+        }
+        if (current.size > limit) {
+            current = current.dropOldest((int) (current.size - limit));
+        }
+        view = current;
+    }
+
+    /**
+     * @return the first index with a timestamp not before the given date, 0 if the date is null
+     */
+    private int lowerBound(View view, @Nullable ZonedDateTime date) {
+        if (date == null) {
+            return 0;
+        }
+        long epochSecond = date.toEpochSecond();
+        if (epochSecond < MIN_EPOCH_SECOND) {
+            return 0;
+        } else if (epochSecond > MAX_EPOCH_SECOND) {
+            return view.size;
+        }
+        return lowerBound(view, toNanos(date.toInstant()));
+    }
+
+    /**
+     * @return the first index with a timestamp after the given date, size if the date is null
+     */
+    private int upperBound(View view, @Nullable ZonedDateTime date) {
+        if (date == null) {
+            return view.size;
+        }
+        long epochSecond = date.toEpochSecond();
+        if (epochSecond < MIN_EPOCH_SECOND) {
+            return 0;
+        } else if (epochSecond > MAX_EPOCH_SECOND) {
+            return view.size;
+        }
+        return lowerBound(view, toNanos(date.toInstant()) + 1);
+    }
+
+    private int lowerBound(View view, long timestamp) {
+        int low = 0;
+        int high = view.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (view.timestamp(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private @Nullable Double toValue(State state) {
+        Unit<?> localUnit = unit;
+        if (localUnit == null) {
+            return state.getClass() == DecimalType.class ? ((DecimalType) state).doubleValue() : null;
+        }
+        if (state instanceof QuantityType<?> quantityType) {
+            if (localUnit.equals(quantityType.getUnit())) {
+                return quantityType.doubleValue();
+            }
+            QuantityType<?> converted = quantityType.toUnit(localUnit);
+            return converted != null ? converted.doubleValue() : null;
+        }
+        return null;
+    }
+
+    private static <Q extends Quantity<Q>> State toState(double value, @Nullable Unit<Q> unit) {
+        return unit == null ? new DecimalType(value) : new QuantityType<>(value, unit);
+    }
+
+    private ZonedDateTime toZonedDateTime(long epochNanos) {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L),
+                Math.floorMod(epochNanos, 1_000_000_000L));
+        return ZonedDateTime.ofInstant(instant, zone);
+    }
+
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private record Segment(long[] timestamps, double[] values) {
+        Segment() {
+            this(new long[SEGMENT_SIZE], new double[SEGMENT_SIZE]);
+        }
+    }
+
+    /**
+     * An immutable view on the stored values. Index 0 is the oldest value, which is located at position
+     * <code>offset</code> of the first segment.
+     */
+    private record View(Segment[] segments, int offset, int size) {
+
+        static View of(long[] timestamps, double[] values, int size) {
+            Segment[] segments = new Segment[(size + SEGMENT_SIZE - 1) / SEGMENT_SIZE];
+            for (int i = 0; i < segments.length; i++) {
+                Segment segment = new Segment();
+                int length = Math.min(SEGMENT_SIZE, size - i * SEGMENT_SIZE);
+                System.arraycopy(timestamps, i * SEGMENT_SIZE, segment.timestamps, 0, length);
+                System.arraycopy(values, i * SEGMENT_SIZE, segment.values, 0, length);
+                segments[i] = segment;
+            }
+            return new View(segments, 0, size);
+        }
+
+        long timestamp(int index) {
+            int position = offset + index;
+            return segments[position / SEGMENT_SIZE].timestamps[position % SEGMENT_SIZE];
+        }
+
+        double value(int index) {
+            int position = offset + index;
+            return segments[position / SEGMENT_SIZE].values[position % SEGMENT_SIZE];
+        }
+
+        /**
+         * Writes the value to the first unused slot and returns a view including it. The slot is not visible to this
+         * or any earlier view, so concurrent readers are not affected.
+         */
+        View append(long timestamp, double value) {
+            int position = offset + size;
+            Segment[] newSegments = segments;
+            if (position / SEGMENT_SIZE == segments.length) {
+                newSegments = Arrays.copyOf(segments, segments.length + 1);
+                newSegments[segments.length] = new Segment();
+            }
+            Segment segment = newSegments[position / SEGMENT_SIZE];
+            segment.timestamps[position % SEGMENT_SIZE] = timestamp;
+            segment.values[position % SEGMENT_SIZE] = value;
+            return new View(newSegments, offset, size + 1);
+        }
+
+        /**
+         * Returns a view with the value inserted at the given index, copying all values into new segments.
+         */
+        View insert(int index, long timestamp, double value) {
+            long[] timestamps = new long[size + 1];
+            double[] values = new double[size + 1];
+            for (int i = 0; i < size; i++) {
+                int target = i < index ? i : i + 1;
+                timestamps[target] = timestamp(i);
+                values[target] = value(i);
+            }
+            timestamps[index] = timestamp;
+            values[index] = value;
+            return of(timestamps, values, size + 1);
+        }
+
+        /**
+         * Returns a view without the given number of oldest values. Segments that are no longer used are released.
+         */
+        View dropOldest(int count) {
+            int newOffset = offset + count;
+            int unusedSegments = newOffset / SEGMENT_SIZE;
+            Segment[] newSegments = unusedSegments == 0 ? segments
+                    : Arrays.copyOfRange(segments, unusedSegments, segments.length);
+            return new View(newSegments, newOffset - unusedSegments * SEGMENT_SIZE, size - count);
+        }
+    }
+}
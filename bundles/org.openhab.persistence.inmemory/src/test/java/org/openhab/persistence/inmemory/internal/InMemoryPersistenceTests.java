@@ -16,17 +16,26 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -35,7 +44,9 @@ import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
@@ -275,4 +286,189 @@ public class InMemoryPersistenceTests {
 
         // begin date is before first date is already covered by case #1
     }
+
+    @Test
+    public void numericValuesAreKeptInTimeOrder() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start.plusHours(2), new DecimalType(3));
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusHours(3), new DecimalType(4));
+        service.store(item, start.plusHours(1), new DecimalType(2));
+        // the first value for a timestamp is kept
+        service.store(item, start.plusHours(1), new DecimalType(5));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        filterCriteria.setBeginDate(start.plusHours(1));
+        filterCriteria.setEndDate(start.plusHours(3));
+
+        List<Integer> resultSet = new ArrayList<>();
+        List<ZonedDateTime> timestamps = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> {
+            resultSet.add(((DecimalType) h.getState()).intValue());
+            timestamps.add(h.getTimestamp());
+        });
+
+        assertThat(resultSet, contains(2, 3, 4));
+        assertThat(timestamps, contains(start.plusHours(1), start.plusHours(2), start.plusHours(3)));
+    }
+
+    @Test
+    public void numericValuesAreLimitedByMaxEntries() {
+        service.activate(Map.of("maxEntries", 3L));
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 10; i++) {
+            service.store(item, start.plusMinutes(i), new DecimalType(i));
+        }
+        // older than all retained values, must be discarded
+        service.store(item, start.minusMinutes(1), new DecimalType(-1));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(7, 8, 9));
+    }
+
+    @Test
+    public void numericValuesAreLimitedByMaxBytes() {
+        // 16 bytes per numeric value
+        service.activate(Map.of("maxEntries", 0L, "maxBytes", 64L));
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 1000; i++) {
+            service.store(item, start.plusSeconds(i), new DecimalType(i));
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(996, 997, 998, 999));
+    }
+
+    @Test
+    public void quantityValuesAreConvertedToFirstUnit() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new QuantityType<>("20 °C"));
+        service.store(item, start.plusHours(1), new QuantityType<>("77 °F"));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<HistoricItem> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(resultSet::add);
+
+        assertThat(resultSet, hasSize(2));
+        QuantityType<?> converted = (QuantityType<?>) resultSet.get(1).getState();
+        assertThat(converted.getUnit(), is(SIUnits.CELSIUS));
+        assertThat(converted.doubleValue(), is(closeTo(25.0, 0.0001)));
+    }
+
+    @Test
+    public void nonNumericValueSwitchesStorage() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusHours(1), new StringType("value"));
+        service.store(item, start.plusHours(2), new DecimalType(3));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<State> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState()));
+
+        assertThat(resultSet, contains(new DecimalType(1), new StringType("value"), new DecimalType(3)));
+    }
+
+    @Test
+    public void removeNumericValuesWithStateFilter() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 6; i++) {
+            service.store(item, start.plusHours(i), new DecimalType(i % 2));
+        }
+
+        filterCriteria.setBeginDate(start.plusHours(1));
+        filterCriteria.setEndDate(start.plusHours(4));
+        filterCriteria.setState(new DecimalType(1));
+        filterCriteria.setOperator(FilterCriteria.Operator.EQ);
+        service.remove(filterCriteria);
+
+        filterCriteria = new FilterCriteria();
+        filterCriteria.setItemName(ITEM_NAME);
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<ZonedDateTime> timestamps = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> timestamps.add(h.getTimestamp()));
+
+        assertThat(timestamps, contains(start, start.plusHours(2), start.plusHours(4), start.plusHours(5)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    public void concurrentReadersSeeConsistentDataWhileWriting(boolean numeric) throws Exception {
+        int maxEntries = 1000;
+        service.activate(Map.of("maxEntries", (long) maxEntries));
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        int values = 50000;
+        int readers = 4;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong queries = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<?>> readerFutures = new ArrayList<>();
+            for (int r = 0; r < readers; r++) {
+                readerFutures.add(executor.submit(() -> {
+                    FilterCriteria filter = new FilterCriteria();
+                    filter.setItemName(ITEM_NAME);
+                    filter.setOrdering(FilterCriteria.Ordering.ASCENDING);
+                    long previousLast = -1;
+                    // at least one query per reader, even if the writes are done before it starts
+                    do {
+                        List<Long> seconds = new ArrayList<>();
+                        for (HistoricItem historicItem : service.query(filter)) {
+                            long second = Duration.between(start, historicItem.getTimestamp()).getSeconds();
+                            // values must always match their timestamp
+                            double value = Double.parseDouble(historicItem.getState().toString());
+                            assertThat(value, is((double) second));
+                            seconds.add(second);
+                        }
+                        if (!seconds.isEmpty()) {
+                            long first = seconds.get(0);
+                            long last = seconds.get(seconds.size() - 1);
+                            // values are written one by one, so a result is an uninterrupted range
+                            for (int i = 0; i < seconds.size(); i++) {
+                                assertThat(seconds.get(i), is(first + i));
+                            }
+                            // a later query never sees older data than an earlier one
+                            assertThat(last, is(greaterThanOrEqualTo(previousLast)));
+                            if (numeric) {
+                                // a published view holds every value up to the latest one, trimmed to maxEntries
+                                assertThat(seconds.size(), is((int) Math.min(last + 1, maxEntries)));
+                            }
+                            previousLast = last;
+                        }
+                        queries.incrementAndGet();
+                    } while (writing.get());
+                }));
+            }
+
+            for (int i = 0; i < values; i++) {
+                State state = numeric ? new DecimalType(i) : new StringType(Integer.toString(i));
+                service.store(item, start.plusSeconds(i), state);
+            }
+            writing.set(false);
+
+            for (Future<?> future : readerFutures) {
+                // propagates assertion errors from the readers
+                future.get();
+            }
+
+            assertThat(queries.get(), is(greaterThan(0L)));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<HistoricItem> storedStates = new ArrayList<>();
+        service.query(filterCriteria).forEach(storedStates::add);
+        assertThat(storedStates, hasSize(maxEntries));
+        assertThat(Double.parseDouble(storedStates.get(0).getState().toString()), is((double) (values - maxEntries)));
+    }
 }
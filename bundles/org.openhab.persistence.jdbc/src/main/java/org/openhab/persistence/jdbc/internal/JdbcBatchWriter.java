@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JdbcBatchWriter} decouples storing from the calling threads. Values are put into a bounded queue and
+ * written by a small pool of writer threads. Each writer collects up to <code>batchSize</code> rows or waits at most
+ * <code>flushInterval</code> milliseconds after the oldest collected row was queued, groups the rows per item table and
+ * stores every group with one JDBC batch.
+ *
+ * When the queue is full, the configured {@link BackPressure} decides whether the caller waits, the oldest queued row
+ * is dropped or the row is spilled to a file. With {@link BackPressure#SPILL}, rows that could not be written because
+ * the database was not reachable are spilled as well and all spilled rows are written again once the database accepts
+ * writes. If the database rejects a batch, its rows are stored one by one, so only the rejected rows are lost.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriter {
+
+    /**
+     * What to do with a new row if the queue is full.
+     */
+    public enum BackPressure {
+        /** the storing thread waits until there is room in the queue */
+        BLOCK("block"),
+        /** the oldest queued row is discarded */
+        DROP_OLDEST("dropOldest"),
+        /** the row is appended to a spill file and written later */
+        SPILL("spill");
+
+        private final String configValue;
+
+        BackPressure(String configValue) {
+            this.configValue = configValue;
+        }
+
+        public String getConfigValue() {
+            return configValue;
+        }
+
+        public static @Nullable BackPressure fromConfig(String value) {
+            for (BackPressure backPressure : values()) {
+                if (backPressure.configValue.equalsIgnoreCase(value.trim())) {
+                    return backPressure;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The outcome of storing a batch.
+     */
+    public enum StoreResult {
+        /** the values have been stored */
+        STORED,
+        /** the database could not be reached, the values can be stored later */
+        RETRY,
+        /** the database rejected the values, storing them again would fail again */
+        REJECTED
+    }
+
+    /**
+     * Stores the collected rows on behalf of the writer.
+     */
+    public interface BatchStore {
+        /**
+         * Stores values of one item.
+         *
+         * @param item the item
+         * @param alias the alias used to find the table, or <code>null</code> for the item name
+         * @param values the values by timestamp, in ascending time order
+         * @return whether the values were stored, can be retried or were rejected
+         */
+        StoreResult store(Item item, @Nullable String alias, Map<Instant, State> values);
+
+        /**
+         * Looks up an item by name, used when spilled rows are read back.
+         *
+         * @param itemName the name of the item
+         * @return the item or <code>null</code> if it does not exist anymore
+         */
+        @Nullable
+        Item getItem(String itemName);
+    }
+
+    private record PendingRow(Item item, @Nullable String alias, State state, Instant time, long queued) {
+        String key() {
+            String localAlias = alias;
+            return localAlias != null ? localAlias : item.getName();
+        }
+    }
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final long SPILL_RETRY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int DROP_LOG_INTERVAL = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcBatchWriter.class);
+
+    private final BatchStore batchStore;
+    private final BlockingQueue<PendingRow> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BackPressure backPressure;
+    private final Path spillFile;
+    private final ExecutorService executor;
+
+    private final Object spillLock = new Object();
+    private final AtomicLong droppedRows = new AtomicLong();
+    private final AtomicLong spilledRows = new AtomicLong();
+    private final AtomicLong rejectedRows = new AtomicLong();
+    private final AtomicLong lostRows = new AtomicLong();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private volatile long nextSpillReplay = System.nanoTime();
+    private volatile boolean running = true;
+
+    /**
+     * Creates a writer and starts its threads.
+     *
+     * @param batchStore the store used to write the collected rows
+     * @param queueSize the maximum number of queued rows
+     * @param batchSize the maximum number of rows written by one flush
+     * @param flushIntervalMillis the maximum time a row is kept in the queue before it is flushed
+     * @param writerThreads the number of writer threads
+     * @param backPressure the behaviour if the queue is full
+     * @param spillFile the file used to spill rows
+     */
+    public JdbcBatchWriter(BatchStore batchStore, int queueSize, int batchSize, long flushIntervalMillis,
+            int writerThreads, BackPressure backPressure, Path spillFile) {
+        this.batchStore = batchStore;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.backPressure = backPressure;
+        this.spillFile = spillFile;
+        this.executor = Executors.newFixedThreadPool(writerThreads,
+                new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID + "-writer"));
+        for (int i = 0; i < writerThreads; i++) {
+            executor.execute(this::run);
+        }
+    }
+
+    /**
+     * Queues a value for writing.
+     *
+     * @param item the item
+     * @param alias the alias used to find the table, or <code>null</code> for the item name
+     * @param state the value
+     * @param time the timestamp of the value
+     */
+    public void add(Item item, @Nullable String alias, State state, Instant time) {
+        PendingRow row = new PendingRow(item, alias, state, time, System.nanoTime());
+        if (!running) {
+            logger.debug("JDBC::add: writer is stopped, ignoring value '{}' for item '{}'", state, row.key());
+            return;
+        }
+        if (queue.offer(row)) {
+            return;
+        }
+        switch (backPressure) {
+            case BLOCK:
+                try {
+                    queue.put(row);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(row)) {
+                    if (queue.poll() != null) {
+                        long dropped = droppedRows.incrementAndGet();
+                        if (dropped % DROP_LOG_INTERVAL == 1) {
+                            logger.warn("JDBC::add: write queue is full, {} rows have been dropped so far", dropped);
+                        }
+                    }
+                }
+                break;
+            case SPILL:
+                spill(List.of(row));
+                break;
+        }
+    }
+
+    /**
+     * Stops accepting new rows, writes all queued rows and stops the writer threads.
+     */
+    public void shutdown() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        List<PendingRow> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            if (backPressure == BackPressure.SPILL) {
+                spill(remaining);
+            } else {
+                logger.warn("JDBC::shutdown: timeout while writing queued values, {} rows are lost",
+                        remaining.size());
+            }
+        }
+    }
+
+    /**
+     * @return the number of rows waiting to be written
+     */
+    public int getQueuedRows() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of rows dropped because the queue was full
+     */
+    public long getDroppedRows() {
+        return droppedRows.get();
+    }
+
+    /**
+     * @return the number of rows written to the spill file
+     */
+    public long getSpilledRows() {
+        return spilledRows.get();
+    }
+
+    /**
+     * @return the number of rows rejected by the database
+     */
+    public long getRejectedRows() {
+        return rejectedRows.get();
+    }
+
+    /**
+     * @return the number of rows lost because the database was not reachable and spilling is disabled
+     */
+    public long getLostRows() {
+        return lostRows.get();
+    }
+
+    private void run() {
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRow first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    if (backPressure == BackPressure.SPILL) {
+                        replaySpilledRows();
+                    }
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.queued() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (!running || remaining <= 0) {
+                        break;
+                    }
+                    PendingRow next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                if (backPressure == BackPressure.SPILL) {
+                    replaySpilledRows();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("JDBC::run: Unable to write {} rows", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(Collection<PendingRow> rows) {
+        Map<String, List<PendingRow>> rowsByTable = new LinkedHashMap<>();
+        for (PendingRow row : rows) {
+            rowsByTable.computeIfAbsent(row.key(), k -> new ArrayList<>()).add(row);
+        }
+        for (List<PendingRow> tableRows : rowsByTable.values()) {
+            // timestamps are stored with millisecond precision, a later value for the same time replaces an earlier one
+            Map<Instant, PendingRow> rowsByTime = new TreeMap<>();
+            for (PendingRow row : tableRows) {
+                rowsByTime.put(row.time().truncatedTo(ChronoUnit.MILLIS), row);
+            }
+            PendingRow last = tableRows.getLast();
+            Map<Instant, State> values = new TreeMap<>();
+            rowsByTime.forEach((time, row) -> values.put(time, row.state()));
+            List<PendingRow> retryRows = switch (batchStore.store(last.item(), last.alias(), values)) {
+                case STORED -> List.of();
+                case RETRY -> new ArrayList<>(rowsByTime.values());
+                case REJECTED -> storeRowByRow(last, rowsByTime);
+            };
+            if (retryRows.isEmpty()) {
+                continue;
+            }
+            if (backPressure == BackPressure.SPILL) {
+                spill(retryRows);
+            } else {
+                long lost = lostRows.addAndGet(retryRows.size());
+                logger.warn("JDBC::flush: database not reachable, {} rows for '{}' are lost ({} so far)",
+                        retryRows.size(), last.key(), lost);
+            }
+        }
+    }
+
+    /**
+     * Stores the rows of a rejected batch one by one, so only the rows the database rejects are lost.
+     *
+     * @return the rows which could not be stored because the database was not reachable anymore
+     */
+    private List<PendingRow> storeRowByRow(PendingRow last, Map<Instant, PendingRow> rowsByTime) {
+        List<PendingRow> retryRows = new ArrayList<>();
+        for (Map.Entry<Instant, PendingRow> entry : rowsByTime.entrySet()) {
+            PendingRow row = entry.getValue();
+            if (!retryRows.isEmpty()) {
+                retryRows.add(row);
+                continue;
+            }
+            // a single row has already been rejected with the batch
+            StoreResult result = rowsByTime.size() == 1 ? StoreResult.REJECTED
+                    : batchStore.store(last.item(), last.alias(), Map.of(entry.getKey(), row.state()));
+            if (result == StoreResult.RETRY) {
+                retryRows.add(row);
+            } else if (result == StoreResult.REJECTED) {
+                rejectedRows.incrementAndGet();
+                logger.warn("JDBC::flush: database rejected value '{}' of '{}' at {}, the value is lost", row.state(),
+                        last.key(), entry.getKey());
+            }
+        }
+        return retryRows;
+    }
+
+    private void spill(List<PendingRow> rows) {
+        synchronized (spillLock) {
+            try {
+                Path folder = spillFile.getParent();
+                if (folder != null) {
+                    Files.createDirectories(folder);
+                }
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                        spillFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+                    for (PendingRow row : rows) {
+                        String alias = row.alias();
+                        byte[] state = row.state().toFullString().getBytes(StandardCharsets.UTF_8);
+                        out.writeLong(row.time().toEpochMilli());
+                        out.writeUTF(row.item().getName());
+                        out.writeBoolean(alias != null);
+                        out.writeUTF(alias != null ? alias : "");
+                        out.writeInt(state.length);
+                        out.write(state);
+                    }
+                }
+                spilledRows.addAndGet(rows.size());
+                logger.debug("JDBC::spill: spilled {} rows to '{}'", rows.size(), spillFile);
+            } catch (IOException e) {
+                logger.warn("JDBC::spill: Unable to spill {} rows to '{}': {}", rows.size(), spillFile,
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void replaySpilledRows() {
+        if (!running || System.nanoTime() - nextSpillReplay < 0 || !replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            nextSpillReplay = System.nanoTime() + SPILL_RETRY_NANOS;
+            Path replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+            synchronized (spillLock) {
+                // a replay file is left over if the last replay was interrupted, continue with that one first
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile)) {
+                        return;
+                    }
+                    try {
+                        // rows spilled while replaying are appended to a new spill file
+                        Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException e) {
+                        logger.warn("JDBC::replaySpilledRows: Unable to read spill file '{}': {}", spillFile,
+                                e.getMessage());
+                        return;
+                    }
+                }
+            }
+            replay(replayFile);
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private void replay(Path replayFile) {
+        List<PendingRow> rows = new ArrayList<>(batchSize);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(replayFile)))) {
+            while (true) {
+                Instant time;
+                try {
+                    time = Instant.ofEpochMilli(in.readLong());
+                } catch (EOFException e) {
+                    break;
+                }
+                String itemName = in.readUTF();
+                boolean hasAlias = in.readBoolean();
+                String alias = in.readUTF();
+                byte[] stateBytes = new byte[in.readInt()];
+                in.readFully(stateBytes);
+                String stateString = new String(stateBytes, StandardCharsets.UTF_8);
+
+                Item item = batchStore.getItem(itemName);
+                State state = item != null ? TypeParser.parseState(item.getAcceptedDataTypes(), stateString) : null;
+                if (item == null || state == null) {
+                    logger.debug("JDBC::replaySpilledRows: skipping value '{}' of unknown item '{}'", stateString,
+                            itemName);
+                    continue;
+                }
+                rows.add(new PendingRow(item, hasAlias ? alias : null, state, time, System.nanoTime()));
+                if (rows.size() >= batchSize) {
+                    flush(rows);
+                    rows.clear();
+                }
+            }
+            flush(rows);
+        } catch (IOException e) {
+            logger.warn("JDBC::replaySpilledRows: Unable to read spill file '{}': {}", replayFile, e.getMessage());
+        }
+        try {
+            Files.deleteIfExists(replayFile);
+        } catch (IOException e) {
+            logger.warn("JDBC::replaySpilledRows: Unable to delete '{}': {}", replayFile, e.getMessage());
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.regex.Pattern;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.db.JdbcTimescaledbDAO;
 import org.openhab.persistence.jdbc.internal.utils.MovingAverage;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.slf4j.Logger;
@@ -66,6 +67,14 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private boolean asyncWrites = false;
+    private int asyncQueueSize = 10000;
+    private int asyncBatchSize = 100;
+    private int asyncFlushInterval = 1000;
+    private int asyncWriterThreads = 1;
+    private JdbcBatchWriter.BackPressure asyncBackPressure = JdbcBatchWriter.BackPressure.BLOCK;
+    private int queryPageSize = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -191,6 +200,68 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String aw = (String) configuration.get("asyncWrites");
+        if (aw != null && !aw.isBlank()) {
+            asyncWrites = Boolean.parseBoolean(aw);
+            logger.debug("JDBC::updateConfig: asyncWrites={}", asyncWrites);
+        }
+
+        String aq = (String) configuration.get("asyncQueueSize");
+        if (aq != null && !aq.isBlank() && isNumericPattern.matcher(aq).matches()) {
+            asyncQueueSize = Math.max(1, Integer.parseInt(aq));
+            logger.debug("JDBC::updateConfig: asyncQueueSize={}", asyncQueueSize);
+        }
+
+        String ab = (String) configuration.get("asyncBatchSize");
+        if (ab != null && !ab.isBlank() && isNumericPattern.matcher(ab).matches()) {
+            asyncBatchSize = Math.max(1, Integer.parseInt(ab));
+            logger.debug("JDBC::updateConfig: asyncBatchSize={}", asyncBatchSize);
+        }
+
+        String af = (String) configuration.get("asyncFlushInterval");
+        if (af != null && !af.isBlank() && isNumericPattern.matcher(af).matches()) {
+            asyncFlushInterval = Math.max(1, Integer.parseInt(af));
+            logger.debug("JDBC::updateConfig: asyncFlushInterval={}", asyncFlushInterval);
+        }
+
+        String at = (String) configuration.get("asyncWriterThreads");
+        if (at != null && !at.isBlank() && isNumericPattern.matcher(at).matches()) {
+            asyncWriterThreads = Math.max(1, Integer.parseInt(at));
+            logger.debug("JDBC::updateConfig: asyncWriterThreads={}", asyncWriterThreads);
+        }
+
+        String bp = (String) configuration.get("asyncBackPressure");
+        if (bp != null && !bp.isBlank()) {
+            JdbcBatchWriter.BackPressure backPressure = JdbcBatchWriter.BackPressure.fromConfig(bp);
+            if (backPressure != null) {
+                asyncBackPressure = backPressure;
+            } else {
+                logger.warn("JDBC::updateConfig: unknown asyncBackPressure '{}', using '{}'", bp,
+                        asyncBackPressure.getConfigValue());
+            }
+            logger.debug("JDBC::updateConfig: asyncBackPressure={}", asyncBackPressure);
+        }
+
+        String qp = (String) configuration.get("queryPageSize");
+        if (qp != null && !qp.isBlank() && isNumericPattern.matcher(qp).matches()) {
+            queryPageSize = Math.max(0, Integer.parseInt(qp));
+            logger.debug("JDBC::updateConfig: queryPageSize={}", queryPageSize);
+        }
+
+        if (dBDAO instanceof JdbcTimescaledbDAO timescaledbDAO) {
+            String ca = (String) configuration.get("timescaledbContinuousAggregates");
+            if (ca != null && !ca.isBlank()) {
+                timescaledbDAO.setContinuousAggregates(Boolean.parseBoolean(ca));
+                logger.debug("JDBC::updateConfig: timescaledbContinuousAggregates={}", ca);
+            }
+
+            String cd = (String) configuration.get("timescaledbCompressAfterDays");
+            if (cd != null && !cd.isBlank() && isNumericPattern.matcher(cd).matches()) {
+                timescaledbDAO.setCompressAfterDays(Math.max(0, Integer.parseInt(cd)));
+                logger.debug("JDBC::updateConfig: timescaledbCompressAfterDays={}", cd);
+            }
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -400,6 +471,37 @@ public class JdbcConfiguration {
         return tableUseRealItemNames && tableCaseSensitiveItemNames;
     }
 
+    public boolean getAsyncWrites() {
+        return asyncWrites;
+    }
+
+    public int getAsyncQueueSize() {
+        return asyncQueueSize;
+    }
+
+    public int getAsyncBatchSize() {
+        return asyncBatchSize;
+    }
+
+    public int getAsyncFlushInterval() {
+        return asyncFlushInterval;
+    }
+
+    public int getAsyncWriterThreads() {
+        return asyncWriterThreads;
+    }
+
+    public JdbcBatchWriter.BackPressure getAsyncBackPressure() {
+        return asyncBackPressure;
+    }
+
+    /**
+     * @return the number of rows fetched per page of a streamed query, 0 if queries are not streamed
+     */
+    public int getQueryPageSize() {
+        return queryPageSize;
+    }
+
     public int getTableIdDigitCount() {
         return tableIdDigitCount;
     }
@@ -13,6 +13,8 @@
 package org.openhab.persistence.jdbc.internal;
 
 import java.sql.SQLInvalidAuthorizationSpecException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -32,6 +34,7 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.db.AggregateFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
@@ -204,6 +207,13 @@ public class JdbcMapper {
         return vo;
     }
 
+    private void prepareItemTables() throws JdbcSQLException {
+        logger.debug("JDBC::prepareItemTables");
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doPrepareItemTables(new ArrayList<>(itemNameToTableNameMap.values()));
+        logTime("prepareItemTables", timerStart, System.currentTimeMillis());
+    }
+
     protected void alterTableColumn(String tableName, String columnName, String columnType, boolean nullable)
             throws JdbcSQLException {
         logger.debug("JDBC::alterTableColumn");
@@ -226,6 +236,16 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    protected void storeItemValues(Item item, Map<Instant, State> values, @Nullable String alias)
+            throws JdbcException {
+        logger.debug("JDBC::storeItemValues: item={} values={}", item, values.size());
+        String tableName = getTable(item, alias);
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(item, tableName, values);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -243,6 +263,37 @@ public class JdbcMapper {
         return result;
     }
 
+    protected Iterable<HistoricItem> getHistItemFilterQueryPaged(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item, int pageSize) {
+        logger.debug(
+                "JDBC::getHistItemFilterQueryPaged filter='{}' numberDecimalcount='{}' table='{}' item='{}' pageSize='{}'",
+                true, numberDecimalcount, table, item, pageSize);
+        return conf.getDBDAO().doGetHistItemFilterQueryPaged(item, filter, numberDecimalcount, table, item.getName(),
+                timeZoneProvider.getTimeZone(), pageSize);
+    }
+
+    protected @Nullable State getAggregate(FilterCriteria filter, AggregateFunction function, String table, Item item)
+            throws JdbcSQLException {
+        logger.debug("JDBC::getAggregate function='{}' table='{}' item='{}'", function, table, item);
+        long timerStart = System.currentTimeMillis();
+        State result = conf.getDBDAO().doGetAggregate(item, filter, function, table, timeZoneProvider.getTimeZone());
+        logTime("getAggregate", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
+    protected List<HistoricItem> getAggregateSeries(FilterCriteria filter, AggregateFunction function,
+            Duration bucket, String table, Item item) throws JdbcSQLException {
+        logger.debug("JDBC::getAggregateSeries function='{}' bucket='{}' table='{}' item='{}'", function, bucket, table,
+                item);
+        long timerStart = System.currentTimeMillis();
+        List<HistoricItem> result = conf.getDBDAO().doGetAggregateSeries(item, filter, function, bucket, table,
+                item.getName(), timeZoneProvider.getTimeZone());
+        logTime("getAggregateSeries", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -311,6 +362,20 @@ public class JdbcMapper {
         }
     }
 
+    /**
+     * Checks whether the database answers, regardless of the error count.
+     *
+     * @return <code>true</code> if the database could be reached
+     */
+    protected boolean isDBReachable() {
+        try {
+            return pingDB();
+        } catch (JdbcSQLException e) {
+            logger.debug("JDBC::isDBReachable: {}", e.getMessage());
+            return false;
+        }
+    }
+
     /**************************
      * DATABASE TABLEHANDLING *
      **************************/
@@ -333,6 +398,7 @@ public class JdbcMapper {
             errCnt = 0;
         }
         populateItemNameToTableNameMap();
+        prepareItemTables();
     }
 
     public void populateItemNameToTableNameMap() throws JdbcSQLException {
@@ -354,7 +420,7 @@ public class JdbcMapper {
         }
     }
 
-    protected String getTable(Item item, @Nullable String alias) throws JdbcException {
+    protected synchronized String getTable(Item item, @Nullable String alias) throws JdbcException {
         String itemName = alias != null ? alias : item.getName();
         if (!initialized) {
             throw new JdbcException("Not initialized, unable to find table for item " + itemName);
@@ -504,10 +570,12 @@ public class JdbcMapper {
                 conf.timerCount = 0;
             }
             logger.info(
-                    "JDBC::logTime: '{}':\n afterAccess     = {} ms\n timeAverage50  = {} ms\n timeAverage100 = {} ms\n timeAverage200 = {} ms\n afterAccessMin  = {} ms\n afterAccessMax  = {} ms\n 1000Statements = {} sec\n statementCount = {}\n",
+                    "JDBC::logTime: '{}':\n afterAccess     = {} ms\n timeAverage50  = {} ms\n timeAverage100 = {} ms\n timeAverage200 = {} ms\n afterAccessMin  = {} ms\n afterAccessMax  = {} ms\n 1000Statements = {} sec\n statementCount = {}\n stmtCacheHits  = {} %\n stmtCacheSize  = {}\n stmtCacheEvict = {}\n",
                     me, timerDiff, conf.timeAverage50arr.getAverageInteger(),
                     conf.timeAverage100arr.getAverageInteger(), conf.timeAverage200arr.getAverageInteger(),
-                    afterAccessMin, afterAccessMax, conf.time1000Statements, conf.timerCount);
+                    afterAccessMin, afterAccessMax, conf.time1000Statements, conf.timerCount,
+                    conf.getDBDAO().getStatementCache().getHitRate(), conf.getDBDAO().getStatementCache().size(),
+                    conf.getDBDAO().getStatementCache().getEvictions());
         }
     }
 }
@@ -12,6 +12,9 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -27,6 +30,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
@@ -34,6 +38,9 @@ import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.DimmerItem;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.RollershutterItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -43,6 +50,8 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.jdbc.internal.JdbcBatchWriter.StoreResult;
+import org.openhab.persistence.jdbc.internal.db.AggregateFunction;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
@@ -70,6 +79,8 @@ import org.slf4j.LoggerFactory;
 @ConfigurableService(category = "persistence", label = "JDBC Persistence Service", description_uri = JdbcPersistenceServiceConstants.CONFIG_URI)
 public class JdbcPersistenceService extends JdbcMapper implements ModifiablePersistenceService {
 
+    private static final Path SPILL_FILE = Path.of(OpenHAB.getUserDataFolder(), "persistence", "jdbc", "spill.bin");
+
     private final Logger logger = LoggerFactory.getLogger(JdbcPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
@@ -77,6 +88,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private volatile @Nullable JdbcBatchWriter batchWriter;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -120,6 +133,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        // write all queued values before the service is marked as uninitialized
+        stopBatchWriter();
         // closeConnection();
         initialized = false;
     }
@@ -137,22 +152,37 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), null));
+        scheduleStore(item, null, item.getState(), null);
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), alias));
+        scheduleStore(item, null, item.getState(), alias);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state, null));
+        scheduleStore(item, date, state, null);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, date, state, alias));
+        scheduleStore(item, date, state, alias);
+    }
+
+    private void scheduleStore(Item item, @Nullable ZonedDateTime date, State state, @Nullable String alias) {
+        JdbcBatchWriter writer = batchWriter;
+        if (writer == null) {
+            scheduler.execute(() -> internalStore(item, date, state, alias));
+            return;
+        }
+        // Do not store undefined/uninitialized data
+        if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+            return;
+        }
+        // the time has to be taken now, the database time would be the time of the flush
+        writer.add(item, alias, state, date != null ? date.toInstant() : Instant.now());
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state,
@@ -180,6 +210,37 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    private StoreResult internalStore(Item item, Map<Instant, State> values, @Nullable String alias) {
+        if (!checkDBAccessability()) {
+            logger.warn(
+                    "JDBC::store: No connection to database. Cannot persist {} values for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    values.size(), item, errCnt, conf.getErrReconnectThreshold());
+            return StoreResult.RETRY;
+        }
+        try {
+            long timerStart = System.currentTimeMillis();
+            storeItemValues(item, values, alias);
+            if (logger.isDebugEnabled()) {
+                logger.debug("JDBC: Stored {} values of item '{}' in SQL database at {} in {} ms.", values.size(),
+                        item.getName(), new Date(), System.currentTimeMillis() - timerStart);
+            }
+            return StoreResult.STORED;
+        } catch (JdbcSQLException e) {
+            // not every driver reports a lost connection with SQLState class 08, so check the connection as well
+            if (e.isConnectionError() || !isDBReachable()) {
+                logger.warn("JDBC::store: Lost connection while storing {} values of item '{}': {}", values.size(),
+                        item.getName(), e.getMessage());
+                return StoreResult.RETRY;
+            }
+            logger.debug("JDBC::store: Database rejected {} values of item '{}': {}", values.size(), item.getName(),
+                    e.getMessage());
+            return StoreResult.REJECTED;
+        } catch (JdbcException e) {
+            logger.warn("JDBC::store: Unable to store item", e);
+            return StoreResult.REJECTED;
+        }
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -212,20 +273,119 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             return List.of();
         }
 
+        QueryTarget target = resolveQueryTarget(filter, alias);
+        if (target == null) {
+            return List.of();
+        }
+        Item item = target.item();
+        String table = target.table();
+
+        int queryPageSize = conf.getQueryPageSize();
+        if (queryPageSize > 0 && filter.getPageSize() == Integer.MAX_VALUE) {
+            // stream the result instead of loading all rows, explicitly paged queries are small anyway
+            return getHistItemFilterQueryPaged(filter, conf.getNumberDecimalcount(), table, item, queryPageSize);
+        }
+
+        try {
+            long timerStart = System.currentTimeMillis();
+            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            if (logger.isDebugEnabled()) {
+                logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", filter.getItemName(), items.size(),
+                        System.currentTimeMillis() - timerStart);
+            }
+            // Success
+            errCnt = 0;
+            return items;
+        } catch (JdbcSQLException e) {
+            logger.warn("JDBC::query: Unable to query item", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Computes an aggregate of the values of an item in the database instead of transferring all rows.
+     *
+     * @param filter the filter selecting the item and the time range, paging is ignored
+     * @param alias for the item
+     * @param function the aggregate function to compute
+     * @return the aggregated state or <code>null</code> if there are no values in the range or the query failed
+     */
+    public @Nullable State aggregate(FilterCriteria filter, @Nullable String alias, AggregateFunction function) {
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::aggregate: database not connected, query aborted for item '{}'", filter.getItemName());
+            return null;
+        }
+        QueryTarget target = resolveQueryTarget(filter, alias);
+        if (target == null || !isAggregatable(target.item(), function)) {
+            return null;
+        }
+        try {
+            return getAggregate(filter, function, target.table(), target.item());
+        } catch (JdbcSQLException e) {
+            logger.warn("JDBC::aggregate: Unable to aggregate item", e);
+            return null;
+        }
+    }
+
+    /**
+     * Computes an aggregate of the values of an item for each time bucket of the given length in the database. The
+     * buckets are aligned to the epoch, buckets without values are omitted.
+     *
+     * @param filter the filter selecting the item, the time range and the order, paging is ignored
+     * @param alias for the item
+     * @param function the aggregate function to compute
+     * @param bucket the length of a bucket, at least one second
+     * @return one historic item per bucket, timestamped with the start of the bucket
+     */
+    public List<HistoricItem> aggregateSeries(FilterCriteria filter, @Nullable String alias, AggregateFunction function,
+            Duration bucket) {
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::aggregateSeries: database not connected, query aborted for item '{}'",
+                    filter.getItemName());
+            return List.of();
+        }
+        QueryTarget target = resolveQueryTarget(filter, alias);
+        if (target == null || !isAggregatable(target.item(), function)) {
+            return List.of();
+        }
+        try {
+            return getAggregateSeries(filter, function, bucket, target.table(), target.item());
+        } catch (JdbcSQLException e) {
+            logger.warn("JDBC::aggregateSeries: Unable to aggregate item", e);
+            return List.of();
+        }
+    }
+
+    private boolean isAggregatable(Item item, AggregateFunction function) {
+        if (function == AggregateFunction.COUNT || item instanceof NumberItem || item instanceof DimmerItem
+                || item instanceof RollershutterItem) {
+            return true;
+        }
+        logger.debug("JDBC::aggregate: {} is not supported for item '{}' of type {}", function, item.getName(),
+                item.getType());
+        return false;
+    }
+
+    /**
+     * Resolves the item of a filter, and the base item for groups, together with its table.
+     *
+     * @return the item and table or <code>null</code> if there is no data for the item
+     */
+    private @Nullable QueryTarget resolveQueryTarget(FilterCriteria filter, @Nullable String alias) {
         // Get the item name from the filter
         // Also get the Item object so we can determine the type
         Item item = null;
         String itemName = filter.getItemName();
         if (itemName == null) {
             logger.warn("Item name is missing in filter {}", filter);
-            return List.of();
+            return null;
         }
         logger.debug("JDBC::query: item is {}", itemName);
         try {
             item = itemRegistry.getItem(itemName);
         } catch (ItemNotFoundException e1) {
             logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
-            return List.of();
+            return null;
         }
 
         if (item instanceof GroupItem) {
@@ -234,11 +394,11 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
             if (item == null) {
                 logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
-                return List.of();
+                return null;
             }
             if (item instanceof GroupItem) {
                 logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
-                return List.of();
+                return null;
             }
         }
 
@@ -247,23 +407,12 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         if (table == null) {
             logger.debug("JDBC::query: unable to find table for item with name or alias: '{}', no data in database.",
                     localAlias);
-            return List.of();
+            return null;
         }
+        return new QueryTarget(item, table);
+    }
 
-        try {
-            long timerStart = System.currentTimeMillis();
-            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
-            if (logger.isDebugEnabled()) {
-                logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
-                        System.currentTimeMillis() - timerStart);
-            }
-            // Success
-            errCnt = 0;
-            return items;
-        } catch (JdbcSQLException e) {
-            logger.warn("JDBC::query: Unable to query item", e);
-            return List.of();
-        }
+    private record QueryTarget(Item item, String table) {
     }
 
     private void updateConfig(Map<Object, Object> configuration) {
@@ -284,9 +433,34 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             initialized = false;
         }
 
+        stopBatchWriter();
+        if (conf.getAsyncWrites()) {
+            batchWriter = new JdbcBatchWriter(new JdbcBatchWriter.BatchStore() {
+                @Override
+                public StoreResult store(Item item, @Nullable String alias, Map<Instant, State> values) {
+                    return internalStore(item, values, alias);
+                }
+
+                @Override
+                public @Nullable Item getItem(String itemName) {
+                    return itemRegistry.get(itemName);
+                }
+            }, conf.getAsyncQueueSize(), conf.getAsyncBatchSize(), conf.getAsyncFlushInterval(),
+                    conf.getAsyncWriterThreads(), conf.getAsyncBackPressure(), SPILL_FILE);
+            logger.debug("JDBC::updateConfig: asynchronous writes enabled");
+        }
+
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
+    private void stopBatchWriter() {
+        JdbcBatchWriter writer = batchWriter;
+        if (writer != null) {
+            batchWriter = null;
+            writer.shutdown();
+        }
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.CHANGE);
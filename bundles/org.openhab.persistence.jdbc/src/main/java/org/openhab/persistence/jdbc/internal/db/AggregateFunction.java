@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The SQL aggregate functions the database can compute over the values of an item table.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public enum AggregateFunction {
+    AVG,
+    MIN,
+    MAX,
+    SUM,
+    COUNT;
+
+    /**
+     * @return <code>true</code> if the result has the unit of the item, <code>false</code> for counts
+     */
+    public boolean keepsUnit() {
+        return this != COUNT;
+    }
+}
@@ -13,11 +13,18 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -62,6 +69,7 @@ import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
+import org.openhab.persistence.jdbc.internal.utils.StatementCache;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -82,6 +90,9 @@ public class JdbcBaseDAO {
     // Get Database Meta data
     protected @Nullable DbMetaData dbMeta;
 
+    // SQL of the store and query statements, resolved from the templates once per table
+    protected final StatementCache statementCache = new StatementCache();
+
     protected String sqlPingDB = "SELECT 1";
     protected String sqlGetDB = "SELECT DATABASE()";
     protected String sqlIfTableExists = "SHOW TABLES LIKE '#searchTable#'";
@@ -340,6 +351,8 @@ public class JdbcBaseDAO {
             Yank.execute(sql, null);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
+        } finally {
+            statementCache.clear();
         }
     }
 
@@ -395,6 +408,7 @@ public class JdbcBaseDAO {
      *************/
     public void doUpdateItemTableNames(List<ItemVO> vol) throws JdbcSQLException {
         logger.debug("JDBC::doUpdateItemTableNames vol.size = {}", vol.size());
+        statementCache.clear();
         for (ItemVO itemTable : vol) {
             String sql = updateItemTableNamesProvider(itemTable);
             try {
@@ -427,15 +441,23 @@ public class JdbcBaseDAO {
             Yank.execute(sql, null);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
+        } finally {
+            statementCache.clear();
         }
     }
 
+    /**
+     * Called on startup with the tables of all persisted items, so a database specific DAO can set up additional
+     * structures also for tables created before they were enabled.
+     */
+    public void doPrepareItemTables(List<String> tableNames) throws JdbcSQLException {
+    }
+
     public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue(), storedVO.getValue() };
+        String sql = statementCache.get(storeStatementKey("insertNow", storedVO), () -> storeItemValueSqlProvider(
+                storedVO, Objects.requireNonNull(sqlTypes.get("tablePrimaryValue"))));
+        Object[] params = storeItemValueParamsProvider(null, storedVO);
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -446,11 +468,10 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
+        String sql = statementCache.get(storeStatementKey("insert", storedVO),
+                () -> storeItemValueSqlProvider(storedVO, "?"));
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
+        Object[] params = storeItemValueParamsProvider(timestamp, storedVO);
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -459,13 +480,48 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores several values of one item in a single JDBC batch. Drivers that support it (e.g. MySQL with
+     * rewriteBatchedStatements, PostgreSQL with reWriteBatchedInserts) send the batch as one multi-row INSERT.
+     *
+     * @param item the item the values belong to
+     * @param tableName the table of the item
+     * @param values the values to store, by timestamp
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(Item item, String tableName, Map<Instant, State> values) throws JdbcSQLException {
+        String sql = null;
+        Object[][] params = new Object[values.size()][];
+        int row = 0;
+        for (Map.Entry<Instant, State> entry : values.entrySet()) {
+            ItemVO storedVO = storeItemValueProvider(item, entry.getValue(), new ItemVO(tableName, null));
+            if (sql == null) {
+                // the statement only depends on the table and the item type, so it is the same for all rows
+                sql = statementCache.get(storeStatementKey("insert", storedVO),
+                        () -> storeItemValueSqlProvider(storedVO, "?"));
+            }
+            params[row++] = storeItemValueParamsProvider(new java.sql.Timestamp(entry.getKey().toEpochMilli()),
+                    storedVO);
+        }
+        if (sql == null) {
+            return;
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
-        logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
+        String sql = histItemFilterQuery(filter, numberDecimalcount, table, name, timeZone);
+        Object[] params = resolveTimeFilterParams(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQuery sql={} params={}", sql, params);
         List<Object[]> m;
         try {
-            m = Yank.queryObjectArrays(sql, null);
+            m = Yank.queryObjectArrays(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
@@ -481,11 +537,52 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Queries the values matching the filter page by page. The returned {@link Iterable} is lazy: a page is only
+     * fetched when the previous one has been consumed, so at most one page of rows is held in memory. Pages are
+     * selected by the time of the last row of the previous page (keyset pagination) instead of an offset, so every
+     * page is an index range scan.
+     *
+     * @param pageSize the maximum number of rows per page
+     */
+    public Iterable<HistoricItem> doGetHistItemFilterQueryPaged(Item item, FilterCriteria filter,
+            int numberDecimalcount, String table, String name, ZoneId timeZone, int pageSize) {
+        return () -> new PagedHistoricItemIterator(this, item, filter, numberDecimalcount, table, name, timeZone,
+                pageSize);
+    }
+
+    List<Object[]> doGetHistItemFilterQueryPage(KeysetFilterCriteria filter, int numberDecimalcount, String table,
+            String name, ZoneId timeZone, int pageSize) throws JdbcSQLException {
+        String sql = histItemFilterQuery(filter, numberDecimalcount, table, name, timeZone);
+        Object[] params = resolveTimeFilterParams(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQueryPage sql={} params={} pageSize={}", sql, params, pageSize);
+        List<Object[]> rows = new ArrayList<>();
+        // a forward-only cursor, the connection is returned to the pool as soon as the page is read
+        try (Connection connection = Yank.getDefaultConnectionPool().getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(pageSize);
+            statement.setMaxRows(pageSize);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(new Object[] { resultSet.getObject(1), resultSet.getObject(2) });
+                }
+            }
+        } catch (SQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        return rows;
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterDeleteProvider(filter, table, timeZone);
-        logger.debug("JDBC::doDeleteItemValues sql={}", sql);
+        Object[] params = resolveTimeFilterParams(filter, timeZone);
+        logger.debug("JDBC::doDeleteItemValues sql={} params={}", sql, params);
         try {
-            Yank.execute(sql, null);
+            Yank.execute(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
@@ -503,6 +600,65 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Computes an aggregate of the values matching the time range of the filter in the database.
+     *
+     * @return the aggregate, or <code>null</code> if no value matches
+     */
+    public @Nullable State doGetAggregate(Item item, FilterCriteria filter, AggregateFunction function, String table,
+            ZoneId timeZone) throws JdbcSQLException {
+        String sql = statementCache.get(
+                "aggregate#" + table + "#" + function + "#" + (filter.getBeginDate() != null) + "#"
+                        + (filter.getEndDate() != null),
+                () -> aggregateQueryProvider(filter, function, table, timeZone));
+        Object[] params = resolveTimeFilterParams(filter, timeZone);
+        logger.debug("JDBC::doGetAggregate sql={} params={}", sql, params);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null || m.isEmpty() || m.get(0)[0] == null) {
+            return null;
+        }
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return aggregateAsState(function, unit, m.get(0)[0]);
+    }
+
+    /**
+     * Computes an aggregate of the values for every time bucket of the given length within the time range of the
+     * filter in the database, e.g. for downsampled chart series. Buckets are aligned to the Unix epoch, each returned
+     * item has the start time of its bucket.
+     *
+     * @return the aggregates of all buckets containing at least one value, in the order of the filter
+     */
+    public List<HistoricItem> doGetAggregateSeries(Item item, FilterCriteria filter, AggregateFunction function,
+            Duration bucket, String table, String name, ZoneId timeZone) throws JdbcSQLException {
+        long bucketSeconds = Math.max(1, bucket.toSeconds());
+        String sql = statementCache.get(
+                "aggregateSeries#" + aggregateSeriesSource(filter, bucketSeconds, table, timeZone) + "#" + function
+                        + "#" + bucketSeconds + "#" + (filter.getBeginDate() != null) + "#"
+                        + (filter.getEndDate() != null) + "#" + filter.getOrdering(),
+                () -> aggregateSeriesQueryProvider(filter, function, bucketSeconds, table, timeZone));
+        Object[] params = aggregateSeriesParams(filter, bucketSeconds, table, timeZone);
+        logger.debug("JDBC::doGetAggregateSeries sql={} params={}", sql, params);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null) {
+            logger.debug("JDBC::doGetAggregateSeries Query failed. Returning an empty list.");
+            return List.of();
+        }
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return m.stream().filter(o -> o[1] != null)
+                .map(o -> new JdbcHistoricItem(name, aggregateAsState(function, unit, o[1]), objectAsInstant(o[0])))
+                .collect(Collectors.<HistoricItem> toList());
+    }
+
     /*************
      * Providers *
      *************/
@@ -541,19 +697,142 @@ public class JdbcBaseDAO {
         return deleteString;
     }
 
+    protected String aggregateQueryProvider(FilterCriteria filter, AggregateFunction function, String table,
+            ZoneId timeZone) {
+        String queryString = "SELECT " + function.name() + "(value) FROM " + formattedIdentifier(table)
+                + resolveTimeFilter(filter, timeZone);
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    protected String aggregateSeriesQueryProvider(FilterCriteria filter, AggregateFunction function,
+            long bucketSeconds, String table, ZoneId timeZone) {
+        // the bucket is computed in a sub query, so the expression does not have to be repeated in GROUP BY
+        String queryString = "SELECT bucket, " + function.name() + "(value) FROM (SELECT "
+                + timeBucketProvider(bucketSeconds) + " AS bucket, value FROM " + formattedIdentifier(table)
+                + resolveTimeFilter(filter, timeZone) + ") buckets GROUP BY bucket ORDER BY bucket "
+                + (filter.getOrdering() == Ordering.ASCENDING ? "ASC" : "DESC");
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    /**
+     * @return the table or view an aggregate series of the given item table is read from, the statement is cached
+     *         per source
+     */
+    protected String aggregateSeriesSource(FilterCriteria filter, long bucketSeconds, String table,
+            ZoneId timeZone) {
+        return table;
+    }
+
+    protected Object[] aggregateSeriesParams(FilterCriteria filter, long bucketSeconds, String table,
+            ZoneId timeZone) {
+        return resolveTimeFilterParams(filter, timeZone);
+    }
+
+    /**
+     * Builds the SQL expression for the start of the bucket of the given length the time of a row belongs to.
+     */
+    protected String timeBucketProvider(long bucketSeconds) {
+        return "FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / " + bucketSeconds + ") * " + bucketSeconds + ")";
+    }
+
+    /**
+     * Builds the time bucket expression with JDBC escape functions, for databases without a native function.
+     */
+    protected String timeBucketByEscapeFunctions(long bucketSeconds) {
+        return "{fn TIMESTAMPADD(SQL_TSI_SECOND, {fn TIMESTAMPDIFF(SQL_TSI_SECOND, {ts '1970-01-01 00:00:00'}, time)} / "
+                + bucketSeconds + " * " + bucketSeconds + ", {ts '1970-01-01 00:00:00'})}";
+    }
+
+    /**
+     * Builds the time filter with placeholders, the values are provided by
+     * {@link #resolveTimeFilterParams(FilterCriteria, ZoneId)}.
+     */
     protected String resolveTimeFilter(FilterCriteria filter, ZoneId timeZone) {
         String filterString = "";
+        if (filter.getBeginDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME>=?";
+        }
+        if (filter.getEndDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME<=?";
+        }
+        if (filter instanceof KeysetFilterCriteria keysetFilter && keysetFilter.getLastTime() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += filter.getOrdering() == Ordering.ASCENDING ? " TIME>?" : " TIME<?";
+        }
+        return filterString;
+    }
+
+    protected Object[] resolveTimeFilterParams(FilterCriteria filter, ZoneId timeZone) {
+        List<Object> params = new ArrayList<>(2);
         ZonedDateTime beginDate = filter.getBeginDate();
         if (beginDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>='" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)) + "'";
+            params.add(timeFilterParam(beginDate, timeZone));
         }
         ZonedDateTime endDate = filter.getEndDate();
         if (endDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<='" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)) + "'";
+            params.add(timeFilterParam(endDate, timeZone));
         }
-        return filterString;
+        if (filter instanceof KeysetFilterCriteria keysetFilter) {
+            // bound as returned by the driver, so it matches the stored value exactly
+            Object lastTime = keysetFilter.getLastTime();
+            if (lastTime != null) {
+                params.add(lastTime);
+            }
+        }
+        return params.toArray();
+    }
+
+    /**
+     * Converts a date of the time filter into the parameter bound to the statement: the local time in the given time
+     * zone, with the resolution of {@link #JDBC_DATE_FORMAT}.
+     */
+    protected Object timeFilterParam(ZonedDateTime date, ZoneId timeZone) {
+        return java.sql.Timestamp
+                .valueOf(date.withZoneSameInstant(timeZone).toLocalDateTime().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * Builds the statement for storing a value, see
+     * {@link #storeItemValueParamsProvider(java.sql.Timestamp, ItemVO)} for the parameters.
+     *
+     * @param storedVO the value to store
+     * @param tablePrimaryValue "?" for an explicit timestamp, otherwise the SQL expression for the current time
+     */
+    protected String storeItemValueSqlProvider(ItemVO storedVO, String tablePrimaryValue) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { formattedIdentifier(storedVO.getTableName()), tablePrimaryValue });
+    }
+
+    protected Object[] storeItemValueParamsProvider(java.sql.@Nullable Timestamp timestamp, ItemVO storedVO) {
+        return timestamp != null ? new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() }
+                : new Object[] { storedVO.getValue(), storedVO.getValue() };
+    }
+
+    private String storeStatementKey(String statement, ItemVO storedVO) {
+        return statement + "#" + storedVO.getTableName() + "#" + storedVO.getDbType();
+    }
+
+    private String histItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table, String simpleName,
+            ZoneId timeZone) {
+        if (filter.getPageNumber() > 0) {
+            // the offset is part of the statement, caching every page would only evict the statements that are reused
+            return histItemFilterQueryProvider(filter, numberDecimalcount, table, simpleName, timeZone);
+        }
+        return statementCache.get(histItemFilterQueryKey(filter, numberDecimalcount, table, simpleName),
+                () -> histItemFilterQueryProvider(filter, numberDecimalcount, table, simpleName, timeZone));
+    }
+
+    private String histItemFilterQueryKey(FilterCriteria filter, int numberDecimalcount, String table,
+            String simpleName) {
+        boolean keyset = filter instanceof KeysetFilterCriteria keysetFilter && keysetFilter.getLastTime() != null;
+        return "query#" + table + "#" + simpleName + "#" + numberDecimalcount + "#" + (filter.getBeginDate() != null)
+                + "#" + (filter.getEndDate() != null) + "#" + keyset + "#" + filter.getOrdering() + "#"
+                + filter.getPageSize();
     }
 
     private String updateItemTableNamesProvider(ItemVO itemTable) {
@@ -711,6 +990,15 @@ public class JdbcBaseDAO {
         }
     }
 
+    protected State aggregateAsState(AggregateFunction function, @Nullable Unit<? extends Quantity<?>> unit,
+            Object v) {
+        Number number = objectAsNumber(v);
+        if (!function.keepsUnit()) {
+            return new DecimalType(number.longValue());
+        }
+        return unit == null ? new DecimalType(number.doubleValue()) : QuantityType.valueOf(number.doubleValue(), unit);
+    }
+
     protected Instant objectAsInstant(Object o) {
         return switch (o) {
             case Long l -> Instant.ofEpochMilli(l.longValue());
@@ -800,6 +1088,10 @@ public class JdbcBaseDAO {
         return sqlTypes;
     }
 
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
     public String getDataType(Item item) {
         String dataType = sqlTypes.get(getItemType(item));
         if (dataType == null) {
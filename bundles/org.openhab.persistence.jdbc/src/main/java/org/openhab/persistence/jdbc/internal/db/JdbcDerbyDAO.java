@@ -13,17 +13,14 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
-import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
-import org.openhab.core.types.State;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -146,35 +143,17 @@ public class JdbcDerbyDAO extends JdbcBaseDAO {
      * ITEM DAOs *
      *************/
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+    protected String storeItemValueSqlProvider(ItemVO storedVO, String tablePrimaryValue) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
                 new String[] { formattedIdentifier(storedVO.getTableName()), storedVO.getDbType(),
-                        sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
+                        tablePrimaryValue });
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), storedVO.getDbType(), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
+    protected Object[] storeItemValueParamsProvider(java.sql.@Nullable Timestamp timestamp, ItemVO storedVO) {
+        return timestamp != null ? new Object[] { timestamp, storedVO.getValue() }
+                : new Object[] { storedVO.getValue() };
     }
 
     /****************************
@@ -188,17 +167,7 @@ public class JdbcDerbyDAO extends JdbcBaseDAO {
                 "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
                 StringUtilsExt.filterToString(filter), numberDecimalcount, table, simpleName);
 
-        String filterString = "";
-        ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>='" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)) + "'";
-        }
-        ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<='" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)) + "'";
-        }
+        String filterString = resolveTimeFilter(filter, timeZone);
         filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
         if (filter.getPageSize() != 0x7fffffff) {
             // TODO: TESTING!!!
@@ -237,6 +206,11 @@ public class JdbcDerbyDAO extends JdbcBaseDAO {
         return queryString;
     }
 
+    @Override
+    protected String timeBucketProvider(long bucketSeconds) {
+        return timeBucketByEscapeFunctions(bucketSeconds);
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
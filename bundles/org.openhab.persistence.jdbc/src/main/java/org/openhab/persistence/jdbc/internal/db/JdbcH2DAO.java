@@ -12,15 +12,9 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
-import java.time.ZonedDateTime;
-
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.knowm.yank.Yank;
-import org.knowm.yank.exceptions.YankSQLException;
-import org.openhab.core.items.Item;
-import org.openhab.core.types.State;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
-import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,41 +75,28 @@ public class JdbcH2DAO extends JdbcBaseDAO {
      * ITEM DAOs *
      *************/
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+    protected String storeItemValueSqlProvider(ItemVO storedVO, String tablePrimaryValue) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
                 new String[] { formattedIdentifier(storedVO.getTableName()), storedVO.getDbType(),
-                        sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
+                        tablePrimaryValue });
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), storedVO.getDbType(), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
+    protected Object[] storeItemValueParamsProvider(java.sql.@Nullable Timestamp timestamp, ItemVO storedVO) {
+        return timestamp != null ? new Object[] { timestamp, storedVO.getValue() }
+                : new Object[] { storedVO.getValue() };
     }
 
     /****************************
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    protected String timeBucketProvider(long bucketSeconds) {
+        return timeBucketByEscapeFunctions(bucketSeconds);
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
@@ -70,6 +70,8 @@ public class JdbcMariadbDAO extends JdbcBaseDAO {
         databaseProps.setProperty("dataSource.cachePrepStmts", "true");
         databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
         databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        // prepare statements on the server, so the statement plans are reused as well
+        databaseProps.setProperty("dataSource.useServerPrepStmts", "true");
         databaseProps.setProperty("dataSource.jdbcCompliantTruncation", "false");// jdbc standard max varchar max length
         // of 21845
 
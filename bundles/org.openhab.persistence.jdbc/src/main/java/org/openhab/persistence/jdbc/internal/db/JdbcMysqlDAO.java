@@ -74,6 +74,10 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
         databaseProps.setProperty("dataSource.cachePrepStmts", "true");
         databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
         databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        // prepare statements on the server, so the statement plans are reused as well
+        databaseProps.setProperty("dataSource.useServerPrepStmts", "true");
+        // send batched inserts (asynchronous writes) as multi-row INSERT statements
+        databaseProps.setProperty("dataSource.rewriteBatchedStatements", "true");
         databaseProps.setProperty("dataSource.jdbcCompliantTruncation", "false");// jdbc standard max varchar max length
                                                                                  // of 21845
 
@@ -19,6 +19,7 @@ import java.time.ZonedDateTime;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
 import org.openhab.core.items.Item;
@@ -226,18 +227,14 @@ public class JdbcOracleDAO extends JdbcBaseDAO {
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue, new String[] { "#tableName#", "#dbType#" },
+    protected String storeItemValueSqlProvider(ItemVO storedVO, String tablePrimaryValue) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue, new String[] { "#tableName#", "#dbType#" },
                 new String[] { storedVO.getTableName(), storedVO.getDbType() });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
+    }
+
+    @Override
+    protected Object[] storeItemValueParamsProvider(java.sql.@Nullable Timestamp timestamp, ItemVO storedVO) {
+        return new Object[] { timestamp, storedVO.getValue() };
     }
 
     /****************************
@@ -269,24 +266,6 @@ public class JdbcOracleDAO extends JdbcBaseDAO {
         return queryString;
     }
 
-    @Override
-    protected String resolveTimeFilter(FilterCriteria filter, ZoneId timeZone) {
-        String filterString = "";
-        ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>=TO_TIMESTAMP('" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone))
-                    + "', 'YYYY-MM-dd HH24:MI:SS')";
-        }
-        ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<=TO_TIMESTAMP('" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone))
-                    + "', 'YYYY-MM-dd HH24:MI:SS')";
-        }
-        return filterString;
-    }
-
     @Override
     protected Instant objectAsInstant(Object v) {
         if (v instanceof TIMESTAMP objectAsOracleTimestamp) {
@@ -300,4 +279,10 @@ public class JdbcOracleDAO extends JdbcBaseDAO {
             return super.objectAsInstant(v);
         }
     }
+
+    @Override
+    protected String timeBucketProvider(long bucketSeconds) {
+        return "TIMESTAMP '1970-01-01 00:00:00' + NUMTODSINTERVAL(FLOOR((CAST(time AS DATE) - DATE '1970-01-01') * 86400 / "
+                + bucketSeconds + ") * " + bucketSeconds + ", 'SECOND')";
+    }
 }
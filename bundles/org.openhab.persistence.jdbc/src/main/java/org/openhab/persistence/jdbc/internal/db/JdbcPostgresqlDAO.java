@@ -13,16 +13,14 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
-import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
-import org.openhab.core.types.State;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
@@ -127,6 +125,8 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         // databaseProps.setProperty("dataSource.cachePrepStmts", "true");
         // databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
         // databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        // send batched inserts (asynchronous writes) as multi-row INSERT statements
+        databaseProps.setProperty("dataSource.reWriteBatchedInserts", "true");
 
         // Properties for HikariCP
         databaseProps.setProperty("driverClassName", DRIVER_CLASS_NAME);
@@ -213,35 +213,17 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+    protected String storeItemValueSqlProvider(ItemVO storedVO, String tablePrimaryValue) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
                 new String[] { formattedIdentifier(storedVO.getTableName()), storedVO.getDbType(),
-                        sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
+                        tablePrimaryValue });
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), storedVO.getDbType(), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
+    protected Object[] storeItemValueParamsProvider(java.sql.@Nullable Timestamp timestamp, ItemVO storedVO) {
+        return timestamp != null ? new Object[] { timestamp, storedVO.getValue() }
+                : new Object[] { storedVO.getValue() };
     }
 
     /****************************
@@ -255,17 +237,7 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
                 "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
                 filter.toString(), numberDecimalcount, table, simpleName);
 
-        String filterString = "";
-        ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>='" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)) + "'";
-        }
-        ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<='" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)) + "'";
-        }
+        String filterString = resolveTimeFilter(filter, timeZone);
         filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
         if (filter.getPageSize() != 0x7fffffff) {
             // see:
@@ -284,6 +256,13 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         return queryString;
     }
 
+    @Override
+    protected String timeBucketProvider(long bucketSeconds) {
+        // TO_TIMESTAMP returns a TIMESTAMPTZ like the time column, so the bucket start is not shifted by the session
+        // time zone
+        return "TO_TIMESTAMP(FLOOR(EXTRACT(EPOCH FROM time) / " + bucketSeconds + ") * " + bucketSeconds + ")";
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
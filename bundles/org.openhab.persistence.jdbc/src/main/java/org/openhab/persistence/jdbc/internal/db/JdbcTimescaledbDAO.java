@@ -12,12 +12,22 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -34,10 +44,37 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
+    private static final long HOUR_SECONDS = 3600;
+    private static final long DAY_SECONDS = 86400;
+    private static final String HOURLY_SUFFIX = "_hourly";
+    private static final String DAILY_SUFFIX = "_daily";
+    // PostgreSQL truncates longer identifiers
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+    private static final Set<String> NUMERIC_DB_TYPES = Set.of("DOUBLE PRECISION", "REAL", "NUMERIC", "DECIMAL",
+            "SMALLINT", "INTEGER", "INT", "BIGINT");
+
     private final Logger logger = LoggerFactory.getLogger(JdbcTimescaledbDAO.class);
 
     private final String sqlCreateHypertable = "SELECT created FROM create_hypertable('#tableName#', 'time')";
     private final String sqlGetItemTables = "SELECT hypertable_name AS table_name FROM timescaledb_information.hypertables WHERE hypertable_name != '#itemsManageTable#'";
+    private final String sqlGetNumericItemTables = "SELECT table_name FROM information_schema.columns WHERE table_schema = current_schema() AND column_name = 'value' AND data_type IN ('double precision', 'real', 'numeric', 'smallint', 'integer', 'bigint')";
+    private final String sqlGetContinuousAggregates = "SELECT view_name FROM timescaledb_information.continuous_aggregates";
+    private final String sqlGetCompressedTables = "SELECT hypertable_name FROM timescaledb_information.jobs WHERE proc_name = 'policy_compression'";
+    private final String sqlCreateContinuousAggregate = """
+            CREATE MATERIALIZED VIEW IF NOT EXISTS #viewName# WITH (timescaledb.continuous, timescaledb.materialized_only = false) AS \
+            SELECT time_bucket(INTERVAL '#bucketSeconds# seconds', time) AS time, SUM(value) AS value_sum, COUNT(value) AS value_count, \
+            MIN(value) AS value_min, MAX(value) AS value_max FROM #tableName# GROUP BY 1\
+            """;
+    private final String sqlAddRefreshPolicy = "SELECT add_continuous_aggregate_policy('#viewName#', start_offset => INTERVAL '#startOffset#', end_offset => INTERVAL '#endOffset#', schedule_interval => INTERVAL '#scheduleInterval#', if_not_exists => true)";
+    private final String sqlDropContinuousAggregate = "DROP MATERIALIZED VIEW IF EXISTS #viewName#";
+    private final String sqlRenameContinuousAggregate = "ALTER MATERIALIZED VIEW IF EXISTS #viewName# RENAME TO #newViewName#";
+    private final String sqlEnableCompression = "ALTER TABLE #tableName# SET (timescaledb.compress, timescaledb.compress_orderby = 'time DESC')";
+    private final String sqlAddCompressionPolicy = "SELECT add_compression_policy('#tableName#', INTERVAL '#compressAfterDays# days', if_not_exists => true)";
+
+    private boolean continuousAggregates = false;
+    private int compressAfterDays = 0;
+    // item tables with both an hourly and a daily continuous aggregate
+    final Set<String> aggregatedTables = ConcurrentHashMap.newKeySet();
 
     @Override
     public Properties getConnectionProperties() {
@@ -64,6 +101,167 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
+        if (compressAfterDays > 0) {
+            enableCompression(vo.getTableName());
+        }
+        if (continuousAggregates && isNumericDbType(vo.getDbType())) {
+            createContinuousAggregates(vo.getTableName());
+        }
+    }
+
+    @Override
+    public void doPrepareItemTables(List<String> tableNames) throws JdbcSQLException {
+        if (!continuousAggregates && compressAfterDays <= 0) {
+            return;
+        }
+        try {
+            if (compressAfterDays > 0) {
+                Set<String> compressedTables = new HashSet<>(
+                        Yank.queryColumn(sqlGetCompressedTables, "hypertable_name", String.class, null));
+                for (String tableName : tableNames) {
+                    if (!compressedTables.contains(tableName)) {
+                        enableCompression(tableName);
+                    }
+                }
+            }
+            if (continuousAggregates) {
+                Set<String> numericTables = new HashSet<>(
+                        Yank.queryColumn(sqlGetNumericItemTables, "table_name", String.class, null));
+                Set<String> views = new HashSet<>(
+                        Yank.queryColumn(sqlGetContinuousAggregates, "view_name", String.class, null));
+                for (String tableName : tableNames) {
+                    if (!numericTables.contains(tableName)) {
+                        continue;
+                    }
+                    if (views.contains(tableName + HOURLY_SUFFIX) && views.contains(tableName + DAILY_SUFFIX)) {
+                        aggregatedTables.add(tableName);
+                    } else {
+                        createContinuousAggregates(tableName);
+                    }
+                }
+            }
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        } finally {
+            statementCache.clear();
+        }
+    }
+
+    @Override
+    public void doDropTable(String tableName) throws JdbcSQLException {
+        // the continuous aggregates depend on the table and would prevent dropping it
+        dropContinuousAggregates(tableName);
+        super.doDropTable(tableName);
+    }
+
+    @Override
+    public void doUpdateItemTableNames(List<ItemVO> vol) throws JdbcSQLException {
+        super.doUpdateItemTableNames(vol);
+        for (ItemVO itemTable : vol) {
+            String newTableName = itemTable.getNewTableName();
+            if (newTableName == null || !aggregatedTables.remove(itemTable.getTableName())) {
+                continue;
+            }
+            for (String suffix : List.of(HOURLY_SUFFIX, DAILY_SUFFIX)) {
+                execute(StringUtilsExt.replaceArrayMerge(sqlRenameContinuousAggregate,
+                        new String[] { "#viewName#", "#newViewName#" },
+                        new String[] { formattedIdentifier(itemTable.getTableName() + suffix),
+                                formattedIdentifier(newTableName + suffix) }));
+            }
+            aggregatedTables.add(newTableName);
+        }
+    }
+
+    @Override
+    public void doAlterTableColumn(String tableName, String columnName, String columnType, boolean nullable)
+            throws JdbcSQLException {
+        // a column used by a view can't be altered, so the continuous aggregates are rebuilt afterwards
+        boolean aggregated = aggregatedTables.contains(tableName);
+        if (aggregated) {
+            dropContinuousAggregates(tableName);
+        }
+        super.doAlterTableColumn(tableName, columnName, columnType, nullable);
+        if (aggregated && isNumericDbType(columnType)) {
+            createContinuousAggregates(tableName);
+        }
+    }
+
+    private void createContinuousAggregates(String tableName) {
+        if (tableName.length() + DAILY_SUFFIX.length() > MAX_IDENTIFIER_LENGTH) {
+            logger.debug("JDBC::createContinuousAggregates: table name '{}' is too long for aggregate views",
+                    tableName);
+            return;
+        }
+        try {
+            createContinuousAggregate(tableName, HOURLY_SUFFIX, HOUR_SECONDS, "3 days", "1 hour", "30 minutes");
+            createContinuousAggregate(tableName, DAILY_SUFFIX, DAY_SECONDS, "7 days", "1 day", "1 hour");
+            aggregatedTables.add(tableName);
+            statementCache.clear();
+        } catch (JdbcSQLException e) {
+            // the raw table is still usable, so storing and querying must not fail
+            logger.warn("JDBC::createContinuousAggregates: Unable to create aggregate views for table '{}': {}",
+                    tableName, e.getMessage());
+        }
+    }
+
+    private void createContinuousAggregate(String tableName, String suffix, long bucketSeconds, String startOffset,
+            String endOffset, String scheduleInterval) throws JdbcSQLException {
+        String viewName = formattedIdentifier(tableName + suffix);
+        execute(StringUtilsExt.replaceArrayMerge(sqlCreateContinuousAggregate,
+                new String[] { "#viewName#", "#bucketSeconds#", "#tableName#" },
+                new String[] { viewName, String.valueOf(bucketSeconds), formattedIdentifier(tableName) }));
+        String sql = StringUtilsExt.replaceArrayMerge(sqlAddRefreshPolicy,
+                new String[] { "#viewName#", "#startOffset#", "#endOffset#", "#scheduleInterval#" },
+                new String[] { viewName, startOffset, endOffset, scheduleInterval });
+        logger.debug("JDBC::createContinuousAggregate sql={}", sql);
+        try {
+            Yank.queryScalar(sql, Integer.class, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    private void dropContinuousAggregates(String tableName) throws JdbcSQLException {
+        if (!continuousAggregates && !aggregatedTables.contains(tableName)) {
+            return;
+        }
+        for (String suffix : List.of(HOURLY_SUFFIX, DAILY_SUFFIX)) {
+            execute(StringUtilsExt.replaceArrayMerge(sqlDropContinuousAggregate, new String[] { "#viewName#" },
+                    new String[] { formattedIdentifier(tableName + suffix) }));
+        }
+        aggregatedTables.remove(tableName);
+        statementCache.clear();
+    }
+
+    private void enableCompression(String tableName) {
+        String sql = StringUtilsExt.replaceArrayMerge(sqlAddCompressionPolicy,
+                new String[] { "#tableName#", "#compressAfterDays#" },
+                new String[] { formattedIdentifier(tableName), String.valueOf(compressAfterDays) });
+        try {
+            execute(StringUtilsExt.replaceArrayMerge(sqlEnableCompression, new String[] { "#tableName#" },
+                    new String[] { formattedIdentifier(tableName) }));
+            logger.debug("JDBC::enableCompression sql={}", sql);
+            Yank.queryScalar(sql, Integer.class, null);
+        } catch (JdbcSQLException | YankSQLException e) {
+            logger.warn("JDBC::enableCompression: Unable to enable compression for table '{}': {}", tableName,
+                    e.getMessage());
+        }
+    }
+
+    private void execute(String sql) throws JdbcSQLException {
+        logger.debug("JDBC::execute sql={}", sql);
+        try {
+            Yank.execute(sql, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    private boolean isNumericDbType(String dbType) {
+        // strip precision and constraints, e.g. NUMERIC(10,2) NOT NULL
+        String baseType = dbType.toUpperCase(Locale.ROOT).replaceFirst("\\s*\\(.*", "").replace(" NOT NULL", "")
+                .trim();
+        return NUMERIC_DB_TYPES.contains(baseType);
     }
 
     @Override
@@ -77,4 +275,137 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
             throw new JdbcSQLException(e);
         }
     }
+
+    /****************************
+     * SQL generation Providers *
+     ****************************/
+
+    @Override
+    protected String aggregateSeriesSource(FilterCriteria filter, long bucketSeconds, String table,
+            ZoneId timeZone) {
+        String view = continuousAggregateFor(filter, bucketSeconds, table);
+        return view != null ? view : table;
+    }
+
+    @Override
+    protected Object[] aggregateSeriesParams(FilterCriteria filter, long bucketSeconds, String table,
+            ZoneId timeZone) {
+        Object[] params = super.aggregateSeriesParams(filter, bucketSeconds, table, timeZone);
+        ZonedDateTime endDate = filter.getEndDate();
+        if (endDate == null || continuousAggregateFor(filter, bucketSeconds, table) == null) {
+            return params;
+        }
+        // the end is bound a second time for the raw values at the end of the range
+        Object[] viewParams = Arrays.copyOf(params, params.length + 1);
+        viewParams[params.length] = timeFilterParam(endDate, timeZone);
+        return viewParams;
+    }
+
+    @Override
+    protected String aggregateSeriesQueryProvider(FilterCriteria filter, AggregateFunction function,
+            long bucketSeconds, String table, ZoneId timeZone) {
+        String view = continuousAggregateFor(filter, bucketSeconds, table);
+        if (view == null) {
+            return super.aggregateSeriesQueryProvider(filter, function, bucketSeconds, table, timeZone);
+        }
+        // the view only has the buckets within the range, the values at the inclusive end of the range start a
+        // bucket of their own and are read from the raw table, its rows are added as buckets of one value
+        String rows = "SELECT time, value_sum, value_count, value_min, value_max FROM " + formattedIdentifier(view)
+                + viewTimeFilter(filter);
+        if (filter.getEndDate() != null) {
+            rows += " UNION ALL SELECT time, value, 1, value, value FROM " + formattedIdentifier(table)
+                    + " WHERE time=?";
+        }
+        // roll up the pre-aggregated buckets of the view, its bucket start is named time like the table column
+        String queryString = "SELECT " + timeBucketProvider(bucketSeconds) + " AS bucket, " + rollupProvider(function)
+                + " FROM (" + rows + ") buckets GROUP BY bucket ORDER BY bucket "
+                + (filter.getOrdering() == Ordering.ASCENDING ? "ASC" : "DESC");
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    @Override
+    protected String timeBucketProvider(long bucketSeconds) {
+        return "time_bucket(INTERVAL '" + bucketSeconds + " seconds', time, TIMESTAMPTZ '1970-01-01 00:00:00+00')";
+    }
+
+    /**
+     * Builds the time filter on the bucket start of a view, with the same placeholders as
+     * {@link #resolveTimeFilter(FilterCriteria, ZoneId)}. The end is exclusive, as the bucket starting there holds
+     * values after the end.
+     */
+    private String viewTimeFilter(FilterCriteria filter) {
+        String filterString = "";
+        if (filter.getBeginDate() != null) {
+            filterString += " WHERE time>=?";
+        }
+        if (filter.getEndDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " time<?";
+        }
+        return filterString;
+    }
+
+    /**
+     * A view can only be used if its buckets add up to the requested bucket length and the begin and end of the
+     * filter fall on the start of a view bucket. Otherwise the first and last bucket would cover values outside of
+     * the range and the result would differ from the one computed from the raw table. The views bucket the
+     * <code>TIMESTAMPTZ</code> time column, so their buckets start on UTC hours and days, not on local ones.
+     *
+     * @return the coarsest continuous aggregate matching the bucket length and time range, or <code>null</code> if
+     *         the raw table has to be queried
+     */
+    private @Nullable String continuousAggregateFor(FilterCriteria filter, long bucketSeconds, String table) {
+        if (!aggregatedTables.contains(table)) {
+            return null;
+        }
+        if (bucketSeconds % DAY_SECONDS == 0 && isAligned(filter, DAY_SECONDS)) {
+            return table + DAILY_SUFFIX;
+        }
+        if (bucketSeconds % HOUR_SECONDS == 0 && isAligned(filter, HOUR_SECONDS)) {
+            return table + HOURLY_SUFFIX;
+        }
+        return null;
+    }
+
+    private boolean isAligned(FilterCriteria filter, long bucketSeconds) {
+        return isAligned(filter.getBeginDate(), bucketSeconds) && isAligned(filter.getEndDate(), bucketSeconds);
+    }
+
+    /**
+     * @return whether the date is unbounded or falls on the start of a UTC bucket, at the resolution of the time
+     *         filter
+     */
+    private boolean isAligned(@Nullable ZonedDateTime date, long bucketSeconds) {
+        return date == null || date.toEpochSecond() % bucketSeconds == 0;
+    }
+
+    private String rollupProvider(AggregateFunction function) {
+        return switch (function) {
+            case AVG -> "SUM(value_sum)::DOUBLE PRECISION / SUM(value_count)";
+            case MIN -> "MIN(value_min)";
+            case MAX -> "MAX(value_max)";
+            case SUM -> "SUM(value_sum)";
+            case COUNT -> "SUM(value_count)";
+        };
+    }
+
+    /******************************
+     * public Getters and Setters *
+     ******************************/
+
+    /**
+     * Enables hourly and daily continuous aggregates for the tables of numeric items. They are used for aggregate
+     * series with buckets of whole hours or days.
+     */
+    public void setContinuousAggregates(boolean continuousAggregates) {
+        this.continuousAggregates = continuousAggregates;
+    }
+
+    /**
+     * Sets the age in days after which chunks of the item tables are compressed, 0 disables compression.
+     */
+    public void setCompressAfterDays(int compressAfterDays) {
+        this.compressAfterDays = compressAfterDays;
+    }
 }
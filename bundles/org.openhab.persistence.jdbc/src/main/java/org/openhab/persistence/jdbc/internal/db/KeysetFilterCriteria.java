@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+
+/**
+ * The {@link KeysetFilterCriteria} selects one page of a streamed query. In addition to the original filter it only
+ * matches the rows after the last row of the previous page, in the order of the query.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class KeysetFilterCriteria extends FilterCriteria {
+
+    private final @Nullable Object lastTime;
+
+    /**
+     * @param filter the filter of the query
+     * @param lastTime the time of the last row of the previous page as returned by the driver, or <code>null</code>
+     *            for the first page
+     */
+    KeysetFilterCriteria(FilterCriteria filter, @Nullable Object lastTime) {
+        String itemName = filter.getItemName();
+        if (itemName != null) {
+            setItemName(itemName);
+        }
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (beginDate != null) {
+            setBeginDate(beginDate);
+        }
+        ZonedDateTime endDate = filter.getEndDate();
+        if (endDate != null) {
+            setEndDate(endDate);
+        }
+        setOrdering(filter.getOrdering());
+        this.lastTime = lastTime;
+    }
+
+    @Nullable
+    Object getLastTime() {
+        return lastTime;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PagedHistoricItemIterator} iterates over the result of a query, fetching the next page of rows from the
+ * database only when the current one has been consumed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class PagedHistoricItemIterator implements Iterator<HistoricItem> {
+    private final Logger logger = LoggerFactory.getLogger(PagedHistoricItemIterator.class);
+
+    private final JdbcBaseDAO dao;
+    private final Item item;
+    private final @Nullable Unit<? extends Quantity<?>> unit;
+    private final FilterCriteria filter;
+    private final int numberDecimalcount;
+    private final String table;
+    private final String name;
+    private final ZoneId timeZone;
+    private final int pageSize;
+
+    private List<Object[]> page = List.of();
+    private int index = 0;
+    private @Nullable Object lastTime;
+    private boolean lastPage = false;
+
+    PagedHistoricItemIterator(JdbcBaseDAO dao, Item item, FilterCriteria filter, int numberDecimalcount, String table,
+            String name, ZoneId timeZone, int pageSize) {
+        this.dao = dao;
+        this.item = item;
+        // we retrieve the unit once as it is a very costly operation
+        this.unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        this.filter = filter;
+        this.numberDecimalcount = numberDecimalcount;
+        this.table = table;
+        this.name = name;
+        this.timeZone = timeZone;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (index < page.size()) {
+            return true;
+        }
+        if (lastPage) {
+            return false;
+        }
+        try {
+            page = dao.doGetHistItemFilterQueryPage(new KeysetFilterCriteria(filter, lastTime), numberDecimalcount,
+                    table, name, timeZone, pageSize);
+        } catch (JdbcSQLException e) {
+            logger.warn("JDBC::query: Unable to query page of item '{}'", name, e);
+            page = List.of();
+        }
+        index = 0;
+        lastPage = page.size() < pageSize;
+        if (page.isEmpty()) {
+            lastPage = true;
+            return false;
+        }
+        lastTime = page.get(page.size() - 1)[0];
+        return true;
+    }
+
+    @Override
+    public HistoricItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object[] row = page.get(index++);
+        return new JdbcHistoricItem(name, dao.objectAsState(item, unit, row[1]), dao.objectAsInstant(row[0]));
+    }
+}
@@ -12,13 +12,18 @@
  */
 package org.openhab.persistence.jdbc.internal.exceptions;
 
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.exceptions.YankSQLException;
 
 /**
- * This exception wraps a {@link YankSQLException}.
+ * This exception wraps a {@link YankSQLException} or a {@link SQLException}.
  *
  * @author Jacob Laursen - Initial contribution
  */
@@ -27,7 +32,38 @@ public class JdbcSQLException extends JdbcException {
 
     private static final long serialVersionUID = 4562191548585905000L;
 
+    private final boolean connectionError;
+
     public JdbcSQLException(YankSQLException sqlException) {
         super(Objects.requireNonNull(sqlException.getMessage()));
+        connectionError = isConnectionError(sqlException.getCause());
+    }
+
+    public JdbcSQLException(SQLException sqlException) {
+        super(Objects.requireNonNullElse(sqlException.getMessage(), sqlException.getClass().getName()));
+        connectionError = isConnectionError(sqlException);
+    }
+
+    /**
+     * @return <code>true</code> if the statement failed because the database could not be reached, so it may succeed
+     *         later, <code>false</code> if the database rejected it
+     */
+    public boolean isConnectionError() {
+        return connectionError;
+    }
+
+    private static boolean isConnectionError(@Nullable Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientConnectionException || t instanceof SQLNonTransientConnectionException
+                    || t instanceof SQLRecoverableException) {
+                return true;
+            }
+            // SQLState class 08: connection exception
+            if (t instanceof SQLException e && e.getSQLState() instanceof String sqlState
+                    && sqlState.startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Caches the SQL statements built from the SQL templates of a DAO, so the templates are only resolved once per table
+ * and statement shape. The cached statements only contain placeholders for values, so the driver always gets the same
+ * SQL text for a table and can reuse its (server side) prepared statements. If the cache is full, the least recently
+ * used statement is evicted.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StatementCache {
+
+    private static final int MAX_ENTRIES = 2000;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // access ordered, guarded by itself
+    private final Map<String, String> statements = new LinkedHashMap<>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            if (size() > MAX_ENTRIES) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Returns the cached statement for the given key, or builds and caches it.
+     *
+     * @param key the key, has to contain everything the statement depends on
+     * @param builder builds the statement if it is not cached yet
+     * @return the SQL statement
+     */
+    public String get(String key, Supplier<String> builder) {
+        String sql;
+        synchronized (statements) {
+            sql = statements.get(key);
+        }
+        if (sql != null) {
+            hits.increment();
+            return sql;
+        }
+        misses.increment();
+        // built outside the lock, concurrent misses of the same key build the same statement
+        sql = builder.get();
+        synchronized (statements) {
+            statements.put(key, sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Removes all cached statements, e.g. after tables were renamed, dropped or altered.
+     */
+    public void clear() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (statements) {
+            return statements.size();
+        }
+    }
+
+    /**
+     * @return the percentage of lookups that were answered from the cache
+     */
+    public int getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (int) (hitCount * 100 / total);
+    }
+
+    /**
+     * @return the number of statements evicted because the cache was full
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.JdbcBatchWriter.BackPressure;
+import org.openhab.persistence.jdbc.internal.JdbcBatchWriter.StoreResult;
+
+/**
+ * Tests the {@link JdbcBatchWriter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriterTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private record StoreCall(String name, Map<Instant, State> values) {
+    }
+
+    private final BlockingQueue<StoreCall> calls = new LinkedBlockingQueue<>();
+    private final NumberItem item1 = new NumberItem("Number1");
+    private final NumberItem item2 = new NumberItem("Number2");
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+    private @Nullable JdbcBatchWriter writer;
+
+    private volatile StoreResult storeResult = StoreResult.STORED;
+    // batches containing this value are rejected by the database
+    private volatile @Nullable State rejectedState;
+    // the connection is lost when a batch containing this value is stored
+    private volatile @Nullable State unreachableState;
+    private volatile @Nullable CountDownLatch storeEntered;
+    private volatile @Nullable CountDownLatch storeReleased;
+
+    @AfterEach
+    public void tearDown() {
+        JdbcBatchWriter localWriter = writer;
+        if (localWriter != null) {
+            localWriter.shutdown();
+        }
+    }
+
+    @Test
+    void rowsAreWrittenWhenBatchSizeIsReached() throws InterruptedException {
+        JdbcBatchWriter writer = createWriter(100, 3, 60000, BackPressure.BLOCK);
+        for (int i = 1; i <= 3; i++) {
+            writer.add(item1, null, new DecimalType(i), Instant.ofEpochMilli(i * 1000));
+        }
+
+        StoreCall call = nextCall();
+        assertThat(call.name(), is("Number1"));
+        assertThat(call.values().size(), is(3));
+    }
+
+    @Test
+    void rowsAreWrittenAfterFlushInterval() throws InterruptedException {
+        JdbcBatchWriter writer = createWriter(100, 100, 50, BackPressure.BLOCK);
+        writer.add(item1, null, new DecimalType(1), Instant.ofEpochMilli(1000));
+
+        StoreCall call = nextCall();
+        assertThat(call.values(), is(Map.<Instant, State> of(Instant.ofEpochMilli(1000), new DecimalType(1))));
+    }
+
+    @Test
+    void rowsAreGroupedPerItemAndAlias() throws InterruptedException {
+        JdbcBatchWriter writer = createWriter(100, 5, 60000, BackPressure.BLOCK);
+        writer.add(item1, null, new DecimalType(1), Instant.ofEpochMilli(1000));
+        writer.add(item2, null, new DecimalType(2), Instant.ofEpochMilli(1000));
+        writer.add(item1, null, new DecimalType(3), Instant.ofEpochMilli(2000));
+        writer.add(item1, "alias", new DecimalType(4), Instant.ofEpochMilli(1000));
+        writer.add(item2, null, new DecimalType(5), Instant.ofEpochMilli(2000));
+
+        List<StoreCall> storeCalls = List.of(nextCall(), nextCall(), nextCall());
+        assertThat(storeCalls.stream().map(StoreCall::name).toList(), contains("Number1", "Number2", "alias"));
+        assertThat(storeCalls.get(0).values().values(),
+                Matchers.<State> contains(new DecimalType(1), new DecimalType(3)));
+        assertThat(storeCalls.get(1).values().values(),
+                Matchers.<State> contains(new DecimalType(2), new DecimalType(5)));
+        assertThat(storeCalls.get(2).values().values(), Matchers.<State> contains(new DecimalType(4)));
+    }
+
+    @Test
+    void laterValueWithSameTimeReplacesEarlierValue() throws InterruptedException {
+        JdbcBatchWriter writer = createWriter(100, 2, 60000, BackPressure.BLOCK);
+        writer.add(item1, null, new DecimalType(1), Instant.ofEpochMilli(1000));
+        writer.add(item1, null, new DecimalType(2), Instant.ofEpochMilli(1000));
+
+        assertThat(nextCall().values(),
+                is(Map.<Instant, State> of(Instant.ofEpochMilli(1000), new DecimalType(2))));
+    }
+
+    @Test
+    void shutdownWritesQueuedRows() throws InterruptedException {
+        JdbcBatchWriter writer = createWriter(100, 100, 60000, BackPressure.BLOCK);
+        writer.add(item1, null, new DecimalType(1), Instant.ofEpochMilli(1000));
+        writer.add(item1, null, new DecimalType(2), Instant.ofEpochMilli(2000));
+        writer.shutdown();
+
+        assertThat(calls.size(), is(1));
+        assertThat(nextCall().values().size(), is(2));
+        assertThat(writer.getQueuedRows(), is(0));
+    }
+
+    @Test
+    void dropOldestDiscardsOldestQueuedRow() throws InterruptedException {
+        JdbcBatchWriter writer = createWriter(2, 1, 60000, BackPressure.DROP_OLDEST);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        storeEntered = entered;
+        storeReleased = released;
+
+        // the writer thread takes the first row and blocks while storing it
+        writer.add(item1, null, new DecimalType(1), Instant.ofEpochMilli(1000));
+        assertThat(entered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), is(true));
+        writer.add(item1, null, new DecimalType(2), Instant.ofEpochMilli(2000));
+        writer.add(item1, null, new DecimalType(3), Instant.ofEpochMilli(3000));
+        writer.add(item1, null, new DecimalType(4), Instant.ofEpochMilli(4000));
+        released.countDown();
+        writer.shutdown();
+
+        assertThat(writer.getDroppedRows(), is(1L));
+        assertThat(List.of(nextCall(), nextCall(), nextCall()).stream()
+                .flatMap(call -> call.values().values().stream()).toList(),
+                Matchers.<State> contains(new DecimalType(1), new DecimalType(3), new DecimalType(4)));
+    }
+
+    @Test
+    void failedRowsAreSpilled() throws InterruptedException {
+        storeResult = StoreResult.RETRY;
+        JdbcBatchWriter writer = createWriter(100, 2, 60000, BackPressure.SPILL);
+        writer.add(item1, null, new DecimalType(1), Instant.ofEpochMilli(1000));
+        writer.add(item1, null, new DecimalType(2), Instant.ofEpochMilli(2000));
+        nextCall();
+        writer.shutdown();
+
+        assertThat(writer.getSpilledRows(), is(greaterThanOrEqualTo(2L)));
+        assertThat(Files.exists(tempDir.resolve("spill.bin")), is(true));
+    }
+
+    @Test
+    void failedRowsAreCountedAsLostWithoutSpilling() throws InterruptedException {
+        storeResult = StoreResult.RETRY;
+        JdbcBatchWriter writer = createWriter(100, 2, 60000, BackPressure.BLOCK);
+        writer.add(item1, null, new DecimalType(1), Instant.ofEpochMilli(1000));
+        writer.add(item1, null, new DecimalType(2), Instant.ofEpochMilli(2000));
+        nextCall();
+        writer.shutdown();
+
+        assertThat(writer.getLostRows(), is(2L));
+        assertThat(writer.getSpilledRows(), is(0L));
+    }
+
+    @Test
+    void rejectedBatchIsStoredRowByRow() throws InterruptedException {
+        rejectedState = new DecimalType(2);
+        JdbcBatchWriter writer = createWriter(100, 3, 60000, BackPressure.SPILL);
+        writer.add(item1, null, new DecimalType(1), Instant.ofEpochMilli(1000));
+        writer.add(item1, null, new DecimalType(2), Instant.ofEpochMilli(2000));
+        writer.add(item1, null, new DecimalType(3), Instant.ofEpochMilli(3000));
+
+        assertThat(nextCall().values().size(), is(3));
+        List<StoreCall> rowCalls = List.of(nextCall(), nextCall(), nextCall());
+        assertThat(rowCalls.stream().flatMap(call -> call.values().values().stream()).toList(),
+                Matchers.<State> contains(new DecimalType(1), new DecimalType(2), new DecimalType(3)));
+        writer.shutdown();
+
+        // only the rejected row is lost, nothing is spilled to be rejected again
+        assertThat(writer.getRejectedRows(), is(1L));
+        assertThat(writer.getSpilledRows(), is(0L));
+        assertThat(Files.exists(tempDir.resolve("spill.bin")), is(false));
+    }
+
+    @Test
+    void rowsAreSpilledIfConnectionIsLostWhileStoringRowByRow() throws InterruptedException {
+        rejectedState = new DecimalType(1);
+        unreachableState = new DecimalType(2);
+        JdbcBatchWriter writer = createWriter(100, 3, 60000, BackPressure.SPILL);
+        writer.add(item1, null, new DecimalType(1), Instant.ofEpochMilli(1000));
+        writer.add(item1, null, new DecimalType(2), Instant.ofEpochMilli(2000));
+        writer.add(item1, null, new DecimalType(3), Instant.ofEpochMilli(3000));
+
+        // the batch and the first row are rejected, then the connection is lost
+        assertThat(nextCall().values().size(), is(3));
+        assertThat(nextCall().values().values(), Matchers.<State> contains(new DecimalType(1)));
+        assertThat(nextCall().values().values(), Matchers.<State> contains(new DecimalType(2)));
+        writer.shutdown();
+
+        assertThat(writer.getRejectedRows(), is(1L));
+        assertThat(writer.getSpilledRows(), is(greaterThanOrEqualTo(2L)));
+        assertThat(Files.exists(tempDir.resolve("spill.bin")), is(true));
+    }
+
+    private JdbcBatchWriter createWriter(int queueSize, int batchSize, long flushInterval, BackPressure backPressure) {
+        JdbcBatchWriter newWriter = new JdbcBatchWriter(new JdbcBatchWriter.BatchStore() {
+            @Override
+            public StoreResult store(Item item, @Nullable String alias, Map<Instant, State> values) {
+                CountDownLatch entered = storeEntered;
+                CountDownLatch released = storeReleased;
+                if (entered != null && released != null) {
+                    entered.countDown();
+                    try {
+                        released.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                calls.add(new StoreCall(alias != null ? alias : item.getName(), values));
+                State rejected = rejectedState;
+                State unreachable = unreachableState;
+                if (rejected != null && values.containsValue(rejected)) {
+                    return StoreResult.REJECTED;
+                }
+                return unreachable != null && values.containsValue(unreachable) ? StoreResult.RETRY : storeResult;
+            }
+
+            @Override
+            public @Nullable Item getItem(String itemName) {
+                return item1.getName().equals(itemName) ? item1 : null;
+            }
+        }, queueSize, batchSize, flushInterval, 1, backPressure, tempDir.resolve("spill.bin"));
+        writer = newWriter;
+        return newWriter;
+    }
+
+    private StoreCall nextCall() throws InterruptedException {
+        StoreCall call = calls.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (call == null) {
+            throw new AssertionError("No values were stored within " + TIMEOUT_SECONDS + " seconds");
+        }
+        return call;
+    }
+}
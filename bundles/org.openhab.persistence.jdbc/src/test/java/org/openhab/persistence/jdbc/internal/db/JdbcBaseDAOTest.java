@@ -14,6 +14,7 @@ package org.openhab.persistence.jdbc.internal.db;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -23,7 +24,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
 import java.util.stream.Stream;
 
 import javax.measure.Quantity;
@@ -178,10 +178,8 @@ public class JdbcBaseDAOTest {
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
         String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
-        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
-                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
-                + "' ORDER BY time DESC"));
+        assertThat(sql,
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=? ORDER BY time DESC"));
     }
 
     @Test
@@ -204,10 +202,7 @@ public class JdbcBaseDAOTest {
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
         String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
-        assertThat(sql, is("DELETE FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
-                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
-                + "'"));
+        assertThat(sql, is("DELETE FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=?"));
     }
 
     @Test
@@ -221,8 +216,7 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
 
         String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql, is(" WHERE TIME>='"
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'"));
+        assertThat(sql, is(" WHERE TIME>=?"));
     }
 
     @Test
@@ -230,8 +224,7 @@ public class JdbcBaseDAOTest {
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
         String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql, is(" WHERE TIME<='"
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
+        assertThat(sql, is(" WHERE TIME<=?"));
     }
 
     @Test
@@ -240,11 +233,82 @@ public class JdbcBaseDAOTest {
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
         String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
+        assertThat(sql, is(" WHERE TIME>=? AND TIME<=?"));
+    }
+
+    @Test
+    void testResolveTimeFilterParamsWithNoDatesReturnsEmptyArray() {
+        Object[] params = jdbcBaseDAO.resolveTimeFilterParams(filter, UTC_ZONE_ID);
+        assertThat(params.length, is(0));
+    }
+
+    @Test
+    void testResolveTimeFilterParamsWithStartAndEndDateReturnsTimestampsInTimeZone() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+
+        Object[] params = jdbcBaseDAO.resolveTimeFilterParams(filter, ZoneId.of("Europe/Berlin"));
+        assertArrayEquals(new Object[] { java.sql.Timestamp.valueOf("2022-01-10 16:01:44"),
+                java.sql.Timestamp.valueOf("2022-01-15 16:01:44") }, params);
+    }
+
+    @Test
+    void testResolveTimeFilterWithKeysetContinuesAfterLastTimeInAscendingOrder() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+        java.sql.Timestamp lastTime = java.sql.Timestamp.valueOf("2022-01-11 10:00:00.123");
+        KeysetFilterCriteria keysetFilter = new KeysetFilterCriteria(filter, lastTime);
+
+        assertThat(jdbcBaseDAO.resolveTimeFilter(keysetFilter, UTC_ZONE_ID), is(" WHERE TIME>=? AND TIME>?"));
+        assertArrayEquals(new Object[] { java.sql.Timestamp.valueOf("2022-01-10 15:01:44"), lastTime },
+                jdbcBaseDAO.resolveTimeFilterParams(keysetFilter, UTC_ZONE_ID));
+    }
+
+    @Test
+    void testResolveTimeFilterWithKeysetContinuesBeforeLastTimeInDescendingOrder() {
+        java.sql.Timestamp lastTime = java.sql.Timestamp.valueOf("2022-01-11 10:00:00.123");
+        KeysetFilterCriteria keysetFilter = new KeysetFilterCriteria(filter, lastTime);
+
+        assertThat(jdbcBaseDAO.resolveTimeFilter(keysetFilter, UTC_ZONE_ID), is(" WHERE TIME<?"));
+        assertArrayEquals(new Object[] { lastTime }, jdbcBaseDAO.resolveTimeFilterParams(keysetFilter, UTC_ZONE_ID));
+    }
+
+    @Test
+    void testResolveTimeFilterWithKeysetForFirstPageReturnsOriginalFilter() {
+        KeysetFilterCriteria keysetFilter = new KeysetFilterCriteria(filter, null);
+
+        assertThat(jdbcBaseDAO.resolveTimeFilter(keysetFilter, UTC_ZONE_ID), is(""));
+        assertThat(jdbcBaseDAO.resolveTimeFilterParams(keysetFilter, UTC_ZONE_ID).length, is(0));
+    }
+
+    @Test
+    void testAggregateQueryProviderWithStartAndEndDateReturnsAggregateWithWhereClause() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+
+        String sql = jdbcBaseDAO.aggregateQueryProvider(filter, AggregateFunction.AVG, DB_TABLE_NAME, UTC_ZONE_ID);
+        assertThat(sql, is("SELECT AVG(value) FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=?"));
+    }
+
+    @Test
+    void testAggregateSeriesQueryProviderGroupsByBucketInOrder() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcBaseDAO.aggregateSeriesQueryProvider(filter, AggregateFunction.MAX, 3600, DB_TABLE_NAME,
+                UTC_ZONE_ID);
         assertThat(sql,
-                is(" WHERE TIME>='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
-                        + "'" //
-                        + " AND TIME<='"
-                        + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
+                is("SELECT bucket, MAX(value) FROM (SELECT FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / 3600) * 3600)"
+                        + " AS bucket, value FROM " + DB_TABLE_NAME
+                        + " WHERE TIME>=?) buckets GROUP BY bucket ORDER BY bucket ASC"));
+    }
+
+    @Test
+    void testAggregateAsStateKeepsUnitExceptForCount() {
+        assertThat(jdbcBaseDAO.aggregateAsState(AggregateFunction.AVG, SIUnits.CELSIUS, 21.5),
+                is(new QuantityType<>(21.5, SIUnits.CELSIUS)));
+        assertThat(jdbcBaseDAO.aggregateAsState(AggregateFunction.COUNT, SIUnits.CELSIUS, 42L),
+                is(new DecimalType(42)));
     }
 
     private ZonedDateTime parseDateTimeString(String dts) {
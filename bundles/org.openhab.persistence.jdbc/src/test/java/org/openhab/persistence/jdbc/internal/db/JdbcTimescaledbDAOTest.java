@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.persistence.FilterCriteria;
+
+/**
+ * Tests the selection of the continuous aggregates by the {@link JdbcTimescaledbDAO}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcTimescaledbDAOTest {
+
+    private static final ZoneId UTC_ZONE_ID = ZoneId.of("UTC");
+    private static final ZoneId BERLIN_ZONE_ID = ZoneId.of("Europe/Berlin");
+    private static final String DB_TABLE_NAME = "testitem";
+
+    private final JdbcTimescaledbDAO jdbcTimescaledbDAO = new JdbcTimescaledbDAO();
+    private final FilterCriteria filter = new FilterCriteria();
+
+    @BeforeEach
+    void setup() {
+        jdbcTimescaledbDAO.aggregatedTables.add(DB_TABLE_NAME);
+    }
+
+    private String source(long bucketSeconds, ZoneId timeZone) {
+        return jdbcTimescaledbDAO.aggregateSeriesSource(filter, bucketSeconds, DB_TABLE_NAME, timeZone);
+    }
+
+    @Test
+    void rangeOfWholeUtcDaysIsReadFromTheDailyView() {
+        filter.setBeginDate(ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, UTC_ZONE_ID));
+        filter.setEndDate(ZonedDateTime.of(2024, 3, 8, 0, 0, 0, 0, UTC_ZONE_ID));
+
+        assertThat(source(86400, UTC_ZONE_ID), is(DB_TABLE_NAME + "_daily"));
+        // the time zone of the database connection doesn't move the UTC buckets of the views
+        assertThat(source(86400, BERLIN_ZONE_ID), is(DB_TABLE_NAME + "_daily"));
+    }
+
+    @Test
+    void rangeOfWholeLocalDaysIsReadFromTheHourlyViewOrTheTable() {
+        filter.setBeginDate(ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, BERLIN_ZONE_ID));
+        filter.setEndDate(ZonedDateTime.of(2024, 3, 8, 0, 0, 0, 0, BERLIN_ZONE_ID));
+
+        // local midnight is 23:00 UTC, the daily view would shift the range by an hour
+        assertThat(source(86400, BERLIN_ZONE_ID), is(DB_TABLE_NAME + "_hourly"));
+
+        filter.setBeginDate(ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, ZoneId.of("Asia/Kolkata")));
+        filter.setEndDate(ZonedDateTime.of(2024, 3, 8, 0, 0, 0, 0, ZoneId.of("Asia/Kolkata")));
+        // no view has buckets starting at half past the hour
+        assertThat(source(86400, BERLIN_ZONE_ID), is(DB_TABLE_NAME));
+    }
+
+    @Test
+    void unalignedRangeOfANonUtcZoneIsReadFromTheTable() {
+        filter.setBeginDate(ZonedDateTime.of(2024, 3, 1, 0, 30, 0, 0, BERLIN_ZONE_ID));
+        filter.setEndDate(ZonedDateTime.of(2024, 3, 8, 0, 0, 0, 0, BERLIN_ZONE_ID));
+
+        assertThat(source(86400, BERLIN_ZONE_ID), is(DB_TABLE_NAME));
+        assertThat(source(3600, BERLIN_ZONE_ID), is(DB_TABLE_NAME));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * Tests the {@link PagedHistoricItemIterator}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PagedHistoricItemIteratorTest {
+
+    private static final ZoneId UTC_ZONE_ID = ZoneId.of("UTC");
+
+    /**
+     * Serves the pages from a list of rows ordered by time, like the database would.
+     */
+    private static class PagingDAO extends JdbcBaseDAO {
+        private final List<Object[]> rows;
+        private final List<@Nullable Object> requestedLastTimes = new ArrayList<>();
+
+        PagingDAO(int rowCount) {
+            rows = IntStream.range(0, rowCount).mapToObj(i -> new Object[] { (long) i * 1000, (double) i }).toList();
+        }
+
+        @Override
+        List<Object[]> doGetHistItemFilterQueryPage(KeysetFilterCriteria filter, int numberDecimalcount, String table,
+                String name, ZoneId timeZone, int pageSize) throws JdbcSQLException {
+            Object lastTime = filter.getLastTime();
+            requestedLastTimes.add(lastTime);
+            return rows.stream().filter(row -> lastTime == null || (long) row[0] > (long) lastTime).limit(pageSize)
+                    .toList();
+        }
+    }
+
+    @Test
+    void allRowsAreReturnedInPages() {
+        PagingDAO dao = new PagingDAO(25);
+        List<HistoricItem> items = new ArrayList<>();
+        dao.doGetHistItemFilterQueryPaged(new NumberItem("Number"), new FilterCriteria(), 3, "number_item", "Number",
+                UTC_ZONE_ID, 10).forEach(items::add);
+
+        assertThat(items.size(), is(25));
+        assertThat(items.get(24).getState(), is(new DecimalType(24.0)));
+        assertThat(items.get(24).getInstant().toEpochMilli(), is(24000L));
+        // the last page is shorter than the page size, so no further page is requested
+        assertThat(dao.requestedLastTimes, contains((Object) null, 9000L, 19000L));
+    }
+
+    @Test
+    void emptyPageEndsIteration() {
+        PagingDAO dao = new PagingDAO(20);
+        List<HistoricItem> items = new ArrayList<>();
+        dao.doGetHistItemFilterQueryPaged(new NumberItem("Number"), new FilterCriteria(), 3, "number_item", "Number",
+                UTC_ZONE_ID, 10).forEach(items::add);
+
+        assertThat(items.size(), is(20));
+        assertThat(dao.requestedLastTimes, contains((Object) null, 9000L, 19000L));
+    }
+
+    @Test
+    void pagesAreOnlyFetchedWhenConsumed() {
+        PagingDAO dao = new PagingDAO(25);
+        Iterable<HistoricItem> items = dao.doGetHistItemFilterQueryPaged(new NumberItem("Number"), new FilterCriteria(),
+                3, "number_item", "Number", UTC_ZONE_ID, 10);
+        assertThat(dao.requestedLastTimes, is(empty()));
+
+        items.iterator().next();
+        assertThat(dao.requestedLastTimes.size(), is(1));
+    }
+}
@@ -106,6 +106,16 @@ class MapDbItem implements PersistedItem, PersistenceItemInfo {
         return null;
     }
 
+    MapDbItem copy() {
+        MapDbItem copy = new MapDbItem();
+        copy.name = name;
+        copy.state = state;
+        copy.timestamp = timestamp;
+        copy.lastState = lastState;
+        copy.lastStateChange = lastStateChange;
+        return copy;
+    }
+
     boolean isValid() {
         return name != null && state != null && timestamp != null;
     }
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Encodes {@link MapDbItem}s in a compact binary format. The common state types are written as their raw values, all
+ * others as class name and string representation like the {@link StateTypeAdapter} does.
+ *
+ * The format starts with a version byte, so it can be changed without breaking existing databases. Date and time
+ * states are written as their instant only, the time zone or offset they were created with is not kept.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MapDbItemCodec {
+    static final byte VERSION = 1;
+
+    private static final byte TYPE_OTHER = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_PERCENT = 2;
+    private static final byte TYPE_HSB = 3;
+    private static final byte TYPE_QUANTITY = 4;
+    private static final byte TYPE_ON_OFF = 5;
+    private static final byte TYPE_STRING = 6;
+    private static final byte TYPE_DATE_TIME = 7;
+    private static final byte TYPE_UNDEF = 8;
+
+    private static final byte FLAG_LAST_STATE = 1;
+    private static final byte FLAG_LAST_STATE_CHANGE = 2;
+
+    // parsing units is expensive and most items share a few of them
+    private final Map<String, Unit<?>> units = new ConcurrentHashMap<>();
+
+    byte[] encode(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, item.getName());
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeState(out, item.getState());
+            State lastState = item.getLastState();
+            ZonedDateTime lastStateChange = item.getLastStateChange();
+            out.writeByte((lastState != null ? FLAG_LAST_STATE : 0)
+                    | (lastStateChange != null ? FLAG_LAST_STATE_CHANGE : 0));
+            if (lastState != null) {
+                writeState(out, lastState);
+            }
+            if (lastStateChange != null) {
+                out.writeLong(lastStateChange.toInstant().toEpochMilli());
+            }
+        } catch (IOException e) {
+            // not thrown when writing to memory
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    MapDbItem decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported format version " + version);
+        }
+        MapDbItem item = new MapDbItem();
+        item.setName(readString(in));
+        item.setTimestamp(new Date(in.readLong()));
+        item.setState(readState(in));
+        byte flags = in.readByte();
+        if ((flags & FLAG_LAST_STATE) != 0) {
+            item.setLastState(readState(in));
+        }
+        if ((flags & FLAG_LAST_STATE_CHANGE) != 0) {
+            item.setLastStateChange(new Date(in.readLong()));
+        }
+        return item;
+    }
+
+    private void writeState(DataOutputStream out, State state) throws IOException {
+        // subclasses first: HSBType extends PercentType, which extends DecimalType
+        if (state instanceof HSBType hsb) {
+            out.writeByte(TYPE_HSB);
+            writeDecimal(out, hsb.getHue().toBigDecimal());
+            writeDecimal(out, hsb.getSaturation().toBigDecimal());
+            writeDecimal(out, hsb.getBrightness().toBigDecimal());
+        } else if (state instanceof PercentType percent) {
+            out.writeByte(TYPE_PERCENT);
+            writeDecimal(out, percent.toBigDecimal());
+        } else if (state instanceof DecimalType decimal) {
+            out.writeByte(TYPE_DECIMAL);
+            writeDecimal(out, decimal.toBigDecimal());
+        } else if (state instanceof QuantityType<?> quantity) {
+            out.writeByte(TYPE_QUANTITY);
+            writeDecimal(out, quantity.toBigDecimal());
+            Unit<?> unit = quantity.getUnit();
+            writeString(out, Units.ONE.equals(unit) ? "" : unit.toString());
+        } else if (state instanceof OnOffType onOff) {
+            out.writeByte(TYPE_ON_OFF);
+            out.writeBoolean(onOff == OnOffType.ON);
+        } else if (state instanceof StringType string) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, string.toFullString());
+        } else if (state instanceof DateTimeType dateTime) {
+            Instant instant = dateTime.getInstant();
+            out.writeByte(TYPE_DATE_TIME);
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        } else if (state instanceof UnDefType undef) {
+            out.writeByte(TYPE_UNDEF);
+            out.writeBoolean(undef == UnDefType.UNDEF);
+        } else {
+            out.writeByte(TYPE_OTHER);
+            writeString(out, state.getClass().getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    private State readState(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_HSB:
+                return new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                        new PercentType(readDecimal(in)));
+            case TYPE_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TYPE_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TYPE_QUANTITY:
+                BigDecimal value = readDecimal(in);
+                return new QuantityType<>(value, getUnit(readString(in)));
+            case TYPE_ON_OFF:
+                return OnOffType.from(in.readBoolean());
+            case TYPE_STRING:
+                return new StringType(readString(in));
+            case TYPE_DATE_TIME:
+                return new DateTimeType(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            case TYPE_UNDEF:
+                return in.readBoolean() ? UnDefType.UNDEF : UnDefType.NULL;
+            case TYPE_OTHER:
+                return readOtherState(readString(in), readString(in));
+            default:
+                throw new IOException("Unknown state type " + type);
+        }
+    }
+
+    private State readOtherState(String typeName, String value) throws IOException {
+        try {
+            @SuppressWarnings("unchecked")
+            Class<? extends State> type = (Class<? extends State>) Class.forName(typeName);
+            @Nullable
+            State state = TypeParser.parseState(List.of(type), value);
+            if (state == null) {
+                throw new IOException("Cannot parse '" + value + "' as " + typeName);
+            }
+            return state;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Unknown state class " + typeName, e);
+        }
+    }
+
+    private Unit<?> getUnit(String symbol) {
+        if (symbol.isEmpty()) {
+            return Units.ONE;
+        }
+        // parsed the same way the string representation used to be
+        return units.computeIfAbsent(symbol, s -> QuantityType.valueOf("1 " + s).getUnit());
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] encoded = new byte[in.readInt()];
+        in.readFully(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+}
@@ -20,13 +20,14 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -73,18 +74,25 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final long COMMIT_INTERVAL = 1000;
+    private static final int COMMIT_MAX_ITEMS = 1000;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) ConcurrentMap<String, Object> map;
+    private @Nullable MapDbWriteBuffer writeBuffer;
 
+    private final MapDbItemCodec codec = new MapDbItemCodec();
+
+    // only used to read items stored by earlier versions
     private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
 
@@ -96,7 +104,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
             Files.createDirectories(DB_DIR);
         } catch (IOException e) {
             logger.warn("Failed to create one or more directories in the path '{}'", DB_DIR);
-            logger.warn("MapDB persistence service activation has failed.");
+            logger.error("MapDB persistence service activation has failed, no states will be stored.");
             return;
         }
 
@@ -115,7 +123,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                     Files.createDirectories(BACKUP_DIR);
                 } catch (IOException ioe) {
                     logger.warn("Failed to create one or more directories in the path '{}'", BACKUP_DIR);
-                    logger.warn("MapDB persistence service activation has failed.");
+                    logger.error("MapDB persistence service activation has failed, no states will be stored.");
                     return;
                 }
 
@@ -130,7 +138,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                     }
                 } catch (IOException ioe) {
                     logger.warn("Failed to read files from '{}': {}", DB_DIR, ioe.getMessage());
-                    logger.warn("MapDB persistence service activation has failed.");
+                    logger.error("MapDB persistence service activation has failed, no states will be stored.");
                     return;
                 }
 
@@ -138,15 +146,23 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                 map = db.createTreeMap("itemStore").makeOrGet();
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
-                logger.warn("MapDB persistence service activation has failed.");
+                logger.error("MapDB persistence service activation has failed, no states will be stored.");
+                return;
             }
         }
+        writeBuffer = new MapDbWriteBuffer(db, map, this::serialize, scheduler, COMMIT_INTERVAL, COMMIT_MAX_ITEMS);
         logger.debug("MapDB persistence service is now activated");
     }
 
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        MapDbWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            // buffered items are committed before the database is closed
+            writeBuffer.shutdown();
+            this.writeBuffer = null;
+        }
         if (db != null) {
             db.close();
         }
@@ -164,8 +180,15 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
+        MapDbWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer == null) {
+            return Set.of();
+        }
+        Map<String, PersistenceItemInfo> itemInfo = new HashMap<>();
+        map.entrySet().stream().map(entry -> deserialize(entry.getKey(), entry.getValue()))
+                .flatMap(MapDbPersistenceService::streamOptional).forEach(item -> itemInfo.put(item.getName(), item));
+        writeBuffer.getPending().forEach(item -> itemInfo.put(item.getName(), item));
+        return Set.copyOf(itemInfo.values());
     }
 
     @Override
@@ -175,7 +198,9 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public void store(Item item, @Nullable String alias) {
-        if (item.getState() instanceof UnDefType) {
+        MapDbWriteBuffer writeBuffer = this.writeBuffer;
+        // a failed activation has been logged, there is nothing to store into
+        if (writeBuffer == null || item.getState() instanceof UnDefType) {
             return;
         }
 
@@ -192,31 +217,23 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setTimestamp(lastStateUpdate != null ? Date.from(lastStateUpdate.toInstant()) : new Date());
         ZonedDateTime lastStateChange = item.getLastStateChange();
         mItem.setLastStateChange(lastStateChange != null ? Date.from(lastStateChange.toInstant()) : null);
-        threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
-        });
+        // the item is serialized and committed with the next batch, a newer state of the same item replaces it
+        writeBuffer.put(mItem);
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        String itemName = filter.getItemName();
+        if (itemName == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = load(itemName);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
     @Override
     public @Nullable PersistedItem persistedItem(String itemName, @Nullable String alias) {
-        String json = map.get(alias != null ? alias : itemName);
-        if (json == null) {
-            return null;
-        }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = load(alias != null ? alias : itemName);
         MapDbItem dbItem = item.orElse(null);
         if (dbItem != null) {
             dbItem.setName(itemName);
@@ -224,12 +241,57 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return dbItem;
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    /**
+     * Loads an item, preferring the state which has not been written yet.
+     *
+     * @param name the name the item is stored under
+     * @return the item or an empty {@link Optional} if none is stored
+     */
+    private Optional<MapDbItem> load(String name) {
+        MapDbWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer == null) {
+            return Optional.empty();
+        }
+        MapDbItem pendingItem = writeBuffer.get(name);
+        if (pendingItem != null) {
+            // callers may modify the returned item
+            return Optional.of(pendingItem.copy());
+        }
+        Object value = map.get(name);
+        return value == null ? Optional.empty() : deserialize(name, value);
+    }
+
+    private byte[] serialize(MapDbItem item) {
+        return codec.encode(item);
+    }
+
+    private Optional<MapDbItem> deserialize(String name, Object value) {
+        if (value instanceof byte[] data) {
+            try {
+                MapDbItem item = codec.decode(data);
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Decoded '{}' with state '{}'", item.getName(), item.getState());
+                }
+                return Optional.of(item);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to decode the stored state of '{}': {}", name, e.getMessage());
+                return Optional.empty();
+            }
+        } else if (value instanceof String json) {
+            Optional<MapDbItem> item = deserializeJson(json);
+            MapDbWriteBuffer writeBuffer = this.writeBuffer;
+            if (item.isPresent() && writeBuffer != null) {
+                // items stored as JSON by earlier versions are converted the first time they are read
+                writeBuffer.migrate(name, json, item.get().copy());
+            }
+            return item;
+        }
+        logger.warn("Ignoring the stored state of '{}' in an unknown format: {}", name, value.getClass());
+        return Optional.empty();
     }
 
     @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
+    private Optional<MapDbItem> deserializeJson(String json) {
         MapDbItem item = mapper.fromJson(json, MapDbItem.class);
         if (item == null || !item.isValid()) {
             logger.warn("Deserialized invalid item: {}", item);
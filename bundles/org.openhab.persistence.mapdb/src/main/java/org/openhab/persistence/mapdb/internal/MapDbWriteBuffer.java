@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.mapdb.DB;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Buffers the items to store and writes them to the MapDB in batches. Only the latest state of an item is kept until
+ * it is written, so frequent updates of the same item are written once. All buffered items are written with a single
+ * commit, either periodically or as soon as enough items are buffered. Items stored in an outdated format are
+ * rewritten with the same commits.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MapDbWriteBuffer {
+
+    private record Migration(Object storedValue, MapDbItem item) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(MapDbWriteBuffer.class);
+
+    private final DB db;
+    private final ConcurrentMap<String, Object> map;
+    private final Function<MapDbItem, byte[]> serializer;
+    private final ScheduledExecutorService scheduler;
+    private final int commitMaxItems;
+    private final ScheduledFuture<?> commitJob;
+
+    private final Map<String, MapDbItem> pending = new ConcurrentHashMap<>();
+    private final Map<String, Migration> migrations = new ConcurrentHashMap<>();
+    private final AtomicBoolean commitScheduled = new AtomicBoolean();
+    private final AtomicLong updates = new AtomicLong();
+    private long writtenItems;
+    private long commits;
+
+    /**
+     * @param db the database to commit
+     * @param map the map of the database holding the serialized items
+     * @param serializer converts an item to the value stored in the map
+     * @param scheduler runs the commits
+     * @param commitInterval the maximum time in milliseconds an item is buffered
+     * @param commitMaxItems the number of buffered items which are committed without waiting for the interval
+     */
+    MapDbWriteBuffer(DB db, ConcurrentMap<String, Object> map, Function<MapDbItem, byte[]> serializer,
+            ScheduledExecutorService scheduler, long commitInterval, int commitMaxItems) {
+        this.db = db;
+        this.map = map;
+        this.serializer = serializer;
+        this.scheduler = scheduler;
+        this.commitMaxItems = commitMaxItems;
+        this.commitJob = scheduler.scheduleWithFixedDelay(this::commit, commitInterval, commitInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Buffers an item, replacing a buffered state of the same item.
+     *
+     * @param item the item to store under its name
+     */
+    public void put(MapDbItem item) {
+        pending.put(item.getName(), item);
+        updates.incrementAndGet();
+        if (pending.size() >= commitMaxItems && commitScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::commit);
+        }
+    }
+
+    /**
+     * Rewrites an item read from a value in an outdated format with the next commit. The value is only replaced if it
+     * has not been changed in the meantime.
+     *
+     * @param name the name the item is stored under
+     * @param storedValue the value read from the map
+     * @param item the item decoded from the value
+     */
+    public void migrate(String name, Object storedValue, MapDbItem item) {
+        migrations.putIfAbsent(name, new Migration(storedValue, item));
+    }
+
+    /**
+     * @param name the name the item is stored under
+     * @return the buffered item or <code>null</code> if there is none
+     */
+    public @Nullable MapDbItem get(String name) {
+        return pending.get(name);
+    }
+
+    /**
+     * @return the items which have not been written yet
+     */
+    public Collection<MapDbItem> getPending() {
+        return pending.values();
+    }
+
+    /**
+     * Writes all buffered items and commits them. The items stay buffered until the commit has succeeded, so they are
+     * written again with the next commit if it fails.
+     */
+    public synchronized void commit() {
+        commitScheduled.set(false);
+        if (pending.isEmpty() && migrations.isEmpty()) {
+            return;
+        }
+        Map<String, Migration> migrated = new HashMap<>();
+        for (Map.Entry<String, Migration> entry : migrations.entrySet()) {
+            Migration migration = entry.getValue();
+            map.replace(entry.getKey(), migration.storedValue(), serializer.apply(migration.item()));
+            migrated.put(entry.getKey(), migration);
+        }
+        Map<String, MapDbItem> written = new HashMap<>();
+        for (Map.Entry<String, MapDbItem> entry : pending.entrySet()) {
+            MapDbItem item = entry.getValue();
+            map.put(entry.getKey(), serializer.apply(item));
+            written.put(entry.getKey(), item);
+        }
+        try {
+            db.commit();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to commit {} items to MapDB, they are written again with the next commit: {}",
+                    written.size() + migrated.size(), e.getMessage());
+            try {
+                db.rollback();
+            } catch (RuntimeException re) {
+                logger.debug("Failed to roll back the MapDB transaction: {}", re.getMessage());
+            }
+            return;
+        }
+        migrated.forEach(migrations::remove);
+        // an item buffered in the meantime stays buffered and is written with the next commit
+        written.forEach(pending::remove);
+        writtenItems += written.size();
+        commits++;
+        logger.debug("Committed {} items and {} migrated items to MapDB, {} updates have been written with {} commits",
+                written.size(), migrated.size(), updates.get(), commits);
+    }
+
+    /**
+     * Stops the periodic commits and commits the buffered items.
+     */
+    public void shutdown() {
+        commitJob.cancel(false);
+        commit();
+        if (!pending.isEmpty()) {
+            logger.error("Failed to commit the last {} states to MapDB, they are lost", pending.size());
+        }
+    }
+
+    /**
+     * @return the number of items passed to {@link #put(MapDbItem)}
+     */
+    public long getUpdates() {
+        return updates.get();
+    }
+
+    /**
+     * @return the number of items written to the map, lower than the updates if updates have been merged
+     */
+    public synchronized long getWrittenItems() {
+        return writtenItems;
+    }
+
+    /**
+     * @return the number of commits
+     */
+    public synchronized long getCommits() {
+        return commits;
+    }
+}
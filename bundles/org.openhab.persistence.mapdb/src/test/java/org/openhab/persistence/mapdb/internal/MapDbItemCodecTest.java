@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.ImperialUnits;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Tests the binary encoding of the {@link MapDbItemCodec}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemCodecTest {
+    private final MapDbItemCodec codec = new MapDbItemCodec();
+
+    private static MapDbItem item(State state) {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(state);
+        item.setTimestamp(new Date(1_700_000_000_123L));
+        return item;
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    public void encodeDecodeRoundtripShouldRecreateTheState(State state) throws IOException {
+        MapDbItem decoded = codec.decode(codec.encode(item(state)));
+        assertEquals(state, decoded.getState());
+        assertEquals(state.getClass(), decoded.getState().getClass());
+    }
+
+    public static Stream<State> encodeDecodeRoundtripShouldRecreateTheState() {
+        return Stream.of(DecimalType.ZERO, new DecimalType(1.123), new DecimalType(new BigDecimal("-1E+20")),
+                HSBType.BLACK, HSBType.fromRGB(11, 22, 33), OnOffType.ON, OnOffType.OFF, PercentType.HUNDRED,
+                PercentType.valueOf("0.0000001"), QuantityType.valueOf("1 kW"), QuantityType.valueOf(20, Units.AMPERE),
+                new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS),
+                new QuantityType<>(new BigDecimal("75"), ImperialUnits.MILES_PER_HOUR),
+                QuantityType.valueOf(100, Units.METRE_PER_SQUARE_SECOND), new QuantityType<>(5, Units.ONE),
+                StringType.valueOf(""), StringType.valueOf("@@@###   äöü €"), OpenClosedType.OPEN,
+                UnDefType.UNDEF);
+    }
+
+    @Test
+    public void dateTimeRoundtripKeepsTheInstant() throws IOException {
+        Instant instant = Instant.ofEpochSecond(1_700_000_000L, 123_456_789);
+        MapDbItem decoded = codec.decode(codec.encode(item(new DateTimeType(instant))));
+        assertEquals(instant, ((DateTimeType) decoded.getState()).getInstant());
+    }
+
+    @Test
+    public void itemPropertiesAreKept() throws IOException {
+        MapDbItem item = item(OnOffType.ON);
+        item.setLastState(UnDefType.NULL);
+        item.setLastStateChange(new Date(1_600_000_000_000L));
+
+        MapDbItem decoded = codec.decode(codec.encode(item));
+        assertEquals("item", decoded.getName());
+        assertEquals(item.getTimestamp(), decoded.getTimestamp());
+        assertEquals(UnDefType.NULL, decoded.getLastState());
+        assertEquals(item.getLastStateChange(), decoded.getLastStateChange());
+
+        MapDbItem withoutLastState = codec.decode(codec.encode(item(OnOffType.ON)));
+        assertNull(withoutLastState.getLastState());
+        assertNull(withoutLastState.getLastStateChange());
+    }
+
+    @Test
+    public void unknownVersionIsRejected() {
+        byte[] data = codec.encode(item(OnOffType.ON));
+        data[0] = MapDbItemCodec.VERSION + 1;
+        assertThrows(IOException.class, () -> codec.decode(data));
+    }
+}
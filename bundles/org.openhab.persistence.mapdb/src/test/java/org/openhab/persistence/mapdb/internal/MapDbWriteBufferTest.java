@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.openhab.core.library.types.DecimalType;
+
+/**
+ * Tests the merging and batching of the {@link MapDbWriteBuffer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbWriteBufferTest {
+    private static final int ITEMS = 5000;
+
+    private @TempDir @NonNullByDefault({}) Path dbFolder;
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> commitJob = mock(ScheduledFuture.class);
+    // tasks are only run when the test runs them
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Runnable> ticks = new ArrayList<>();
+    private @NonNullByDefault({}) DB db;
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(scheduler).execute(any());
+        doAnswer(invocation -> {
+            ticks.add(invocation.getArgument(0));
+            return commitJob;
+        }).when(scheduler).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+        db = open();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (!db.isClosed()) {
+            db.close();
+        }
+    }
+
+    private DB open() {
+        return DBMaker.newFileDB(dbFolder.resolve("storage.mapdb").toFile()).make();
+    }
+
+    private MapDbWriteBuffer createBuffer(ConcurrentMap<String, Object> map, int commitMaxItems) {
+        return createBuffer(db, map, commitMaxItems);
+    }
+
+    private MapDbWriteBuffer createBuffer(DB db, ConcurrentMap<String, Object> map, int commitMaxItems) {
+        return new MapDbWriteBuffer(db, map, item -> item.getState().toString().getBytes(StandardCharsets.UTF_8),
+                scheduler, 1000, commitMaxItems);
+    }
+
+    private static @Nullable String value(ConcurrentMap<String, Object> map, String name) {
+        Object value = map.get(name);
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : (String) value;
+    }
+
+    private static MapDbItem item(String name, int value) {
+        MapDbItem item = new MapDbItem();
+        item.setName(name);
+        item.setState(new DecimalType(value));
+        item.setTimestamp(new Date());
+        return item;
+    }
+
+    @Test
+    public void updatesOfTheSameItemAreMerged() {
+        ConcurrentMap<String, Object> map = db.createTreeMap("itemStore").makeOrGet();
+        MapDbWriteBuffer buffer = createBuffer(map, Integer.MAX_VALUE);
+
+        // ten updates of every item within one commit interval, committing each one wrote 50000 times with as many
+        // commits
+        for (int update = 0; update < 10; update++) {
+            for (int i = 0; i < ITEMS; i++) {
+                buffer.put(item("item" + i, update));
+            }
+        }
+        assertTrue(map.isEmpty());
+        ticks.forEach(Runnable::run);
+
+        assertEquals(10 * ITEMS, buffer.getUpdates());
+        assertEquals(ITEMS, buffer.getWrittenItems());
+        assertEquals(1, buffer.getCommits());
+        assertEquals(ITEMS, map.size());
+        assertEquals("9", value(map, "item4711"));
+        assertTrue(buffer.getPending().isEmpty());
+    }
+
+    @Test
+    public void commitIsTriggeredByItemCount() {
+        ConcurrentMap<String, Object> map = db.createTreeMap("itemStore").makeOrGet();
+        MapDbWriteBuffer buffer = createBuffer(map, 1000);
+
+        for (int i = 0; i < 999; i++) {
+            buffer.put(item("item" + i, i));
+        }
+        // updates of buffered items don't count
+        buffer.put(item("item0", 1));
+        assertTrue(tasks.isEmpty());
+
+        buffer.put(item("item999", 999));
+        buffer.put(item("item1000", 1000));
+        assertEquals(1, tasks.size());
+
+        tasks.forEach(Runnable::run);
+        assertEquals(1, buffer.getCommits());
+        assertEquals(1001, map.size());
+        assertEquals("1", value(map, "item0"));
+    }
+
+    @Test
+    public void bufferedItemIsReturnedBeforeCommit() {
+        ConcurrentMap<String, Object> map = db.createTreeMap("itemStore").makeOrGet();
+        MapDbWriteBuffer buffer = createBuffer(map, 1000);
+
+        buffer.put(item("item", 1));
+        buffer.put(item("item", 2));
+        MapDbItem pending = buffer.get("item");
+        assertNotNull(pending);
+        assertEquals(new DecimalType(2), pending.getState());
+        assertNull(map.get("item"));
+    }
+
+    @Test
+    public void migrationReplacesOnlyUnchangedValues() {
+        ConcurrentMap<String, Object> map = db.createTreeMap("itemStore").makeOrGet();
+        map.put("old", "{\"state\":1}");
+        map.put("changed", "{\"state\":2}");
+        MapDbWriteBuffer buffer = createBuffer(map, 1000);
+
+        buffer.migrate("old", "{\"state\":1}", item("old", 1));
+        buffer.migrate("changed", "{\"state\":2}", item("changed", 2));
+        // written while the migration is pending
+        map.put("changed", "3");
+        buffer.commit();
+
+        assertEquals("1", value(map, "old"));
+        assertInstanceOf(byte[].class, map.get("old"));
+        assertEquals("3", value(map, "changed"));
+        assertEquals(0, buffer.getWrittenItems());
+        assertEquals(1, buffer.getCommits());
+    }
+
+    @Test
+    public void itemsStayBufferedUntilTheCommitSucceeds() {
+        ConcurrentMap<String, Object> map = db.createTreeMap("itemStore").makeOrGet();
+        DB failingDb = spy(db);
+        doThrow(new IllegalStateException("disk full")).doCallRealMethod().when(failingDb).commit();
+        MapDbWriteBuffer buffer = createBuffer(failingDb, map, 1000);
+
+        buffer.put(item("item1", 1));
+        buffer.put(item("item2", 2));
+        buffer.commit();
+        assertEquals(2, buffer.getPending().size());
+        assertEquals(0, buffer.getWrittenItems());
+        assertEquals(0, buffer.getCommits());
+        verify(failingDb).rollback();
+
+        buffer.put(item("item2", 3));
+        buffer.commit();
+        assertTrue(buffer.getPending().isEmpty());
+        assertEquals(2, buffer.getWrittenItems());
+        assertEquals(1, buffer.getCommits());
+        assertEquals("1", value(map, "item1"));
+        assertEquals("3", value(map, "item2"));
+    }
+
+    @Test
+    public void shutdownCommitsBufferedItems() {
+        ConcurrentMap<String, Object> map = db.createTreeMap("itemStore").makeOrGet();
+        MapDbWriteBuffer buffer = createBuffer(map, 1000);
+        for (int i = 0; i < ITEMS; i++) {
+            buffer.put(item("item" + i, i));
+        }
+
+        buffer.shutdown();
+        verify(commitJob).cancel(false);
+        db.close();
+
+        db = open();
+        ConcurrentMap<String, Object> reopened = db.createTreeMap("itemStore").makeOrGet();
+        assertEquals(ITEMS, reopened.size());
+        assertEquals("4999", value(reopened, "item4999"));
+    }
+}
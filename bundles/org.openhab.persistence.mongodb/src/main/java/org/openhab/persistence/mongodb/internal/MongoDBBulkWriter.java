@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Collects the documents to store and writes them with one unordered <code>insertMany</code> per collection, either
+ * periodically or as soon as a batch is complete. Documents which could not be written because the database is not
+ * available are kept and written with the next attempt, up to the buffer size.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBBulkWriter {
+
+    private final Logger logger = LoggerFactory.getLogger(MongoDBBulkWriter.class);
+
+    private final Function<String, @Nullable MongoCollection<Document>> collectionProvider;
+    private final ScheduledExecutorService scheduler;
+    private final int batchSize;
+    private final int bufferSize;
+    private final ScheduledFuture<?> flushJob;
+
+    // documents per collection in the order they have been stored
+    private final Map<String, List<RawBsonDocument>> pending = new LinkedHashMap<>();
+    private final Map<String, Object> writeLocks = new ConcurrentHashMap<>();
+    private int pendingCount;
+    private boolean flushScheduled;
+    private long writtenDocuments;
+    private long droppedDocuments;
+
+    /**
+     * @param collectionProvider connects to a collection, returns <code>null</code> if the database is not available
+     * @param scheduler runs the writes
+     * @param batchSize the number of documents written with one request, a write is started once they are collected
+     * @param bufferSize the maximum number of documents kept while the database is not available
+     * @param interval the maximum time in milliseconds a document is kept before it is written
+     */
+    public MongoDBBulkWriter(Function<String, @Nullable MongoCollection<Document>> collectionProvider,
+            ScheduledExecutorService scheduler, int batchSize, int bufferSize, long interval) {
+        this.collectionProvider = collectionProvider;
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+        this.bufferSize = Math.max(bufferSize, batchSize);
+        this.flushJob = scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a document to be written.
+     *
+     * @param collectionName the name of the collection
+     * @param document the encoded document
+     */
+    public void add(String collectionName, RawBsonDocument document) {
+        synchronized (pending) {
+            if (pendingCount >= bufferSize) {
+                dropOldest(1);
+            }
+            pending.computeIfAbsent(collectionName, name -> new ArrayList<>()).add(document);
+            pendingCount++;
+            if (pendingCount >= batchSize && !flushScheduled) {
+                flushScheduled = true;
+                scheduler.execute(this::flush);
+            }
+        }
+    }
+
+    /**
+     * Writes the queued documents of all collections. The writes stop at the first collection which fails because the
+     * database is not available, the documents of the other collections are kept for the next attempt.
+     */
+    public void flush() {
+        List<String> collectionNames;
+        synchronized (pending) {
+            flushScheduled = false;
+            collectionNames = new ArrayList<>(pending.keySet());
+        }
+        for (String collectionName : collectionNames) {
+            if (!write(collectionName)) {
+                logger.debug("MongoDB is not available, keeping the documents of the remaining collections");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the queued documents of a collection, so a query of the collection returns them. Only a write of the same
+     * collection is waited for.
+     *
+     * @param collectionName the name of the collection
+     */
+    public void flush(String collectionName) {
+        write(collectionName);
+    }
+
+    /**
+     * Stops the periodic writes and writes the queued documents.
+     */
+    public void shutdown() {
+        flushJob.cancel(false);
+        flush();
+        synchronized (pending) {
+            if (pendingCount > 0) {
+                logger.warn("{} documents could not be written to MongoDB before shutdown", pendingCount);
+            }
+        }
+    }
+
+    /**
+     * @return <code>false</code> if the documents could not be written because the database is not available
+     */
+    private boolean write(String collectionName) {
+        // the documents of a collection are written by one thread at a time to keep them in order
+        synchronized (writeLocks.computeIfAbsent(collectionName, name -> new Object())) {
+            List<RawBsonDocument> documents;
+            synchronized (pending) {
+                documents = pending.remove(collectionName);
+                if (documents == null) {
+                    return true;
+                }
+                pendingCount -= documents.size();
+            }
+            return write(collectionName, documents);
+        }
+    }
+
+    private boolean write(String collectionName, List<RawBsonDocument> documents) {
+        MongoCollection<Document> collection = collectionProvider.apply(collectionName);
+        if (collection == null) {
+            requeue(collectionName, documents);
+            return false;
+        }
+        MongoCollection<RawBsonDocument> rawCollection = collection.withDocumentClass(RawBsonDocument.class);
+        InsertManyOptions options = new InsertManyOptions().ordered(false);
+        for (int from = 0; from < documents.size(); from += batchSize) {
+            List<RawBsonDocument> batch = documents.subList(from, Math.min(from + batchSize, documents.size()));
+            try {
+                rawCollection.insertMany(batch, options);
+                logger.debug("MongoDB saved {} documents to collection {}", batch.size(), collectionName);
+                addWritten(batch.size());
+            } catch (MongoBulkWriteException e) {
+                // the other documents have been written, the rejected ones would be rejected again
+                int failed = e.getWriteErrors().size();
+                logger.warn("MongoDB rejected {} of {} documents for collection {}: {}", failed, batch.size(),
+                        collectionName, e.getMessage());
+                addWritten(batch.size() - failed);
+            } catch (MongoException e) {
+                logger.warn("Failed to write {} documents to collection {}, retrying later: {}",
+                        documents.size() - from, collectionName, e.getMessage());
+                requeue(collectionName, documents.subList(from, documents.size()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void requeue(String collectionName, List<RawBsonDocument> documents) {
+        synchronized (pending) {
+            List<RawBsonDocument> queued = pending.remove(collectionName);
+            List<RawBsonDocument> requeued = new ArrayList<>(documents);
+            if (queued != null) {
+                requeued.addAll(queued);
+                pendingCount -= queued.size();
+            }
+            // the failed documents are older than the ones queued in the meantime
+            Map<String, List<RawBsonDocument>> reordered = new LinkedHashMap<>();
+            reordered.put(collectionName, requeued);
+            reordered.putAll(pending);
+            pending.clear();
+            pending.putAll(reordered);
+            pendingCount += requeued.size();
+            if (pendingCount > bufferSize) {
+                dropOldest(pendingCount - bufferSize);
+            }
+        }
+    }
+
+    private void dropOldest(int count) {
+        int dropped = 0;
+        Iterator<List<RawBsonDocument>> lists = pending.values().iterator();
+        while (dropped < count && lists.hasNext()) {
+            List<RawBsonDocument> documents = lists.next();
+            int remove = Math.min(count - dropped, documents.size());
+            documents.subList(0, remove).clear();
+            if (documents.isEmpty()) {
+                lists.remove();
+            }
+            dropped += remove;
+        }
+        pendingCount -= dropped;
+        droppedDocuments += dropped;
+        logger.warn("MongoDB write buffer is full, dropped the oldest {} documents", dropped);
+    }
+
+    private synchronized void addWritten(int count) {
+        writtenDocuments += count;
+    }
+
+    /**
+     * @return the number of documents waiting to be written
+     */
+    public int getPendingDocuments() {
+        synchronized (pending) {
+            return pendingCount;
+        }
+    }
+
+    /**
+     * @return the number of documents written
+     */
+    public synchronized long getWrittenDocuments() {
+        return writtenDocuments;
+    }
+
+    /**
+     * @return the number of documents dropped because the buffer was full
+     */
+    public long getDroppedDocuments() {
+        synchronized (pending) {
+            return droppedDocuments;
+        }
+    }
+}
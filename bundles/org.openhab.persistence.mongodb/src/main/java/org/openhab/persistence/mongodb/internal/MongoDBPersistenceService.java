@@ -20,11 +20,17 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.bson.BsonMaximumSizeExceededException;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -50,10 +56,13 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -71,6 +80,19 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
+    private static final int DEFAULT_WRITE_BATCH_SIZE = 500;
+    private static final int DEFAULT_WRITE_BUFFER_SIZE = 100000;
+    private static final int DEFAULT_WRITE_INTERVAL = 1000;
+    // the maximum BSON document size accepted by MongoDB
+    private static final int MAX_DOCUMENT_SIZE = 16 * 1024 * 1024;
+    // only the fields needed to restore the state are read
+    private static final Bson QUERY_PROJECTION = Projections.fields(
+            Projections.include(MongoDBFields.FIELD_TIMESTAMP, MongoDBFields.FIELD_VALUE, MongoDBFields.FIELD_UNIT,
+                    MongoDBFields.FIELD_REALNAME),
+            Projections.excludeId());
+    private static final Codec<Document> DOCUMENT_CODEC = MongoClientSettings.getDefaultCodecRegistry()
+            .get(Document.class);
+
     private String url = "";
     private String db = "";
     private String collection = "";
@@ -81,6 +103,9 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     protected final ItemRegistry itemRegistry;
 
     private @Nullable MongoClient cl;
+    private @Nullable MongoDBBulkWriter bulkWriter;
+    // collections whose index has been ensured since connecting
+    private final Set<String> indexedCollections = ConcurrentHashMap.newKeySet();
 
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
@@ -113,19 +138,57 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        int writeBatchSize = getIntConfig(config, "writeBatchSize", DEFAULT_WRITE_BATCH_SIZE);
+        int writeBufferSize = getIntConfig(config, "writeBufferSize", DEFAULT_WRITE_BUFFER_SIZE);
+        int writeInterval = getIntConfig(config, "writeInterval", DEFAULT_WRITE_INTERVAL);
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
 
+        bulkWriter = new MongoDBBulkWriter(this::connectForWriting,
+                ThreadPoolManager.getScheduledPool("org.openhab.mongodb"), writeBatchSize, writeBufferSize,
+                writeInterval);
         initialized = true;
     }
 
+    private int getIntConfig(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number number) {
+            return number.intValue() > 0 ? number.intValue() : defaultValue;
+        }
+        if (value instanceof String string && !string.isBlank()) {
+            try {
+                int parsed = Integer.parseInt(string.trim());
+                return parsed > 0 ? parsed : defaultValue;
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for mongodb:{}, using {}", string, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        MongoDBBulkWriter localBulkWriter = bulkWriter;
+        if (localBulkWriter != null) {
+            localBulkWriter.shutdown();
+            bulkWriter = null;
+        }
         disconnectFromDatabase();
     }
 
+    /**
+     * Writes the documents which have been stored but not written yet.
+     */
+    void flush() {
+        MongoDBBulkWriter localBulkWriter = bulkWriter;
+        if (localBulkWriter != null) {
+            localBulkWriter.flush();
+        }
+    }
+
     @Override
     public String getId() {
         return "mongodb";
@@ -222,9 +285,16 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
             MongoCollection<Document> mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
 
-            Document idx = new Document();
-            idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
-            mongoCollection.createIndex(idx);
+            // queries select one item and a time range sorted by time, which this index serves in both directions
+            if (indexedCollections.add(collectionName)) {
+                try {
+                    mongoCollection.createIndex(Indexes.compoundIndex(Indexes.ascending(MongoDBFields.FIELD_ITEM),
+                            Indexes.ascending(MongoDBFields.FIELD_TIMESTAMP)));
+                } catch (RuntimeException e) {
+                    indexedCollections.remove(collectionName);
+                    throw e;
+                }
+            }
 
             return mongoCollection;
         } catch (Exception e) {
@@ -243,6 +313,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
 
         cl = null;
+        indexedCollections.clear();
     }
 
     @Override
@@ -285,7 +356,8 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
         MongoCursor<Document> cursor = null;
         try {
-            cursor = collection.find(query).sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
+            cursor = collection.find(query).projection(QUERY_PROJECTION)
+                    .sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
                     .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).iterator();
 
             while (cursor.hasNext()) {
@@ -351,26 +423,15 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        // Connect to mongodb server if we're not already connected
-        // If we can't connect, log.
-        if (!tryConnectToDatabase()) {
-            logger.warn(
-                    "mongodb: No connection to database. Cannot persist item '{}'! Will retry connecting to database next time.",
-                    item);
+        MongoDBBulkWriter localBulkWriter = bulkWriter;
+        if (localBulkWriter == null) {
+            logger.warn("MongoDB not initialized");
             return;
         }
 
         String realItemName = item.getName();
         String name = (alias != null) ? alias : realItemName;
-        String collectionName = collectionPerItem ? name : this.collection;
-
-        @Nullable
-        MongoCollection<Document> collection = connectToCollection(collectionName);
-
-        if (collection == null) {
-            // Logging is done in connectToCollection()
-            return;
-        }
+        String collectionName = getCollectionName(name);
 
         Object value = MongoDBTypeConversions.convertValue(state);
 
@@ -383,15 +444,33 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         if (item instanceof NumberItem && state instanceof QuantityType<?>) {
             obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
         }
-        try {
-            collection.insertOne(obj);
-        } catch (org.bson.BsonMaximumSizeExceededException e) {
+        // encoded here, so the writer sends the bytes as they are and too large documents are rejected right away
+        RawBsonDocument document = new RawBsonDocument(obj, DOCUMENT_CODEC);
+        if (document.getByteBuffer().remaining() > MAX_DOCUMENT_SIZE) {
             logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.", name);
-            throw e;
+            throw new BsonMaximumSizeExceededException(
+                    "Document of item " + name + " exceeds the maximum size of " + MAX_DOCUMENT_SIZE + " bytes");
         }
+        localBulkWriter.add(collectionName, document);
         logger.debug("MongoDB save {}={}", name, value);
     }
 
+    /**
+     * Connects to the collection the bulk writer writes to, reconnecting to the database if needed.
+     */
+    private @Nullable MongoCollection<Document> connectForWriting(String collectionName) {
+        if (!tryConnectToDatabase()) {
+            logger.warn("mongodb: No connection to database. Will retry writing to collection {} later.",
+                    collectionName);
+            return null;
+        }
+        return connectToCollection(collectionName);
+    }
+
+    private String getCollectionName(String itemName) {
+        return collectionPerItem ? itemName : this.collection;
+    }
+
     @Nullable
     public MongoCollection<Document> prepareCollection(FilterCriteria filter) {
         if (!initialized || !tryConnectToDatabase()) {
@@ -411,7 +490,12 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     @Nullable
     private MongoCollection<Document> getCollection(String realItemName) {
-        String collectionName = collectionPerItem ? realItemName : this.collection;
+        String collectionName = getCollectionName(realItemName);
+        // documents stored but not written yet are expected by queries and removals
+        MongoDBBulkWriter localBulkWriter = bulkWriter;
+        if (localBulkWriter != null) {
+            localBulkWriter.flush(collectionName);
+        }
         @Nullable
         MongoCollection<Document> collection = connectToCollection(collectionName);
 
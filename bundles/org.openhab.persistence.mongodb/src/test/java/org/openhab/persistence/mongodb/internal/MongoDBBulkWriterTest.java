@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Tests the batching of the {@link MongoDBBulkWriter} with mocked collections.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBBulkWriterTest {
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> flushJob = mock(ScheduledFuture.class);
+    // tasks are only run when the test runs them
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Runnable> ticks = new ArrayList<>();
+    private final Map<String, MongoCollection<RawBsonDocument>> collections = new HashMap<>();
+    // the documents written per collection
+    private final Map<String, List<RawBsonDocument>> written = new HashMap<>();
+    private boolean available = true;
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(scheduler).execute(any());
+        doAnswer(invocation -> {
+            ticks.add(invocation.getArgument(0));
+            return flushJob;
+        }).when(scheduler).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<Document> collection(String name) {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        MongoCollection<RawBsonDocument> rawCollection = collections.computeIfAbsent(name, n -> {
+            MongoCollection<RawBsonDocument> raw = mock(MongoCollection.class);
+            doAnswer(invocation -> {
+                if (!available) {
+                    throw new MongoException("connection refused");
+                }
+                written.computeIfAbsent(n, k -> new ArrayList<>())
+                        .addAll((List<RawBsonDocument>) invocation.getArgument(0));
+                return null;
+            }).when(raw).insertMany(anyList(), any(InsertManyOptions.class));
+            return raw;
+        });
+        when(collection.withDocumentClass(RawBsonDocument.class)).thenReturn(rawCollection);
+        return collection;
+    }
+
+    private MongoDBBulkWriter createWriter(int batchSize, int bufferSize) {
+        return new MongoDBBulkWriter(this::collection, scheduler, batchSize, bufferSize, 1000);
+    }
+
+    private static RawBsonDocument document(String item, int value) {
+        return new RawBsonDocument(
+                new Document(MongoDBFields.FIELD_ITEM, item).append(MongoDBFields.FIELD_VALUE, value),
+                new DocumentCodec());
+    }
+
+    private List<RawBsonDocument> written(String name) {
+        return written.getOrDefault(name, List.of());
+    }
+
+    @Test
+    public void documentsAreWrittenWithOneUnorderedInsertPerCollection() {
+        MongoDBBulkWriter writer = createWriter(1000, 10000);
+        for (int i = 0; i < 100; i++) {
+            writer.add("item1", document("item1", i));
+            writer.add("item2", document("item2", i));
+        }
+        assertTrue(written.isEmpty());
+        assertTrue(tasks.isEmpty());
+
+        ticks.forEach(Runnable::run);
+
+        for (String name : List.of("item1", "item2")) {
+            verify(Objects.requireNonNull(collections.get(name)), times(1)).insertMany(anyList(),
+                    argThat((InsertManyOptions options) -> !options.isOrdered()));
+            assertEquals(100, written(name).size());
+            assertEquals(99, written(name).get(99).getInt32(MongoDBFields.FIELD_VALUE).getValue());
+        }
+        assertEquals(200, writer.getWrittenDocuments());
+        assertEquals(0, writer.getPendingDocuments());
+    }
+
+    @Test
+    public void writeIsTriggeredByBatchSize() {
+        MongoDBBulkWriter writer = createWriter(100, 10000);
+        for (int i = 0; i < 99; i++) {
+            writer.add("collection", document("item" + i, i));
+        }
+        assertTrue(tasks.isEmpty());
+
+        writer.add("collection", document("item99", 99));
+        assertEquals(1, tasks.size());
+
+        tasks.forEach(Runnable::run);
+        assertEquals(100, written("collection").size());
+    }
+
+    @Test
+    public void flushOfOneCollectionKeepsTheOthersQueued() {
+        MongoDBBulkWriter writer = createWriter(1000, 10000);
+        writer.add("item1", document("item1", 1));
+        writer.add("item2", document("item2", 2));
+
+        writer.flush("item1");
+        assertEquals(1, written("item1").size());
+        assertTrue(written("item2").isEmpty());
+        assertEquals(1, writer.getPendingDocuments());
+    }
+
+    @Test
+    public void failedDocumentsAreWrittenWithTheNextAttempt() {
+        MongoDBBulkWriter writer = createWriter(1000, 10000);
+        available = false;
+        writer.add("collection", document("item", 1));
+        writer.add("collection", document("item", 2));
+        writer.flush();
+        assertEquals(2, writer.getPendingDocuments());
+
+        available = true;
+        writer.add("collection", document("item", 3));
+        writer.flush();
+
+        List<RawBsonDocument> documents = written("collection");
+        assertEquals(3, documents.size());
+        // the documents keep the order they have been stored in
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, documents.get(i).getInt32(MongoDBFields.FIELD_VALUE).getValue());
+        }
+        assertEquals(0, writer.getPendingDocuments());
+    }
+
+    @Test
+    public void writesStopAtTheFirstUnavailableCollection() {
+        MongoDBBulkWriter writer = createWriter(1000, 10000);
+        available = false;
+        for (String name : List.of("item1", "item2", "item3")) {
+            writer.add(name, document(name, 1));
+        }
+        writer.flush();
+
+        // only the first collection waits for the database, the others are kept without trying them
+        assertEquals(1, collections.size());
+        verify(Objects.requireNonNull(collections.get("item1")), times(1)).insertMany(anyList(),
+                any(InsertManyOptions.class));
+        assertEquals(3, writer.getPendingDocuments());
+
+        available = true;
+        writer.flush();
+        for (String name : List.of("item1", "item2", "item3")) {
+            assertEquals(1, written(name).size());
+        }
+        assertEquals(0, writer.getPendingDocuments());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flushOfOneCollectionDoesNotWaitForTheOthers() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MongoCollection<RawBsonDocument> slow = mock(MongoCollection.class);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(slow).insertMany(anyList(), any(InsertManyOptions.class));
+        collections.put("slow", slow);
+        MongoDBBulkWriter writer = createWriter(1000, 10000);
+        writer.add("slow", document("slow", 1));
+        writer.add("item", document("item", 1));
+
+        Thread periodicFlush = new Thread(writer::flush);
+        periodicFlush.start();
+        try {
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            // a query of another collection while the periodic write hangs
+            writer.flush("item");
+            assertEquals(1, written("item").size());
+        } finally {
+            release.countDown();
+            periodicFlush.join();
+        }
+        assertEquals(0, writer.getPendingDocuments());
+    }
+
+    @Test
+    public void oldestDocumentsAreDroppedWhenTheBufferIsFull() {
+        MongoDBBulkWriter writer = createWriter(10, 20);
+        available = false;
+        for (int i = 0; i < 25; i++) {
+            writer.add("collection", document("item", i));
+        }
+        tasks.forEach(Runnable::run);
+        assertEquals(20, writer.getPendingDocuments());
+        assertEquals(5, writer.getDroppedDocuments());
+
+        available = true;
+        writer.flush();
+        List<RawBsonDocument> documents = written("collection");
+        assertEquals(20, documents.size());
+        assertEquals(5, documents.get(0).getInt32(MongoDBFields.FIELD_VALUE).getValue());
+    }
+
+    @Test
+    public void shutdownWritesQueuedDocuments() {
+        MongoDBBulkWriter writer = createWriter(1000, 10000);
+        writer.add("collection", document("item", 1));
+
+        writer.shutdown();
+        verify(flushJob).cancel(false);
+        assertEquals(1, written("collection").size());
+    }
+}
@@ -204,6 +204,7 @@ public class MongoDBPersistenceServiceTest {
 
             // Execution
             service.store(item, null);
+            service.flush();
 
             // Verification
             MongoCollection<Document> collection = database.getCollection("testCollection");
@@ -242,6 +243,7 @@ public class MongoDBPersistenceServiceTest {
 
             // Execution
             service.store(item, null);
+            service.flush();
 
             // Verification
             MongoCollection<Document> collection = database.getCollection("testCollection");
@@ -282,6 +284,7 @@ public class MongoDBPersistenceServiceTest {
             // Execution
             service.store(strItem1, null);
             service.store(strItem2, null);
+            service.flush();
 
             // Verification
             MongoCollection<Document> collection = database.getCollection("testCollection");
@@ -324,6 +327,7 @@ public class MongoDBPersistenceServiceTest {
             // Execution
             service.store(strItem1, null);
             service.store(strItem2, null);
+            service.flush();
 
             // Verification
             MongoCollection<Document> collection = database.getCollection("testCollection");
@@ -364,6 +368,7 @@ public class MongoDBPersistenceServiceTest {
 
             // Execution
             service.store(item, "AliasName");
+            service.flush();
 
             // Verification
             MongoCollection<Document> collection = database.getCollection("testCollection");
@@ -647,6 +652,7 @@ public class MongoDBPersistenceServiceTest {
 
             // Execution
             service.store(item, null);
+            service.flush();
 
             // Verification
             MongoCollection<Document> collection = database.getCollection("testCollection");
@@ -776,6 +782,7 @@ public class MongoDBPersistenceServiceTest {
 
             // Execution
             service.store(item, null);
+            service.flush();
 
             // Verification
             List<Document> documents = collection.find().into(new ArrayList<>());
@@ -879,6 +886,7 @@ public class MongoDBPersistenceServiceTest {
             DecimalType historicState = new DecimalType(11110.1);
             ZonedDateTime now = ZonedDateTime.now();
             service.store(item, now, historicState);
+            service.flush();
 
             // Verification
             MongoCollection<Document> collection = database.getCollection("TestItem");
@@ -920,6 +928,7 @@ public class MongoDBPersistenceServiceTest {
             DecimalType historicState = new DecimalType(11110.1);
             ZonedDateTime now = ZonedDateTime.now();
             service.store(item, now, historicState, "AliasName");
+            service.flush();
 
             // Verification
             MongoCollection<Document> collection = database.getCollection("AliasName");
@@ -22,6 +22,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -72,6 +73,7 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceCronStrategy;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
+import org.openhab.persistence.rrd4j.internal.RRD4jWritePipeline.PendingSample;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -138,6 +140,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    // number of files that are written in parallel
+    private static final int WRITER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // keep well below the pool capacity, so that queries and charts can still open databases
+    private static final int MAX_OPEN_DATABASES = DATABASE_POOL.getCapacity() / 2;
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
@@ -152,9 +160,27 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private final ScheduledFuture<?> storeJob;
 
+    private final RRD4jWritePipeline writePipeline;
+
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry, Map<String, Object> config) {
         this.itemRegistry = itemRegistry;
+        writePipeline = new RRD4jWritePipeline(new RRD4jWritePipeline.DatabaseWriter() {
+            @Override
+            public @Nullable RrdDb open(String name) {
+                try {
+                    return getDB(name, true);
+                } catch (Exception e) {
+                    logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+                    return null;
+                }
+            }
+
+            @Override
+            public void write(RrdDb db, String name, List<PendingSample> samples) {
+                writePointsToDatabase(db, name, samples);
+            }
+        }, WRITER_THREADS, MAX_OPEN_DATABASES);
         storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
         modified(config);
         active = true;
@@ -275,6 +301,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+        writePipeline.shutdown();
     }
 
     @Override
@@ -342,69 +369,141 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private void doStore(boolean force) {
         long now = System.currentTimeMillis() / 1000;
+        // group the samples by database, keeping them in ascending time order per database
+        Map<String, List<PendingSample>> samplesByName = new LinkedHashMap<>();
         while (!storageMap.isEmpty()) {
-            Key key = storageMap.firstKey();
+            Map.Entry<Key, Double> entry = storageMap.firstEntry();
+            if (entry == null) {
+                break;
+            }
+            Key key = entry.getKey();
             if (now > key.timestamp || force) {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
-                Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
+                if (storageMap.remove(key, entry.getValue())) {
+                    samplesByName.computeIfAbsent(key.name, k -> new ArrayList<>())
+                            .add(new PendingSample(key.timestamp, entry.getValue()));
+                }
             } else {
-                return;
+                break;
             }
         }
+        if (!samplesByName.isEmpty()) {
+            writePipeline.submit(samplesByName);
+        }
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
-        RrdDb db = null;
+    /**
+     * Writes all pending samples of one database in a single update cycle. The header, datasource type and
+     * consolidation function are read only once and the last stored value is tracked locally, instead of being read
+     * back from the database for every sample.
+     *
+     * @param db the opened database
+     * @param name the item name or alias
+     * @param samples the samples to write, in ascending time order
+     */
+    private void writePointsToDatabase(RrdDb db, String name, List<PendingSample> samples) {
+        boolean storeLastValueAgain;
+        double counterFactor;
+        long lastUpdateTime;
+        double lastValue;
         try {
-            db = getDB(name, true);
-        } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
-        }
-        if (db == null) {
+            storeLastValueAgain = getConsolidationFunction(db) != ConsolFun.AVERAGE;
+            // counter values must be adjusted by stepsize
+            counterFactor = db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER ? db.getHeader().getStep()
+                    : 1.0;
+            lastUpdateTime = db.getLastUpdateTime();
+            // tracked unscaled, so it can be compared with the pending values
+            lastValue = storeLastValueAgain ? db.getLastDatasourceValue(DATASOURCE_STATE) / counterFactor
+                    : Double.NaN;
+        } catch (IOException e) {
+            logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
             return;
         }
 
-        ConsolFun function = getConsolidationFunction(db);
-        if (function != ConsolFun.AVERAGE) {
-            try {
-                // we store the last value again, so that the value change
-                // in the database is not interpolated, but
-                // happens right at this spot
-                if (timestamp - 1 > db.getLastUpdateTime()) {
-                    // only do it if there is not already a value
-                    double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
-                    if (!Double.isNaN(lastValue) && lastValue != value) {
-                        Sample sample = db.createSample(timestamp - 1);
-                        sample.setValue(DATASOURCE_STATE, lastValue);
-                        sample.update();
-                        logger.debug("Stored '{}' as value '{}' with timestamp {} in rrd4j database (again)", name,
-                                lastValue, timestamp - 1);
+        Sample sample = db.createSample();
+        for (PendingSample pendingSample : samples) {
+            long timestamp = pendingSample.timestamp();
+            double value = pendingSample.value();
+            if (storeLastValueAgain) {
+                try {
+                    // we store the last value again, so that the value change
+                    // in the database is not interpolated, but
+                    // happens right at this spot
+                    if (timestamp - 1 > lastUpdateTime) {
+                        // only do it if there is not already a value
+                        if (!Double.isNaN(lastValue) && lastValue != value) {
+                            double lastStoreValue = lastValue * counterFactor;
+                            sample.setTime(timestamp - 1);
+                            sample.setValue(DATASOURCE_STATE, lastStoreValue);
+                            sample.update();
+                            lastUpdateTime = timestamp - 1;
+                            logger.debug("Stored '{}' as value '{}' with timestamp {} in rrd4j database (again)", name,
+                                    lastStoreValue, timestamp - 1);
+                        }
                     }
+                } catch (IOException | IllegalArgumentException e) {
+                    logger.debug("Error storing last value (again) for {}: {}", e.getMessage(), name);
                 }
-            } catch (IOException e) {
-                logger.debug("Error storing last value (again) for {}: {}", e.getMessage(), name);
+            }
+            try {
+                double storeValue = value * counterFactor;
+                sample.setTime(timestamp);
+                sample.setValue(DATASOURCE_STATE, storeValue);
+                sample.update();
+                lastUpdateTime = timestamp;
+                lastValue = value;
+                logger.debug("Stored '{}' as value '{}' with timestamp {} in rrd4j database", name, storeValue,
+                        timestamp);
+            } catch (Exception e) {
+                logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
             }
         }
-        try {
-            Sample sample = db.createSample(timestamp);
-            double storeValue = value;
-            if (db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER) {
-                // counter values must be adjusted by stepsize
-                storeValue = value * db.getHeader().getStep();
-            }
-            sample.setValue(DATASOURCE_STATE, storeValue);
-            sample.update();
-            logger.debug("Stored '{}' as value '{}' with timestamp {} in rrd4j database", name, storeValue, timestamp);
-        } catch (Exception e) {
-            logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
-        }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
+    }
+
+    /**
+     * Closes the database handle kept open by the write pipeline for the given item or alias. This must be called
+     * before the database file is deleted.
+     *
+     * @param name the item name or alias
+     */
+    public void releaseDB(String name) {
+        writePipeline.release(name);
+    }
+
+    /**
+     * @return the number of samples that are waiting to be written to the databases
+     */
+    public int getQueueDepth() {
+        return storageMap.size() + writePipeline.getPendingSamples();
+    }
+
+    /**
+     * @return the number of database write cycles since the service was started
+     */
+    public long getWriteCount() {
+        return writePipeline.getWriteCount();
+    }
+
+    /**
+     * @return the average time it took to write the pending samples of one database, in milliseconds
+     */
+    public double getAverageWriteLatency() {
+        return writePipeline.getAverageWriteMillis();
+    }
+
+    /**
+     * @return the maximum time it took to write the pending samples of one database, in milliseconds
+     */
+    public double getMaxWriteLatency() {
+        return writePipeline.getMaxWriteMillis();
+    }
+
+    /**
+     * @return the number of database handles kept open by the write pipeline
+     */
+    public int getOpenDatabases() {
+        return writePipeline.getOpenDatabases();
     }
 
     @Override
@@ -688,7 +787,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    // not synchronized: the pool serializes access per file and files are only created from the write pipeline, which
+    // never handles the same file on two threads
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RRD4jWritePipeline} writes pending samples to the rrd4j database files.
+ *
+ * Samples are grouped by database file and dispatched to a fixed number of stripes. Each stripe is served by exactly
+ * one thread, so the same file is never written concurrently, while different files are written in parallel. Every
+ * stripe keeps the most recently used {@link RrdDb} handles open across store cycles, so that frequently updated items
+ * do not have to re-open their file for every sample.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class RRD4jWritePipeline {
+
+    /**
+     * A single sample waiting to be written.
+     */
+    record PendingSample(long timestamp, double value) {
+    }
+
+    /**
+     * Opens databases and writes samples on behalf of the pipeline.
+     */
+    interface DatabaseWriter {
+        /**
+         * Opens (and if necessary creates) the database for the given name.
+         *
+         * @param name the item name or alias
+         * @return the opened database or <code>null</code> if it could not be opened
+         */
+        @Nullable
+        RrdDb open(String name);
+
+        /**
+         * Writes all samples for one database. Samples are ordered by ascending timestamp.
+         *
+         * @param db the opened database
+         * @param name the item name or alias
+         * @param samples the samples to write
+         */
+        void write(RrdDb db, String name, List<PendingSample> samples);
+    }
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jWritePipeline.class);
+
+    private final DatabaseWriter writer;
+    private final Stripe[] stripes;
+
+    private final AtomicInteger pendingSamples = new AtomicInteger();
+    private final LongAdder writeCount = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final AtomicLong maxWriteNanos = new AtomicLong();
+
+    /**
+     * Creates a new pipeline.
+     *
+     * @param writer the writer used to open databases and store samples
+     * @param stripeCount the number of parallel writer threads
+     * @param maxOpenDatabases the maximum number of database handles kept open across all stripes
+     */
+    RRD4jWritePipeline(DatabaseWriter writer, int stripeCount, int maxOpenDatabases) {
+        this.writer = writer;
+        NamedThreadFactory threadFactory = new NamedThreadFactory("RRD4j-writer");
+        int handlesPerStripe = Math.max(1, maxOpenDatabases / stripeCount);
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(Executors.newSingleThreadExecutor(threadFactory), handlesPerStripe);
+        }
+    }
+
+    /**
+     * Schedules the given samples for writing. The samples of one name are written in the given order.
+     *
+     * @param samplesByName the samples grouped by item name or alias
+     */
+    void submit(Map<String, List<PendingSample>> samplesByName) {
+        for (Map.Entry<String, List<PendingSample>> entry : samplesByName.entrySet()) {
+            String name = entry.getKey();
+            List<PendingSample> samples = entry.getValue();
+            pendingSamples.addAndGet(samples.size());
+            Stripe stripe = stripeFor(name);
+            try {
+                stripe.executor.execute(() -> {
+                    try {
+                        stripe.write(name, samples);
+                    } finally {
+                        pendingSamples.addAndGet(-samples.size());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // this happens if the pipeline is shut down
+                pendingSamples.addAndGet(-samples.size());
+                logger.debug("Discarding {} samples for '{}' as the write pipeline is shut down", samples.size(),
+                        name);
+            }
+        }
+    }
+
+    /**
+     * Closes the cached handle for the given database, e.g. before the file is deleted. Waits until all writes that
+     * were already scheduled for this database have completed.
+     *
+     * @param name the item name or alias
+     */
+    void release(String name) {
+        Stripe stripe = stripeFor(name);
+        try {
+            Future<?> future = stripe.executor.submit(() -> stripe.close(name));
+            future.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            // already shut down, all handles are closed
+        } catch (ExecutionException | TimeoutException e) {
+            logger.debug("Failed to release rrd4j database '{}': {}", name, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for all scheduled writes to complete, closes all open database handles and stops the writer threads.
+     */
+    void shutdown() {
+        for (Stripe stripe : stripes) {
+            try {
+                stripe.executor.execute(stripe::closeAll);
+            } catch (RejectedExecutionException e) {
+                // already shut down
+            }
+            stripe.executor.shutdown();
+        }
+        for (Stripe stripe : stripes) {
+            try {
+                if (!stripe.executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    logger.warn("Timeout while waiting for pending rrd4j writes, {} samples may be lost",
+                            pendingSamples.get());
+                    stripe.executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                stripe.executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return the number of samples that have been scheduled but not yet written
+     */
+    int getPendingSamples() {
+        return pendingSamples.get();
+    }
+
+    /**
+     * @return the number of database write cycles since start
+     */
+    long getWriteCount() {
+        return writeCount.sum();
+    }
+
+    /**
+     * @return the average duration of one database write cycle in milliseconds
+     */
+    double getAverageWriteMillis() {
+        long count = writeCount.sum();
+        return count == 0 ? 0.0 : writeNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * @return the maximum duration of one database write cycle in milliseconds
+     */
+    double getMaxWriteMillis() {
+        return maxWriteNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return the number of database handles currently kept open
+     */
+    int getOpenDatabases() {
+        int open = 0;
+        for (Stripe stripe : stripes) {
+            open += stripe.openCount;
+        }
+        return open;
+    }
+
+    private Stripe stripeFor(String name) {
+        return stripes[Math.floorMod(name.hashCode(), stripes.length)];
+    }
+
+    private void recordWrite(long nanos) {
+        writeCount.increment();
+        writeNanos.add(nanos);
+        maxWriteNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * A stripe owns one writer thread and the database handles used by it. The handle map is only accessed from that
+     * thread.
+     */
+    private class Stripe {
+        private final ExecutorService executor;
+        private final int maxOpenDatabases;
+        private final Map<String, RrdDb> openDatabases = new LinkedHashMap<>(16, 0.75f, true);
+        private volatile int openCount = 0;
+
+        Stripe(ExecutorService executor, int maxOpenDatabases) {
+            this.executor = executor;
+            this.maxOpenDatabases = maxOpenDatabases;
+        }
+
+        void write(String name, List<PendingSample> samples) {
+            long start = System.nanoTime();
+            RrdDb db = openDatabases.get(name);
+            if (db == null || db.isClosed()) {
+                db = writer.open(name);
+                if (db == null) {
+                    return;
+                }
+                openDatabases.put(name, db);
+                evictIfNecessary();
+            }
+            writer.write(db, name, samples);
+            recordWrite(System.nanoTime() - start);
+        }
+
+        void close(String name) {
+            RrdDb db = openDatabases.remove(name);
+            if (db != null) {
+                closeQuietly(db);
+            }
+            openCount = openDatabases.size();
+        }
+
+        void closeAll() {
+            openDatabases.values().forEach(this::closeQuietly);
+            openDatabases.clear();
+            openCount = 0;
+        }
+
+        private void evictIfNecessary() {
+            Iterator<RrdDb> iterator = openDatabases.values().iterator();
+            List<RrdDb> evicted = new ArrayList<>();
+            while (openDatabases.size() > maxOpenDatabases && iterator.hasNext()) {
+                // least recently used handles come first
+                evicted.add(iterator.next());
+                iterator.remove();
+            }
+            evicted.forEach(this::closeQuietly);
+            openCount = openDatabases.size();
+        }
+
+        private void closeQuietly(RrdDb db) {
+            try {
+                db.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -52,8 +52,9 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
     private static final String CMD_LIST = "list";
     private static final String CMD_CHECK = "check";
     private static final String CMD_CLEAN = "clean";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN),
-            false);
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN, CMD_STATS), false);
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
     private final PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry;
@@ -89,6 +90,13 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         } else if (args.length >= 1 && args.length <= 2 && CMD_CLEAN.equalsIgnoreCase(args[0])) {
             checkAndClean(persistenceService, console, args.length == 2 ? args[1] : null, false);
             return;
+        } else if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            console.println("Pending samples: " + persistenceService.getQueueDepth());
+            console.println("Open database files: " + persistenceService.getOpenDatabases());
+            console.println("Database writes: " + persistenceService.getWriteCount());
+            console.println(String.format("Write latency: %.2f ms average, %.2f ms max",
+                    persistenceService.getAverageWriteLatency(), persistenceService.getMaxWriteLatency()));
+            return;
         }
         printUsage(console);
     }
@@ -141,7 +149,10 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
                 if (checkOnly) {
                     console.println("  - " + filename + ": no item found");
                     nb++;
-                } else if (path.toFile().delete()) {
+                    continue;
+                }
+                persistenceService.releaseDB(name);
+                if (path.toFile().delete()) {
                     console.println("  - " + filename + ": file deleted");
                     nb++;
                 } else {
@@ -156,7 +167,8 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
     public List<String> getUsages() {
         return List.of(buildCommandUsage(CMD_LIST, "list Round Robin Database files"),
                 buildCommandUsage(CMD_CHECK, "check for RRD files without existing item"),
-                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"));
+                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"),
+                buildCommandUsage(CMD_STATS, "show write queue depth and latency"));
     }
 
     @Override
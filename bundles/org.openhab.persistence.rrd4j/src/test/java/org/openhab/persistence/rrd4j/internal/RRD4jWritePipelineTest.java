@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.rrd4j.internal.RRD4jWritePipeline.PendingSample;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Tests the ordering, striping and handle eviction of the {@link RRD4jWritePipeline}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jWritePipelineTest {
+
+    /**
+     * Records what has been written and from which thread, with one mocked database per name.
+     */
+    private static class RecordingWriter implements RRD4jWritePipeline.DatabaseWriter {
+        final Map<String, RrdDb> databases = new ConcurrentHashMap<>();
+        final Map<String, List<Double>> values = new ConcurrentHashMap<>();
+        final Map<String, Set<String>> threads = new ConcurrentHashMap<>();
+        final Map<String, Integer> opened = new ConcurrentHashMap<>();
+
+        @Override
+        public @Nullable RrdDb open(String name) {
+            opened.merge(name, 1, Integer::sum);
+            RrdDb db = mock(RrdDb.class);
+            databases.put(name, db);
+            return db;
+        }
+
+        @Override
+        public void write(RrdDb db, String name, List<PendingSample> samples) {
+            List<Double> written = values.computeIfAbsent(name, n -> new ArrayList<>());
+            samples.forEach(sample -> written.add(sample.value()));
+            threads.computeIfAbsent(name, n -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+        }
+    }
+
+    private static Map<String, List<PendingSample>> samples(String name, double... values) {
+        List<PendingSample> samples = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            samples.add(new PendingSample(i, values[i]));
+        }
+        return Map.of(name, samples);
+    }
+
+    private static RrdDb db(RecordingWriter writer, String name) {
+        return Objects.requireNonNull(writer.databases.get(name));
+    }
+
+    @Test
+    public void samplesOfOneItemAreWrittenInSubmissionOrder() {
+        RecordingWriter writer = new RecordingWriter();
+        RRD4jWritePipeline pipeline = new RRD4jWritePipeline(writer, 4, 100);
+
+        List<Double> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            pipeline.submit(samples("item", 2 * i, 2 * i + 1));
+            expected.add(2.0 * i);
+            expected.add(2.0 * i + 1);
+        }
+        pipeline.shutdown();
+
+        assertEquals(expected, writer.values.get("item"));
+        assertEquals(100, pipeline.getWriteCount());
+        assertEquals(0, pipeline.getPendingSamples());
+    }
+
+    @Test
+    public void eachItemIsWrittenByOneStripe() {
+        RecordingWriter writer = new RecordingWriter();
+        RRD4jWritePipeline pipeline = new RRD4jWritePipeline(writer, 4, 100);
+
+        for (int round = 0; round < 10; round++) {
+            Map<String, List<PendingSample>> batch = new HashMap<>();
+            for (int i = 0; i < 20; i++) {
+                batch.putAll(samples("item" + i, round));
+            }
+            pipeline.submit(batch);
+        }
+        pipeline.shutdown();
+
+        Set<String> usedThreads = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            Set<String> itemThreads = writer.threads.get("item" + i);
+            assertNotNull(itemThreads);
+            assertEquals(1, itemThreads.size(), "item" + i + " was written by more than one thread");
+            usedThreads.addAll(itemThreads);
+            // the handle is kept open across rounds
+            assertEquals(1, writer.opened.get("item" + i));
+        }
+        assertTrue(usedThreads.size() > 1, "items were not spread over the stripes");
+    }
+
+    @Test
+    public void leastRecentlyUsedHandlesAreClosed() throws IOException {
+        RecordingWriter writer = new RecordingWriter();
+        RRD4jWritePipeline pipeline = new RRD4jWritePipeline(writer, 1, 2);
+
+        pipeline.submit(samples("a", 1));
+        pipeline.submit(samples("b", 1));
+        pipeline.submit(samples("a", 2));
+        pipeline.submit(samples("c", 1));
+        // runs on the single stripe after the writes
+        pipeline.release("unknown");
+
+        assertEquals(2, pipeline.getOpenDatabases());
+        verify(db(writer, "b")).close();
+        verify(db(writer, "a"), never()).close();
+        verify(db(writer, "c"), never()).close();
+
+        pipeline.release("a");
+        verify(db(writer, "a")).close();
+        assertEquals(1, pipeline.getOpenDatabases());
+
+        pipeline.shutdown();
+        verify(db(writer, "c")).close();
+        assertEquals(0, pipeline.getOpenDatabases());
+    }
+}
@@ -14,6 +14,7 @@ package org.openhab.transform.jinja.internal;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -31,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
 
 /**
@@ -46,7 +48,12 @@ public class JinjaTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
-    private final Jinjava jinjava = new Jinjava();
+    private final Jinjava jinjava = new Jinjava(
+            JinjavaConfig.newBuilder().withInterpreterFactory(new CachingInterpreterFactory()).build());
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // channels sharing a state topic transform the same payload one after the other, so the converted JSON of the
+    // last payloads is shared by them
+    private final Map<String, JsonValue> jsonCache = LRUMap.synchronizedLRUMap(8);
 
     /**
      * Transforms the input <code>value</code> by Jinja template.
@@ -64,11 +71,18 @@ public class JinjaTransformationService implements TransformationService {
 
         bindings.put("value", value);
 
-        try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        // converting the JSON is only needed if the template refers to it
+        if (template.contains("value_json")) {
+            try {
+                JsonValue json = jsonCache.get(value);
+                if (json == null) {
+                    json = new JsonValue(toObject(objectMapper.readTree(value)));
+                    jsonCache.put(value, json);
+                }
+                bindings.put("value_json", json.value());
+            } catch (IOException e) {
+                // ok, then value_json is null...
+            }
         }
 
         try {
@@ -89,7 +103,7 @@ public class JinjaTransformationService implements TransformationService {
                 for (JsonNode el : node) {
                     result.add(toObject(el));
                 }
-                return result;
+                return Collections.unmodifiableList(result);
             }
             case NUMBER:
                 return node.decimalValue();
@@ -100,7 +114,7 @@ public class JinjaTransformationService implements TransformationService {
                     Entry<String, JsonNode> field = it.next();
                     result.put(field.getKey(), toObject(field.getValue()));
                 }
-                return result;
+                return Collections.unmodifiableMap(result);
             }
             case STRING:
                 return node.asText();
@@ -111,4 +125,10 @@ public class JinjaTransformationService implements TransformationService {
                 return null;
         }
     }
+
+    /**
+     * The value of a JSON payload converted for the template bindings, with unmodifiable collections as it is shared.
+     */
+    private record JsonValue(@Nullable Object value) {
+    }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
+
+/**
+ * Tests the template cache of the {@link CachingInterpreterFactory}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachingInterpreterFactoryTest {
+
+    private final CachingInterpreterFactory interpreterFactory = new CachingInterpreterFactory();
+    private final Jinjava jinjava = new Jinjava(
+            JinjavaConfig.newBuilder().withInterpreterFactory(interpreterFactory).build());
+
+    @Test
+    public void templateIsParsedOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Hello " + i + "!", jinjava.render("Hello {{ value }}!", Map.of("value", i)));
+        }
+        assertEquals(2, interpreterFactory.getHits());
+        assertEquals(1, interpreterFactory.getMisses());
+
+        jinjava.render("Bye {{ value }}!", Map.of("value", 1));
+        assertEquals(2, interpreterFactory.getMisses());
+    }
+}
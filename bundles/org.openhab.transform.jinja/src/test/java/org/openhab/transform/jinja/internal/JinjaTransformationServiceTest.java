@@ -113,4 +113,19 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testTemplateRenderedWithDifferentValues() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + ".5", processor.transform("{{value_json.temperature}}", "{\"temperature\":" + i + ".5}"));
+        }
+    }
+
+    @Test
+    public void testInvalidTemplateFailsOnEveryRendering() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(TransformationException.class,
+                    () -> processor.transform("Hello {{{ value_json.string }}!", "{\"string\": \"world\"}"));
+        }
+    }
 }
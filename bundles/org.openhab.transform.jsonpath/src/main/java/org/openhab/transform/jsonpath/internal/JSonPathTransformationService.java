@@ -13,6 +13,7 @@
 package org.openhab.transform.jsonpath.internal;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +25,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -39,8 +41,15 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int PATH_CACHE_SIZE = 1000;
+    // a few documents are enough to serve all channels extracting values from the same message
+    private static final int DOCUMENT_CACHE_SIZE = 8;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Map<String, JsonPath> pathCache = LRUMap.synchronizedLRUMap(PATH_CACHE_SIZE);
+    private final Map<String, DocumentContext> documentCache = LRUMap.synchronizedLRUMap(DOCUMENT_CACHE_SIZE);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +71,8 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            JsonPath jsonPath = pathCache.computeIfAbsent(jsonPathExpression, JsonPath::compile);
+            Object transformationResult = parse(source).read(jsonPath);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -78,6 +88,20 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    /**
+     * Parses the source or returns the already parsed document, if another path has been evaluated on the same source
+     * recently. The document is only read, so it can be shared.
+     */
+    private DocumentContext parse(String source) {
+        DocumentContext document = documentCache.get(source);
+        if (document == null) {
+            // parsed outside of the lock, parsing the same source twice concurrently is harmless
+            document = JsonPath.parse(source);
+            documentCache.put(source, document);
+        }
+        return document;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A map keeping at most a given number of entries, evicting the least recently accessed entry. Used for the caches
+ * of compiled paths and parsed documents.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class LRUMap<K, V> extends LinkedHashMap<K, V> {
+    private static final long serialVersionUID = 1L;
+
+    private final int maxEntries;
+
+    LRUMap(int maxEntries) {
+        super(16, 0.75f, true);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return a thread-safe map with at most the given number of entries
+     */
+    static <K, V> Map<K, V> synchronizedLRUMap(int maxEntries) {
+        return Collections.synchronizedMap(new LRUMap<>(maxEntries));
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.@Nullable Entry<K, V> eldest) {
+        return size() > maxEntries;
+    }
+}
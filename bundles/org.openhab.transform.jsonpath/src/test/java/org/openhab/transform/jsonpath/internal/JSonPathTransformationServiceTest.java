@@ -129,4 +129,22 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testManyPathsOnSameSource() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+            assertEquals("2", processor.transform("$[1].id", JSON_ARRAY));
+            assertEquals("[1, 2]", processor.transform("$.*.id", JSON_ARRAY));
+        }
+        // a different source with the same paths is parsed on its own
+        assertEquals("carol", processor.transform("$[0].name", "[{ \"id\":3, \"name\":\"carol\" }]"));
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+    }
+
+    @Test
+    public void testInvalidPathIsNotCached() {
+        assertThrows(TransformationException.class, () -> processor.transform("$$", JSON_ARRAY));
+        assertThrows(TransformationException.class, () -> processor.transform("$$", JSON_ARRAY));
+    }
 }
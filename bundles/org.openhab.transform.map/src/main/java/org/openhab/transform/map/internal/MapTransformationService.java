@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.net.URI;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -25,6 +26,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -63,13 +65,17 @@ public class MapTransformationService
     private static final String CONFIG_PARAM_FUNCTION = "function";
     private static final Set<String> SUPPORTED_CONFIGURATION_TYPES = Set.of("map");
     private static final String INLINE_MAP_DEFAULT_DELIMITER = ";";
+    static final int INLINE_MAP_CACHE_SIZE = 1000;
     private static final Pattern INLINE_MAP_CONFIG_PATTERN = Pattern
             .compile("\\s*\\|(?:\\?delimiter=(?<delimiter>\\W+?))?(?<map>.+)", Pattern.DOTALL);
 
     private final Logger logger = LoggerFactory.getLogger(MapTransformationService.class);
     private final TransformationRegistry transformationRegistry;
-    private final Map<String, Properties> cachedTransformations = new ConcurrentHashMap<>();
-    private final Map<String, Properties> cachedInlineMap = new LRUMap<>(1000);
+    private final Map<String, Map<String, String>> cachedTransformations = new ConcurrentHashMap<>();
+    private final LRUMap<String, Map<String, String>> inlineMapCache = new LRUMap<>(INLINE_MAP_CACHE_SIZE);
+    private final Map<String, Map<String, String>> cachedInlineMap = Collections.synchronizedMap(inlineMapCache);
+    private final LongAdder inlineMapHits = new LongAdder();
+    private final LongAdder inlineMapMisses = new LongAdder();
 
     @Activate
     public MapTransformationService(@Reference TransformationRegistry transformationRegistry) {
@@ -82,43 +88,61 @@ public class MapTransformationService
         transformationRegistry.removeRegistryChangeListener(this);
     }
 
+    /**
+     * @return the number of transformations with an inline map that has already been parsed
+     */
+    long getInlineMapHits() {
+        return inlineMapHits.sum();
+    }
+
+    /**
+     * @return the number of transformations which had to parse their inline map
+     */
+    long getInlineMapMisses() {
+        return inlineMapMisses.sum();
+    }
+
+    /**
+     * @return the number of parsed inline maps removed from the cache as it was full
+     */
+    long getInlineMapEvictions() {
+        return inlineMapCache.getEvictions();
+    }
+
     @Override
     public @Nullable String transform(String function, String source) throws TransformationException {
-        Properties properties = null;
+        Map<String, String> mapping = null;
 
         Matcher matcher = INLINE_MAP_CONFIG_PATTERN.matcher(function);
         if (matcher.matches()) {
-            properties = cachedInlineMap.computeIfAbsent(function, f -> {
-                Properties props = new Properties();
-                String map = matcher.group("map").trim();
-                String delimiter = Objects.requireNonNull(Optional.ofNullable(matcher.group("delimiter"))
-                        .map(String::trim).orElse(INLINE_MAP_DEFAULT_DELIMITER));
-                map = map.replace(delimiter, "\n");
-                try {
-                    props.load(new StringReader(map));
-                    logger.trace("Parsed inline map configuration '{}'", props);
-                } catch (IOException e) {
-                    logger.warn("Failed to parse inline map configuration '{}': {}", map, e.getMessage());
-                    return null;
+            mapping = cachedInlineMap.get(function);
+            if (mapping != null) {
+                inlineMapHits.increment();
+            } else {
+                inlineMapMisses.increment();
+                mapping = cachedInlineMap.computeIfAbsent(function, f -> parseInlineMap(matcher));
+                // only logged when a map is parsed, transformations with a cached map are not slowed down
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Parsed uncached inline map, inline map cache hits={} misses={} evictions={}",
+                            getInlineMapHits(), getInlineMapMisses(), getInlineMapEvictions());
                 }
-                return props;
-            });
+            }
         } else {
             // always get a configuration from the registry to account for changed system locale
             Transformation transformation = transformationRegistry.get(function, null);
             if (transformation != null) {
-                properties = cachedTransformations.get(transformation.getUID());
-                if (properties == null) {
-                    properties = importConfiguration(transformation);
+                mapping = cachedTransformations.get(transformation.getUID());
+                if (mapping == null) {
+                    mapping = importConfiguration(transformation);
                 }
             }
         }
 
-        if (properties != null) {
-            String target = properties.getProperty(source);
+        if (mapping != null) {
+            String target = mapping.get(source);
 
             if (target == null) {
-                target = properties.getProperty("");
+                target = mapping.get("");
                 if (target == null) {
                     throw new TransformationException("Target value not found in map for '" + source + "'");
                 } else if (SOURCE_VALUE.equals(target)) {
@@ -162,7 +186,7 @@ public class MapTransformationService
         }
     }
 
-    private @Nullable Properties importConfiguration(@Nullable Transformation transformation) {
+    private @Nullable Map<String, String> importConfiguration(@Nullable Transformation transformation) {
         if (transformation != null) {
             try {
                 Properties properties = new Properties();
@@ -172,24 +196,61 @@ public class MapTransformationService
                     return null;
                 }
                 properties.load(new StringReader(function));
-                cachedTransformations.put(transformation.getUID(), properties);
-                return properties;
+                Map<String, String> mapping = toMapping(properties);
+                cachedTransformations.put(transformation.getUID(), mapping);
+                return mapping;
             } catch (IOException ignored) {
             }
         }
         return null;
     }
 
-    class LRUMap<K, V> extends LinkedHashMap<K, V> {
+    private @Nullable Map<String, String> parseInlineMap(Matcher matcher) {
+        Properties props = new Properties();
+        String map = matcher.group("map").trim();
+        String delimiter = Objects.requireNonNull(Optional.ofNullable(matcher.group("delimiter"))
+                .map(String::trim).orElse(INLINE_MAP_DEFAULT_DELIMITER));
+        map = map.replace(delimiter, "\n");
+        try {
+            props.load(new StringReader(map));
+            logger.trace("Parsed inline map configuration '{}'", props);
+        } catch (IOException e) {
+            logger.warn("Failed to parse inline map configuration '{}': {}", map, e.getMessage());
+            return null;
+        }
+        return toMapping(props);
+    }
+
+    /**
+     * Copies the loaded properties into an immutable map, which is read without the locking of {@link Properties}.
+     */
+    private static Map<String, String> toMapping(Properties properties) {
+        return Map.copyOf(properties.stringPropertyNames().stream()
+                .collect(Collectors.toMap(key -> key, key -> Objects.requireNonNull(properties.getProperty(key)))));
+    }
+
+    static class LRUMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
         private final int maxEntries;
+        private final LongAdder evictions = new LongAdder();
 
         public LRUMap(int maxEntries) {
             super(10, 0.75f, true);
             this.maxEntries = maxEntries;
         }
 
+        @Override
         protected boolean removeEldestEntry(@Nullable Entry<K, V> eldest) {
-            return size() > maxEntries;
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+
+        public long getEvictions() {
+            return evictions.sum();
         }
     }
 }
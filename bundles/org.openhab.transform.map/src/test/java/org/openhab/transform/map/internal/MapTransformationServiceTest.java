@@ -188,4 +188,36 @@ public class MapTransformationServiceTest extends JavaTest {
         assertEquals("value2", processor.transform(transformation, "key2"));
         assertEquals("value3", processor.transform(transformation, "?delimiter"));
     }
+
+    @Test
+    public void largeMapTest() throws TransformationException {
+        StringBuilder function = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            function.append("key").append(i).append("=value").append(i).append('\n');
+        }
+        configurationMap.put("large.map", new Transformation("large.map", "large.map", "map",
+                Map.of(Transformation.FUNCTION, function.toString())));
+
+        assertEquals("value0", processor.transform("large.map", "key0"));
+        assertEquals("value9999", processor.transform("large.map", "key9999"));
+        assertThrows(TransformationException.class, () -> processor.transform("large.map", "key10000"));
+    }
+
+    @Test
+    public void inlineMapCacheStatisticsTest() throws TransformationException {
+        String transformation = "|key1=value1;key2=value2";
+        assertEquals("value1", processor.transform(transformation, "key1"));
+        assertEquals("value2", processor.transform(transformation, "key2"));
+        assertEquals(1, processor.getInlineMapMisses());
+        assertEquals(1, processor.getInlineMapHits());
+
+        // the first map is used last, so it is kept when the cache overflows
+        for (int i = 0; i < MapTransformationService.INLINE_MAP_CACHE_SIZE; i++) {
+            processor.transform("|key=value" + i, "key");
+            processor.transform(transformation, "key1");
+        }
+        assertEquals(1, processor.getInlineMapEvictions());
+        assertEquals(1 + MapTransformationService.INLINE_MAP_CACHE_SIZE, processor.getInlineMapMisses());
+        assertEquals(1 + MapTransformationService.INLINE_MAP_CACHE_SIZE, processor.getInlineMapHits());
+    }
 }
@@ -12,6 +12,7 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,6 +40,9 @@ public class RegExTransformationService implements TransformationService {
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+    private static final int EXPRESSION_CACHE_SIZE = 500;
+
+    private final Map<String, CompiledExpression> expressionCache = LRUMap.synchronizedLRUMap(EXPRESSION_CACHE_SIZE);
 
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
@@ -50,23 +54,16 @@ public class RegExTransformationService implements TransformationService {
 
         String result = "";
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
+        CompiledExpression expression = expressionCache.computeIfAbsent(regExpression, this::compile);
+        String substitution = expression.substitution();
+        if (substitution != null) {
             logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
-            } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
-            }
+            Matcher substMatcher = expression.pattern().matcher(source.trim());
+            return expression.global() ? substMatcher.replaceAll(substitution)
+                    : substMatcher.replaceFirst(substitution);
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = expression.pattern().matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +91,20 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    private CompiledExpression compile(String regExpression) {
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            return new CompiledExpression(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                    "g".equals(substMatcher.group(3)));
+        }
+        return new CompiledExpression(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), null, false);
+    }
+
+    /**
+     * A compiled transformation, either a substitution (<code>s/regex/substitution/options</code>) or a pattern
+     * matching the whole input.
+     */
+    private record CompiledExpression(Pattern pattern, @Nullable String substitution, boolean global) {
+    }
 }
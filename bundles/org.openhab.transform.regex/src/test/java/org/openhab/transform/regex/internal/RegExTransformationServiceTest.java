@@ -75,4 +75,12 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_sameExpressionOnManyLines() throws TransformationException {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(String.valueOf(i), processor.transform("T=(\\d+);.*", "T=" + i + ";H=50"));
+            assertEquals("set(" + i + ")", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:set,ARG:" + i));
+        }
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The immutable, precompiled content of a scale configuration.
+ *
+ * The first range of the configuration containing a value determines its label. If the ranges do not overlap, there
+ * is at most one such range, so it is found by a binary search over the ranges sorted by their lower limit. Otherwise
+ * the ranges are scanned in the order of the configuration.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ScaleLookup {
+
+    private static final Comparator<Range> LOWER_LIMIT_ORDER = (r1, r2) -> {
+        if (r1.min == null || r2.min == null) {
+            return r1.min == null ? (r2.min == null ? 0 : -1) : 1;
+        }
+        int cmp = r1.min.compareTo(r2.min);
+        // an inclusive lower limit admits more values than an exclusive one
+        return cmp != 0 ? cmp : Boolean.compare(r2.minInclusive, r1.minInclusive);
+    };
+
+    private final String format;
+    private final @Nullable String nonNumeric;
+    private final Range[] ranges;
+    private final String[] labels;
+    private final boolean sorted;
+
+    /**
+     * @param format the presentation format
+     * @param nonNumeric the label for non numeric values, or <code>null</code> if there is none
+     * @param ranges the ranges and their labels in the order of the configuration
+     */
+    ScaleLookup(String format, @Nullable String nonNumeric, Map<Range, String> ranges) {
+        this.format = format;
+        this.nonNumeric = nonNumeric;
+
+        // empty ranges never match, removing them keeps the overlap check simple
+        List<Map.Entry<Range, String>> entries = new ArrayList<>(
+                ranges.entrySet().stream().filter(entry -> !isEmpty(entry.getKey())).toList());
+        List<Map.Entry<Range, String>> sortedEntries = new ArrayList<>(entries);
+        sortedEntries.sort(Map.Entry.comparingByKey(LOWER_LIMIT_ORDER));
+        boolean overlapping = false;
+        for (int i = 1; i < sortedEntries.size(); i++) {
+            overlapping |= overlaps(sortedEntries.get(i - 1).getKey(), sortedEntries.get(i).getKey());
+        }
+        this.sorted = !overlapping;
+        List<Map.Entry<Range, String>> used = sorted ? sortedEntries : entries;
+        this.ranges = used.stream().map(Map.Entry::getKey).toArray(Range[]::new);
+        this.labels = used.stream().map(Map.Entry::getValue).toArray(String[]::new);
+    }
+
+    String getFormat() {
+        return format;
+    }
+
+    @Nullable
+    String getNonNumeric() {
+        return nonNumeric;
+    }
+
+    /**
+     * @return the label of the first range containing the value, or <code>null</code> if there is none
+     */
+    @Nullable
+    String getLabel(BigDecimal value) {
+        if (!sorted) {
+            for (int i = 0; i < ranges.length; i++) {
+                if (ranges[i].contains(value)) {
+                    return labels[i];
+                }
+            }
+            return null;
+        }
+        // find the last range whose lower limit admits the value, only this one can contain it
+        int low = 0;
+        int high = ranges.length - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (admitsFromBelow(ranges[mid], value)) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return candidate >= 0 && ranges[candidate].contains(value) ? labels[candidate] : null;
+    }
+
+    private static boolean admitsFromBelow(Range range, BigDecimal value) {
+        if (range.min == null) {
+            return true;
+        }
+        int cmp = value.compareTo(range.min);
+        return cmp > 0 || (cmp == 0 && range.minInclusive);
+    }
+
+    private static boolean isEmpty(Range range) {
+        if (range.min == null || range.max == null) {
+            return false;
+        }
+        int cmp = range.min.compareTo(range.max);
+        return cmp > 0 || (cmp == 0 && !(range.minInclusive && range.maxInclusive));
+    }
+
+    /**
+     * @return whether the ranges overlap, given that the first one does not have a higher lower limit
+     */
+    private static boolean overlaps(Range first, Range second) {
+        if (first.max == null || second.min == null) {
+            return true;
+        }
+        int cmp = first.max.compareTo(second.min);
+        return cmp > 0 || (cmp == 0 && first.maxInclusive && second.minInclusive);
+    }
+}
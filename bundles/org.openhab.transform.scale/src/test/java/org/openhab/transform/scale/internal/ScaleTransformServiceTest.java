@@ -187,4 +187,37 @@ public class ScaleTransformServiceTest {
         String source = "200";
         assertThrows(TransformationException.class, () -> processor.transform(existingscale, source));
     }
+
+    @Test
+    public void testLargeScale() throws TransformationException {
+        // ranges are given in descending order, [600..700[ is left out
+        StringBuilder function = new StringBuilder();
+        for (int i = 999; i >= 0; i--) {
+            if (i != 6) {
+                function.append('[').append(i * 100).append("..").append((i + 1) * 100).append("[=label").append(i)
+                        .append('\n');
+            }
+        }
+        configurationMap.put("large.scale", new Transformation("large.scale", "large.scale", "scale",
+                Map.of(Transformation.FUNCTION, function.toString())));
+
+        assertEquals("label0", processor.transform("large.scale", "0"));
+        assertEquals("label0", processor.transform("large.scale", "99.99"));
+        assertEquals("label1", processor.transform("large.scale", "100"));
+        assertEquals("label512", processor.transform("large.scale", "51234"));
+        assertEquals("label999", processor.transform("large.scale", "99999"));
+        assertThrows(TransformationException.class, () -> processor.transform("large.scale", "650"));
+        assertThrows(TransformationException.class, () -> processor.transform("large.scale", "-1"));
+        assertThrows(TransformationException.class, () -> processor.transform("large.scale", "100000"));
+    }
+
+    @Test
+    public void testEmptyRangeIsIgnored() throws TransformationException {
+        String function = "]10..10]=empty\n]..10]=low\n]10..]=high\n";
+        configurationMap.put("empty.scale",
+                new Transformation("empty.scale", "empty.scale", "scale", Map.of(Transformation.FUNCTION, function)));
+
+        assertEquals("low", processor.transform("empty.scale", "10"));
+        assertEquals("high", processor.transform("empty.scale", "10.5"));
+    }
 }
@@ -12,13 +12,20 @@
  */
 package org.openhab.transform.xpath.internal;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -30,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * <p>
@@ -41,8 +49,15 @@ import org.xml.sax.InputSource;
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int EXPRESSION_CACHE_SIZE = 100;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    // document builders and compiled expressions are not thread-safe, so each transformation borrows an evaluator;
+    // evaluators created for a burst of transformations beyond the number of processors are not kept
+    private final Deque<Evaluator> evaluators = new LinkedBlockingDeque<>(
+            Runtime.getRuntime().availableProcessors());
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -52,27 +67,21 @@ public class XPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
         StringReader stringReader = null;
+        Evaluator evaluator = null;
 
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
-            domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            domFactory.setXIncludeAware(false);
-            domFactory.setExpandEntityReferences(false);
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            evaluator = evaluators.pollFirst();
+            if (evaluator == null) {
+                evaluator = new Evaluator();
+            }
 
             stringReader = new StringReader(source);
             InputSource inputSource = new InputSource(stringReader);
             inputSource.setEncoding("UTF-8");
 
-            Document doc = builder.parse(inputSource);
+            Document doc = evaluator.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            XPathExpression expr = evaluator.compile(xpathExpression);
 
             String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
 
@@ -85,6 +94,55 @@ public class XPathTransformationService implements TransformationService {
             if (stringReader != null) {
                 stringReader.close();
             }
+            if (evaluator != null) {
+                // dropped if the pool is full
+                evaluators.offerFirst(evaluator);
+            }
+        }
+    }
+
+    /**
+     * A reusable document builder together with the expressions compiled for it. Must only be used by one thread at a
+     * time.
+     */
+    private static class Evaluator {
+        private final DocumentBuilder builder;
+        private final XPath xpath = XPathFactory.newInstance().newXPath();
+        private final Map<String, XPathExpression> expressions = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, XPathExpression> eldest) {
+                return size() > EXPRESSION_CACHE_SIZE;
+            }
+        };
+
+        Evaluator() throws ParserConfigurationException {
+            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+            // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+            domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            domFactory.setXIncludeAware(false);
+            domFactory.setExpandEntityReferences(false);
+            domFactory.setNamespaceAware(true);
+            domFactory.setValidating(false);
+            builder = domFactory.newDocumentBuilder();
+        }
+
+        Document parse(InputSource inputSource) throws SAXException, IOException {
+            // a failed parse may leave state behind, so always start from a clean builder
+            builder.reset();
+            return builder.parse(inputSource);
+        }
+
+        XPathExpression compile(String xpathExpression) throws XPathExpressionException {
+            XPathExpression expr = expressions.get(xpathExpression);
+            if (expr == null) {
+                expr = xpath.compile(xpathExpression);
+                expressions.put(xpathExpression, expr);
+            }
+            return expr;
         }
     }
 }
@@ -38,4 +38,13 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXPathReusesEvaluatorAfterInvalidInput() throws TransformationException {
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertThrows(TransformationException.class,
+                () -> processor.transform("//current_conditions/temp_c/@data", "<current_conditions>"));
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertEquals("1", processor.transform("count(//current_conditions)", source));
+    }
 }
@@ -15,9 +15,12 @@ package org.openhab.transform.xslt.internal;
 import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -43,6 +46,10 @@ public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    // compiled stylesheets by file path, recompiled when the file changes
+    private final Map<String, CachedTemplates> templatesCache = new ConcurrentHashMap<>();
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +67,12 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        File xsl = null;
 
         try {
             String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
                     + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            xsl = new File(path);
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -81,7 +88,7 @@ public class XsltTransformationService implements TransformationService {
         Transformer transformer;
 
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            transformer = getTemplates(xsl).newTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -92,4 +99,23 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    private Templates getTemplates(File xsl) throws TransformerConfigurationException {
+        long lastModified = xsl.lastModified();
+        long length = xsl.length();
+        CachedTemplates cached = templatesCache.get(xsl.getPath());
+        if (cached != null && cached.lastModified() == lastModified && cached.length() == length) {
+            return cached.templates();
+        }
+        Templates templates;
+        // the factory is not thread-safe, the compiled templates are
+        synchronized (transformerFactory) {
+            templates = transformerFactory.newTemplates(new StreamSource(xsl));
+        }
+        templatesCache.put(xsl.getPath(), new CachedTemplates(templates, lastModified, length));
+        return templates;
+    }
+
+    private record CachedTemplates(Templates templates, long lastModified, long length) {
+    }
 }
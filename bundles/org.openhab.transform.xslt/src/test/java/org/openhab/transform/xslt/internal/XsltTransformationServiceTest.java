@@ -54,4 +54,15 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXSLTRecompilesChangedFile() throws TransformationException, IOException {
+        Path xsl = transformHttpPath.resolve("google_weather_changed.xsl");
+        Files.copy(getClass().getResourceAsStream("google_weather.xsl"), xsl, StandardCopyOption.REPLACE_EXISTING);
+        assertEquals("8", processor.transform("http/google_weather_changed.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather_changed.xsl", source));
+
+        Files.writeString(xsl, Files.readString(xsl).replace("\"temp_c/@data\"", "\"concat(temp_c/@data, 'C')\""));
+        assertEquals("8C", processor.transform("http/google_weather_changed.xsl", source));
+    }
 }